@@ -59,6 +59,27 @@ public class MedicalRecord {
     return new MedicalRecord(null, date, unit, professionalName, diagnosis, treatment, notes);
   }
 
+  public static MedicalRecord restore(
+      final Long id,
+      final LocalDateTime date,
+      final String unit,
+      final String professionalName,
+      final String diagnosis,
+      final String treatment,
+      final String notes) {
+
+    final var record = new MedicalRecord();
+    record.id = id;
+    record.date = date;
+    record.unit = unit;
+    record.professionalName = professionalName;
+    record.diagnosis = diagnosis;
+    record.treatment = treatment;
+    record.notes = notes;
+
+    return record;
+  }
+
   public Long getId() {
     return id;
   }
@@ -52,7 +52,11 @@ public class ShareToken {
   }
 
   public boolean isExpired() {
-    return createdAt.plusMinutes(expiresInMinutes).isBefore(LocalDateTime.now());
+    return getExpiresAt().isBefore(LocalDateTime.now());
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return createdAt.plusMinutes(expiresInMinutes);
   }
 
   public Long getId() {
@@ -0,0 +1,6 @@
+package com.api.mysushistory.core.domain;
+
+public enum TokenMode {
+  OPAQUE,
+  SIGNED
+}
@@ -0,0 +1,5 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import java.time.LocalDate;
+
+public record DiagnosisCount(String unit, LocalDate date, String diagnosis, long total) {}
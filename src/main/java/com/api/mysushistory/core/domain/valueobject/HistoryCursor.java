@@ -0,0 +1,49 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+public record HistoryCursor(LocalDateTime date, Long id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static Optional<HistoryCursor> parse(final String value) {
+    if (value == null || value.isBlank()) {
+      return Optional.empty();
+    }
+
+    try {
+      final var decoded =
+          new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+      final var index = decoded.indexOf(SEPARATOR);
+
+      if (index < 0) {
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          new HistoryCursor(
+              LocalDateTime.parse(decoded.substring(0, index)),
+              Long.parseLong(decoded.substring(index + 1))));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+
+  public boolean precedes(final MedicalRecord record) {
+    return record.getDate().isBefore(this.date)
+        || (record.getDate().isEqual(this.date) && record.getId() < this.id);
+  }
+
+  public String format() {
+    final var value = this.date + SEPARATOR + this.id;
+
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+  }
+}
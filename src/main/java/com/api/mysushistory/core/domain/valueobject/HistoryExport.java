@@ -0,0 +1,10 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface HistoryExport {
+
+  long writeTo(final Consumer<MedicalRecord> consumer);
+}
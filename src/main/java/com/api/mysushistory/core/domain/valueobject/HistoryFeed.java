@@ -0,0 +1,15 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.util.List;
+
+public record HistoryFeed(List<MedicalRecord> records, long nextCursor, boolean hasMore) {
+
+  public static HistoryFeed of(
+      final List<MedicalRecord> records, final long cursor, final int limit) {
+    final var page = records.size() > limit ? records.subList(0, limit) : records;
+    final var nextCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getId();
+
+    return new HistoryFeed(page, nextCursor, records.size() > limit);
+  }
+}
@@ -0,0 +1,18 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.util.List;
+
+public record HistoryPage(List<MedicalRecord> records, HistoryCursor nextCursor) {
+
+  public static HistoryPage of(final List<MedicalRecord> records, final int limit) {
+    if (records.size() <= limit) {
+      return new HistoryPage(records, null);
+    }
+
+    final var page = records.subList(0, limit);
+    final var last = page.get(limit - 1);
+
+    return new HistoryPage(page, new HistoryCursor(last.getDate(), last.getId()));
+  }
+}
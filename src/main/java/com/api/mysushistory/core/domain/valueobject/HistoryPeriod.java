@@ -0,0 +1,20 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record HistoryPeriod(LocalDate from, LocalDate to) {
+
+  public static final HistoryPeriod UNBOUNDED = new HistoryPeriod(null, null);
+
+  public boolean isValid() {
+    return this.from == null || this.to == null || !this.from.isAfter(this.to);
+  }
+
+  public boolean contains(final LocalDateTime date) {
+    final var day = date.toLocalDate();
+
+    return (this.from == null || !day.isBefore(this.from))
+        && (this.to == null || !day.isAfter(this.to));
+  }
+}
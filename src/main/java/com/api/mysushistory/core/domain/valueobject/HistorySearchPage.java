@@ -0,0 +1,6 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.util.List;
+
+public record HistorySearchPage(List<MedicalRecord> records, int total, Integer nextOffset) {}
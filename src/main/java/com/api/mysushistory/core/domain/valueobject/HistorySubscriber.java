@@ -0,0 +1,12 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+
+public interface HistorySubscriber {
+
+  void onRecord(MedicalRecord medicalRecord);
+
+  void onHeartbeat();
+
+  void onClose();
+}
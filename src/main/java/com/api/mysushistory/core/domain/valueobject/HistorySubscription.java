@@ -0,0 +1,6 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+public interface HistorySubscription {
+
+  void cancel();
+}
@@ -0,0 +1,3 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+public record HistoryVersion(Long patientId, long version) {}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.ShareToken;
+
+public record IssuedShareToken(ShareToken shareToken, boolean reused) {
+
+  public static IssuedShareToken created(final ShareToken shareToken) {
+    return new IssuedShareToken(shareToken, false);
+  }
+
+  public static IssuedShareToken reused(final ShareToken shareToken) {
+    return new IssuedShareToken(shareToken, true);
+  }
+}
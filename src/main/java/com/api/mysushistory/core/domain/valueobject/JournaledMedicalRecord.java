@@ -0,0 +1,7 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.util.UUID;
+
+public record JournaledMedicalRecord(
+    UUID trackingId, Long patientId, MedicalRecord medicalRecord) {}
@@ -0,0 +1,19 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import java.time.Duration;
+import java.util.List;
+
+public record PatientImportReport(
+    long rows,
+    long imported,
+    long duplicates,
+    long rejected,
+    List<RejectedPatientRow> rejections,
+    Duration elapsed) {
+
+  public double rowsPerSecond() {
+    final var nanos = this.elapsed.toNanos();
+
+    return nanos == 0 ? 0 : this.rows * 1e9 / nanos;
+  }
+}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+public record PatientImportRow(
+    long line, String name, String cpf, String birthDate, String malformed) {
+
+  public static PatientImportRow of(
+      final long line, final String name, final String cpf, final String birthDate) {
+    return new PatientImportRow(line, name, cpf, birthDate, null);
+  }
+
+  public static PatientImportRow malformed(final long line, final String reason) {
+    return new PatientImportRow(line, null, null, null, reason);
+  }
+}
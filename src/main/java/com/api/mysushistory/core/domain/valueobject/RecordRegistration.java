@@ -0,0 +1,33 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecordRegistration(
+    UUID trackingId,
+    RegistrationState state,
+    LocalDateTime acceptedAt,
+    LocalDateTime completedAt,
+    Long medicalRecordId,
+    String failure) {
+
+  public static RecordRegistration accepted(final UUID trackingId, final LocalDateTime acceptedAt) {
+    return new RecordRegistration(
+        trackingId, RegistrationState.ACCEPTED, acceptedAt, null, null, null);
+  }
+
+  public RecordRegistration saved(final Long medicalRecordId, final LocalDateTime completedAt) {
+    return new RecordRegistration(
+        this.trackingId,
+        RegistrationState.SAVED,
+        this.acceptedAt,
+        completedAt,
+        medicalRecordId,
+        null);
+  }
+
+  public RecordRegistration failed(final String failure, final LocalDateTime completedAt) {
+    return new RecordRegistration(
+        this.trackingId, RegistrationState.FAILED, this.acceptedAt, completedAt, null, failure);
+  }
+}
@@ -0,0 +1,7 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+public enum RegistrationState {
+  ACCEPTED,
+  SAVED,
+  FAILED
+}
@@ -0,0 +1,3 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+public record RejectedPatientRow(long line, String cpf, String reason) {}
@@ -0,0 +1,6 @@
+package com.api.mysushistory.core.gateway;
+
+public interface AccessTokenPoolGateway {
+
+  String nextAccessToken();
+}
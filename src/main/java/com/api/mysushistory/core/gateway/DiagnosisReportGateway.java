@@ -0,0 +1,21 @@
+package com.api.mysushistory.core.gateway;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public interface DiagnosisReportGateway {
+
+  List<DiagnosisCount> findCounts(final LocalDate from, final LocalDate to, final String unit);
+
+  long findLastRecordId();
+
+  long blockingBackdatedIncrements(final LongSupplier rebuild);
+
+  void clearStaging();
+
+  long stage(final long afterId, final long untilId, final LocalDate cutoff);
+
+  int replaceBefore(final LocalDate cutoff);
+}
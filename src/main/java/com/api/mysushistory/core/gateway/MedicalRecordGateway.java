@@ -1,13 +1,41 @@
 package com.api.mysushistory.core.gateway;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface MedicalRecordGateway {
 
   MedicalRecord save(final MedicalRecord medicalRecord, final Long patientId);
 
-  List<MedicalRecord> findByPatientCpf(final String patientCpf);
+  List<MedicalRecord> saveAll(final List<MedicalRecord> medicalRecords, final Long patientId);
 
-  List<MedicalRecord> findByPatientId(final Long patientId);
+  HistoryPage findPageByPatientId(
+      final Long patientId,
+      final HistoryPeriod period,
+      final HistoryCursor cursor,
+      final int limit);
+
+  Optional<HistoryPage> findPageByPatientCpf(
+      final String cpf, final HistoryPeriod period, final HistoryCursor cursor, final int limit);
+
+  HistoryFeed findFeedByPatientId(final Long patientId, final long cursor, final int limit);
+
+  HistoryFeed findFeedByUnit(final String unit, final long cursor, final int limit);
+
+  HistorySearchPage searchByPatientId(
+      final Long patientId, final String query, final int offset, final int limit);
+
+  HistoryVersion findVersionByPatientId(final Long patientId);
+
+  Optional<HistoryVersion> findVersionByPatientCpf(final String cpf);
+
+  long streamByPatientId(final Long patientId, final Consumer<MedicalRecord> consumer);
 }
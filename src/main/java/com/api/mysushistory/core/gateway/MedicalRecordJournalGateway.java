@@ -0,0 +1,23 @@
+package com.api.mysushistory.core.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.JournaledMedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface MedicalRecordJournalGateway {
+
+  RecordRegistration append(Long patientId, MedicalRecord medicalRecord);
+
+  List<JournaledMedicalRecord> pending(int limit);
+
+  void markSaved(UUID trackingId, Long medicalRecordId);
+
+  void retryLater(UUID trackingId, String failure);
+
+  void markFailed(UUID trackingId, String failure);
+
+  Optional<RecordRegistration> findByTrackingId(UUID trackingId);
+}
@@ -0,0 +1,15 @@
+package com.api.mysushistory.core.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscription;
+
+public interface MedicalRecordStreamGateway {
+
+  void publish(Long patientId, MedicalRecord medicalRecord);
+
+  HistorySubscription subscribe(ShareToken shareToken, HistorySubscriber subscriber);
+
+  void close(ShareToken shareToken);
+}
@@ -1,11 +1,27 @@
 package com.api.mysushistory.core.gateway;
 
 import com.api.mysushistory.core.domain.Patient;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PatientGateway {
 
   Patient save(final Patient patient);
 
   Optional<Patient> findByCpf(final String cpf);
+
+  Optional<Patient> findSummaryByCpf(final String cpf);
+
+  Optional<Long> findIdByCpf(final String cpf);
+
+  boolean existsById(final Long id);
+
+  Map<String, Long> findIdsByCpf(final Collection<String> cpfs);
+
+  Set<String> findExistingCpfs(final Collection<String> cpfs);
+
+  int saveAll(final List<Patient> patients);
 }
@@ -1,11 +1,24 @@
 package com.api.mysushistory.core.gateway;
 
 import com.api.mysushistory.core.domain.ShareToken;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ShareTokenGateway {
 
   ShareToken save(final ShareToken shareToken, final Long patientId);
 
+  List<ShareToken> saveAll(final List<ShareToken> shareTokens);
+
   Optional<ShareToken> findByAccessToken(final String token);
+
+  Optional<ShareToken> findReusable(final Long patientId, final LocalDateTime minExpiresAt);
+
+  Optional<ShareToken> saveWithinLimit(
+      final ShareToken shareToken, final Long patientId, final int maxActive);
+
+  void deleteByAccessToken(final String token);
+
+  int deleteExpired(final LocalDateTime now, final int batchSize);
 }
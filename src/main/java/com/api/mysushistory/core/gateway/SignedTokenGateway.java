@@ -0,0 +1,16 @@
+package com.api.mysushistory.core.gateway;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SignedTokenGateway {
+
+  ShareToken issue(final Long patientId, final Integer expiresInMinutes, final LocalDateTime now);
+
+  boolean isSigned(final String token);
+
+  Optional<ShareToken> verify(final String token);
+
+  void revoke(final ShareToken shareToken);
+}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class IdempotencyKeyReusedException extends BusinessException {
+
+  private static final String ERROR_CODE = "idempotency_key_reused";
+  private static final String MESSAGE =
+      "Idempotency key [%s] was already used with a different request.";
+
+  public IdempotencyKeyReusedException(final String idempotencyKey) {
+    super(format(MESSAGE, idempotencyKey), ERROR_CODE);
+  }
+}
@@ -0,0 +1,13 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class InvalidHistoryCursorException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_cursor";
+  private static final String MESSAGE = "Cursor=[%s] is not valid.";
+
+  public InvalidHistoryCursorException(final String cursor) {
+    super(format(MESSAGE, cursor), ERROR_CODE);
+  }
+}
@@ -0,0 +1,15 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+
+public class InvalidHistoryPeriodException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_period";
+  private static final String MESSAGE = "Period from=[%s] to=[%s] is not valid.";
+
+  public InvalidHistoryPeriodException(final HistoryPeriod period) {
+    super(format(MESSAGE, period.from(), period.to()), ERROR_CODE);
+  }
+}
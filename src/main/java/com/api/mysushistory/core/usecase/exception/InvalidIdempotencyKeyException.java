@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class InvalidIdempotencyKeyException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_idempotency_key";
+  private static final String MESSAGE =
+      "Idempotency key must not be blank and must have at most [%d] characters.";
+
+  public InvalidIdempotencyKeyException(final int maximumLength) {
+    super(format(MESSAGE, maximumLength), ERROR_CODE);
+  }
+}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class InvalidMedicalRecordException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_medical_record";
+  private static final String MESSAGE =
+      "Medical record for patientId=[%d] was rejected by the database: %s";
+
+  public InvalidMedicalRecordException(final Long patientId, final String reason) {
+    super(format(MESSAGE, patientId, reason), ERROR_CODE);
+  }
+}
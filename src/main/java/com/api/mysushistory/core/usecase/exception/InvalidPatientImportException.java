@@ -0,0 +1,13 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class InvalidPatientImportException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_patient_import";
+  private static final String MESSAGE = "Patient import is not valid: %s";
+
+  public InvalidPatientImportException(final String reason) {
+    super(format(MESSAGE, reason), ERROR_CODE);
+  }
+}
@@ -0,0 +1,17 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+import java.time.LocalDate;
+
+public class InvalidReportPeriodException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_period";
+  private static final String MESSAGE =
+      "Report period from=[%s] to=[%s] is not valid, it must span at most %d days.";
+
+  public InvalidReportPeriodException(
+      final LocalDate from, final LocalDate to, final long maximumDays) {
+    super(format(MESSAGE, from, to, maximumDays), ERROR_CODE);
+  }
+}
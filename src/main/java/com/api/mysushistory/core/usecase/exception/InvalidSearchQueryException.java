@@ -0,0 +1,13 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class InvalidSearchQueryException extends BusinessException {
+
+  private static final String ERROR_CODE = "invalid_query";
+  private static final String MESSAGE = "Search query=[%s] is not valid.";
+
+  public InvalidSearchQueryException(final String query) {
+    super(format(MESSAGE, query), ERROR_CODE);
+  }
+}
@@ -0,0 +1,15 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+import java.util.UUID;
+
+public class RecordRegistrationNotFoundException extends BusinessException {
+
+  private static final String ERROR_CODE = "record_registration_not_found";
+  private static final String MESSAGE = "Medical record registration [%s] not found.";
+
+  public RecordRegistrationNotFoundException(final UUID trackingId) {
+    super(format(MESSAGE, trackingId), ERROR_CODE);
+  }
+}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class ShareTokenLimitExceededException extends BusinessException {
+
+  private static final String ERROR_CODE = "share_token_limit_exceeded";
+  private static final String MESSAGE =
+      "Patient with identifier=[%s] already has the maximum of [%d] active tokens.";
+
+  public ShareTokenLimitExceededException(final String cpf, final int limit) {
+    super(format(MESSAGE, cpf, limit), ERROR_CODE);
+  }
+}
@@ -0,0 +1,34 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AcceptMedicalRecordByToken {
+
+  private final ValidateShareToken validateShareToken;
+  private final MedicalRecordJournalGateway medicalRecordJournalGateway;
+
+  public RecordRegistration execute(
+      final String token,
+      final String unit,
+      final String professionalName,
+      final String diagnosis,
+      final String treatment,
+      final String notes) {
+
+    final var shareToken = this.validateShareToken.execute(token);
+
+    final var medicalRecord =
+        MedicalRecord.createMedicalRecord(
+            LocalDateTime.now(), unit, professionalName, diagnosis, treatment, notes);
+
+    return this.medicalRecordJournalGateway.append(shareToken.getPatientId(), medicalRecord);
+  }
+}
@@ -1,11 +1,14 @@
 package com.api.mysushistory.core.usecase.medical;
 
-import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
-import com.api.mysushistory.core.gateway.ShareTokenGateway;
-import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
-import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
-import java.util.List;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryCursorException;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryPeriodException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,19 +16,36 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class AccessHistoryByToken {
 
-  private final ShareTokenGateway shareTokenGateway;
+  private final ValidateShareToken validateShareToken;
   private final MedicalRecordGateway medicalRecordGateway;
 
-  public List<MedicalRecord> execute(final String token) {
-    final var shareToken =
-        this.shareTokenGateway
-            .findByAccessToken(token)
-            .orElseThrow(() -> new ShareTokenNotFoundException(token));
+  public HistoryVersion version(final String token) {
+    final var shareToken = this.validateShareToken.execute(token);
 
-    if (shareToken.isExpired()) {
-      throw new ShareTokenExpiredException(token);
+    return this.medicalRecordGateway.findVersionByPatientId(shareToken.getPatientId());
+  }
+
+  public HistoryPage execute(
+      final String token,
+      final LocalDate from,
+      final LocalDate to,
+      final String cursor,
+      final int limit) {
+    final var period = new HistoryPeriod(from, to);
+
+    if (!period.isValid()) {
+      throw new InvalidHistoryPeriodException(period);
     }
 
-    return this.medicalRecordGateway.findByPatientId(shareToken.getPatientId());
+    final var historyCursor =
+        cursor == null
+            ? null
+            : HistoryCursor.parse(cursor)
+                .orElseThrow(() -> new InvalidHistoryCursorException(cursor));
+
+    final var shareToken = this.validateShareToken.execute(token);
+
+    return this.medicalRecordGateway.findPageByPatientId(
+        shareToken.getPatientId(), period, historyCursor, limit);
   }
 }
@@ -0,0 +1,60 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.exception.DomainException;
+import com.api.mysushistory.core.domain.valueobject.JournaledMedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DrainMedicalRecordJournal {
+
+  private final MedicalRecordJournalGateway medicalRecordJournalGateway;
+  private final MedicalRecordGateway medicalRecordGateway;
+  private final MedicalRecordStreamGateway medicalRecordStreamGateway;
+  private final PatientGateway patientGateway;
+
+  public int execute(final int batchSize) {
+    var saved = 0;
+
+    for (final var pending : this.medicalRecordJournalGateway.pending(batchSize)) {
+      final MedicalRecord medicalRecord;
+
+      try {
+        medicalRecord =
+            this.medicalRecordGateway.save(pending.medicalRecord(), pending.patientId());
+      } catch (RuntimeException e) {
+        if (this.cannotBeSaved(pending, e)) {
+          this.medicalRecordJournalGateway.markFailed(pending.trackingId(), e.getMessage());
+        } else {
+          this.medicalRecordJournalGateway.retryLater(pending.trackingId(), e.getMessage());
+        }
+        continue;
+      }
+
+      this.medicalRecordJournalGateway.markSaved(pending.trackingId(), medicalRecord.getId());
+      this.medicalRecordStreamGateway.publish(pending.patientId(), medicalRecord);
+      saved++;
+    }
+
+    return saved;
+  }
+
+  private boolean cannotBeSaved(final JournaledMedicalRecord pending, final RuntimeException e) {
+    if (e instanceof BusinessException || e instanceof DomainException) {
+      return true;
+    }
+
+    try {
+      return !this.patientGateway.existsById(pending.patientId());
+    } catch (RuntimeException unavailable) {
+      return false;
+    }
+  }
+}
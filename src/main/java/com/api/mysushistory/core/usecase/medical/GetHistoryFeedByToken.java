@@ -0,0 +1,21 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GetHistoryFeedByToken {
+
+  private final ValidateShareToken validateShareToken;
+  private final MedicalRecordGateway medicalRecordGateway;
+
+  public HistoryFeed execute(final String token, final long cursor, final int limit) {
+    final var shareToken = this.validateShareToken.execute(token);
+
+    return this.medicalRecordGateway.findFeedByPatientId(shareToken.getPatientId(), cursor, limit);
+  }
+}
@@ -0,0 +1,21 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.usecase.exception.RecordRegistrationNotFoundException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GetRecordRegistration {
+
+  private final MedicalRecordJournalGateway medicalRecordJournalGateway;
+
+  public RecordRegistration execute(final UUID trackingId) {
+    return this.medicalRecordJournalGateway
+        .findByTrackingId(trackingId)
+        .orElseThrow(() -> new RecordRegistrationNotFoundException(trackingId));
+  }
+}
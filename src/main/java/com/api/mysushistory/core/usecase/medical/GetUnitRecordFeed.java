@@ -0,0 +1,17 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GetUnitRecordFeed {
+
+  private final MedicalRecordGateway medicalRecordGateway;
+
+  public HistoryFeed execute(final String unit, final long cursor, final int limit) {
+    return this.medicalRecordGateway.findFeedByUnit(unit, cursor, limit);
+  }
+}
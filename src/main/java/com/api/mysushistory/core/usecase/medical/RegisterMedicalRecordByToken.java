@@ -2,9 +2,8 @@ package com.api.mysushistory.core.usecase.medical;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
-import com.api.mysushistory.core.gateway.ShareTokenGateway;
-import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
-import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -13,8 +12,9 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RegisterMedicalRecordByToken {
 
-  private final ShareTokenGateway shareTokenGateway;
+  private final ValidateShareToken validateShareToken;
   private final MedicalRecordGateway medicalRecordGateway;
+  private final MedicalRecordStreamGateway medicalRecordStreamGateway;
 
   public MedicalRecord execute(
       final String token,
@@ -24,19 +24,16 @@ public class RegisterMedicalRecordByToken {
       final String treatment,
       final String notes) {
 
-    final var shareToken =
-        this.shareTokenGateway
-            .findByAccessToken(token)
-            .orElseThrow(() -> new ShareTokenNotFoundException(token));
-
-    if (shareToken.isExpired()) {
-      throw new ShareTokenExpiredException(token);
-    }
+    final var shareToken = this.validateShareToken.execute(token);
 
     final var medicalRecord =
         MedicalRecord.createMedicalRecord(
             LocalDateTime.now(), unit, professionalName, diagnosis, treatment, notes);
 
-    return this.medicalRecordGateway.save(medicalRecord, shareToken.getPatientId());
+    final var saved = this.medicalRecordGateway.save(medicalRecord, shareToken.getPatientId());
+
+    this.medicalRecordStreamGateway.publish(shareToken.getPatientId(), saved);
+
+    return saved;
   }
 }
@@ -0,0 +1,28 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RegisterMedicalRecordsByToken {
+
+  private final ValidateShareToken validateShareToken;
+  private final MedicalRecordGateway medicalRecordGateway;
+  private final MedicalRecordStreamGateway medicalRecordStreamGateway;
+
+  public List<MedicalRecord> execute(final String token, final List<MedicalRecord> medicalRecords) {
+    final var shareToken = this.validateShareToken.execute(token);
+
+    final var saved = this.medicalRecordGateway.saveAll(medicalRecords, shareToken.getPatientId());
+
+    saved.forEach(it -> this.medicalRecordStreamGateway.publish(shareToken.getPatientId(), it));
+
+    return saved;
+  }
+}
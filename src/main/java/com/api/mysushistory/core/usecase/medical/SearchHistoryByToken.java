@@ -0,0 +1,30 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidSearchQueryException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SearchHistoryByToken {
+
+  private static final int MAX_QUERY_LENGTH = 200;
+
+  private final ValidateShareToken validateShareToken;
+  private final MedicalRecordGateway medicalRecordGateway;
+
+  public HistorySearchPage execute(
+      final String token, final String query, final int offset, final int limit) {
+    if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+      throw new InvalidSearchQueryException(query);
+    }
+
+    final var shareToken = this.validateShareToken.execute(token);
+
+    return this.medicalRecordGateway.searchByPatientId(
+        shareToken.getPatientId(), query, offset, limit);
+  }
+}
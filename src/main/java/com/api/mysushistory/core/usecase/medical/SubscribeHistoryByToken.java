@@ -0,0 +1,22 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscription;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SubscribeHistoryByToken {
+
+  private final ValidateShareToken validateShareToken;
+  private final MedicalRecordStreamGateway medicalRecordStreamGateway;
+
+  public HistorySubscription execute(final String token, final HistorySubscriber subscriber) {
+    final var shareToken = this.validateShareToken.execute(token);
+
+    return this.medicalRecordStreamGateway.subscribe(shareToken, subscriber);
+  }
+}
@@ -14,7 +14,7 @@ public class CreatePatient {
   private final PatientGateway gateway;
 
   public Patient execute(final String name, final String cpf, final LocalDate birthDate) {
-    final var patient = this.gateway.findByCpf(cpf);
+    final var patient = this.gateway.findSummaryByCpf(cpf);
 
     if (patient.isPresent()) {
       throw new PatientAlreadyExistsException(cpf);
@@ -0,0 +1,23 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryExport;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExportPatientHistory {
+
+  private final PatientGateway patientGateway;
+  private final MedicalRecordGateway medicalRecordGateway;
+
+  public HistoryExport execute(final String cpf) {
+    final var patientId =
+        this.patientGateway.findIdByCpf(cpf).orElseThrow(() -> new PatientNotFoundException(cpf));
+
+    return consumer -> this.medicalRecordGateway.streamByPatientId(patientId, consumer);
+  }
+}
@@ -1,23 +1,56 @@
 package com.api.mysushistory.core.usecase.patient;
 
 import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.TokenMode;
+import com.api.mysushistory.core.domain.valueobject.IssuedShareToken;
+import com.api.mysushistory.core.gateway.AccessTokenPoolGateway;
 import com.api.mysushistory.core.gateway.PatientGateway;
 import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
 import com.api.mysushistory.core.usecase.exception.InvalidTokenExpirationException;
 import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenLimitExceededException;
 import java.time.LocalDateTime;
-import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class GenerateToken {
 
   private final ShareTokenGateway shareTokenGateway;
   private final PatientGateway patientGateway;
+  private final SignedTokenGateway signedTokenGateway;
+  private final AccessTokenPoolGateway accessTokenPoolGateway;
+  private final int maxActivePerPatient;
+
+  public GenerateToken(
+      final ShareTokenGateway shareTokenGateway,
+      final PatientGateway patientGateway,
+      final SignedTokenGateway signedTokenGateway,
+      final AccessTokenPoolGateway accessTokenPoolGateway,
+      @Value("${mysushistory.share-token.max-active-per-patient:0}")
+          final int maxActivePerPatient) {
+    this.shareTokenGateway = shareTokenGateway;
+    this.patientGateway = patientGateway;
+    this.signedTokenGateway = signedTokenGateway;
+    this.accessTokenPoolGateway = accessTokenPoolGateway;
+    this.maxActivePerPatient = maxActivePerPatient;
+  }
 
   public ShareToken execute(final String patientCpf, final int expiresInMinutes) {
+    return this.execute(patientCpf, expiresInMinutes, TokenMode.OPAQUE);
+  }
+
+  public ShareToken execute(
+      final String patientCpf, final int expiresInMinutes, final TokenMode mode) {
+    return this.execute(patientCpf, expiresInMinutes, mode, false).shareToken();
+  }
+
+  public IssuedShareToken execute(
+      final String patientCpf,
+      final int expiresInMinutes,
+      final TokenMode mode,
+      final boolean reuse) {
 
     if (expiresInMinutes <= 0) {
       throw new InvalidTokenExpirationException();
@@ -25,13 +58,37 @@ public class GenerateToken {
 
     final var patient =
         this.patientGateway
-            .findByCpf(patientCpf)
+            .findSummaryByCpf(patientCpf)
             .orElseThrow(() -> new PatientNotFoundException(patientCpf));
 
+    final var now = LocalDateTime.now();
+
+    if (mode == TokenMode.SIGNED) {
+      return IssuedShareToken.created(
+          this.signedTokenGateway.issue(patient.getId(), expiresInMinutes, now));
+    }
+
+    if (reuse) {
+      final var reusable =
+          this.shareTokenGateway.findReusable(patient.getId(), now.plusMinutes(expiresInMinutes));
+
+      if (reusable.isPresent()) {
+        return IssuedShareToken.reused(reusable.get());
+      }
+    }
+
     final var token =
         ShareToken.createShareToken(
-            UUID.randomUUID().toString(), expiresInMinutes, LocalDateTime.now(), patient.getId());
+            this.accessTokenPoolGateway.nextAccessToken(), expiresInMinutes, now, patient.getId());
+
+    if (this.maxActivePerPatient <= 0) {
+      return IssuedShareToken.created(this.shareTokenGateway.save(token, patient.getId()));
+    }
 
-    return this.shareTokenGateway.save(token, patient.getId());
+    return this.shareTokenGateway
+        .saveWithinLimit(token, patient.getId(), this.maxActivePerPatient)
+        .map(IssuedShareToken::created)
+        .orElseThrow(
+            () -> new ShareTokenLimitExceededException(patientCpf, this.maxActivePerPatient));
   }
 }
@@ -0,0 +1,52 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.AccessTokenPoolGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidTokenExpirationException;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GenerateTokens {
+
+  private final ShareTokenGateway shareTokenGateway;
+  private final PatientGateway patientGateway;
+  private final AccessTokenPoolGateway accessTokenPoolGateway;
+
+  public List<ShareToken> execute(final List<String> patientCpfs, final int expiresInMinutes) {
+
+    if (expiresInMinutes <= 0) {
+      throw new InvalidTokenExpirationException();
+    }
+
+    final var cpfs = new LinkedHashSet<>(patientCpfs);
+    final var patientIds = this.patientGateway.findIdsByCpf(cpfs);
+
+    final var missing = cpfs.stream().filter(it -> !patientIds.containsKey(it)).toList();
+
+    if (!missing.isEmpty()) {
+      throw new PatientNotFoundException(String.join(",", missing));
+    }
+
+    final var now = LocalDateTime.now();
+    final var tokens =
+        cpfs.stream()
+            .map(
+                cpf ->
+                    ShareToken.createShareToken(
+                        this.accessTokenPoolGateway.nextAccessToken(),
+                        expiresInMinutes,
+                        now,
+                        patientIds.get(cpf)))
+            .toList();
+
+    return this.shareTokenGateway.saveAll(tokens);
+  }
+}
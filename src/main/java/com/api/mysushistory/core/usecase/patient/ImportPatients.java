@@ -0,0 +1,154 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import static java.lang.String.format;
+
+import com.api.mysushistory.core.domain.Patient;
+import com.api.mysushistory.core.domain.exception.DomainException;
+import com.api.mysushistory.core.domain.valueobject.PatientImportReport;
+import com.api.mysushistory.core.domain.valueobject.PatientImportRow;
+import com.api.mysushistory.core.domain.valueobject.RejectedPatientRow;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ImportPatients {
+
+  private static final int MAXIMUM_REJECTIONS = 100;
+  private static final String INVALID_DATE = "Field=[birthDate] has an invalid date=[%s]";
+  private static final String IMPORTED_CONCURRENTLY =
+      "Patient with CPF=[%s] was registered while importing";
+
+  private final PatientGateway gateway;
+
+  public PatientImportReport execute(
+      final Stream<PatientImportRow> rows,
+      final int batchSize,
+      final Consumer<PatientImportReport> progress) {
+    final var importing = new Import(System.nanoTime());
+    final Map<String, Valid> batch = new LinkedHashMap<>();
+
+    rows.forEach(
+        row -> {
+          importing.rows++;
+
+          final var patient = this.validate(row, importing);
+
+          if (patient == null) {
+            return;
+          }
+
+          if (batch.putIfAbsent(patient.getCpf(), new Valid(row, patient)) != null) {
+            importing.duplicates++;
+            return;
+          }
+
+          if (batch.size() == batchSize) {
+            this.flush(batch, importing);
+            progress.accept(importing.report());
+          }
+        });
+
+    if (!batch.isEmpty()) {
+      this.flush(batch, importing);
+    }
+
+    return importing.report();
+  }
+
+  private Patient validate(final PatientImportRow row, final Import importing) {
+    if (row.malformed() != null) {
+      importing.reject(row, row.malformed());
+      return null;
+    }
+
+    try {
+      final var birthDate = row.birthDate() == null ? null : LocalDate.parse(row.birthDate());
+
+      return Patient.createPatient(row.name(), row.cpf(), birthDate);
+    } catch (DateTimeParseException e) {
+      importing.reject(row, format(INVALID_DATE, row.birthDate()));
+    } catch (DomainException e) {
+      importing.reject(row, e.getMessage());
+    }
+
+    return null;
+  }
+
+  private void flush(final Map<String, Valid> batch, final Import importing) {
+    final var existing = this.gateway.findExistingCpfs(List.copyOf(batch.keySet()));
+    final var valid =
+        batch.values().stream().filter(it -> !existing.contains(it.patient().getCpf())).toList();
+
+    importing.duplicates += existing.size();
+    batch.clear();
+
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    try {
+      importing.imported += this.gateway.saveAll(valid.stream().map(Valid::patient).toList());
+    } catch (RuntimeException e) {
+      valid.forEach(it -> this.saveAlone(it, importing));
+    }
+  }
+
+  private void saveAlone(final Valid valid, final Import importing) {
+    final var cpf = valid.patient().getCpf();
+
+    try {
+      importing.imported += this.gateway.saveAll(List.of(valid.patient()));
+    } catch (RuntimeException e) {
+      if (this.gateway.findExistingCpfs(List.of(cpf)).isEmpty()) {
+        throw e;
+      }
+
+      importing.reject(valid.row(), format(IMPORTED_CONCURRENTLY, cpf));
+    }
+  }
+
+  private record Valid(PatientImportRow row, Patient patient) {}
+
+  private static final class Import {
+
+    private final long start;
+    private final List<RejectedPatientRow> rejections = new ArrayList<>();
+    private long rows;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+
+    private Import(final long start) {
+      this.start = start;
+    }
+
+    private void reject(final PatientImportRow row, final String reason) {
+      this.rejected++;
+
+      if (this.rejections.size() < MAXIMUM_REJECTIONS) {
+        this.rejections.add(new RejectedPatientRow(row.line(), row.cpf(), reason));
+      }
+    }
+
+    private PatientImportReport report() {
+      return new PatientImportReport(
+          this.rows,
+          this.imported,
+          this.duplicates,
+          this.rejected,
+          List.copyOf(this.rejections),
+          Duration.ofNanos(System.nanoTime() - this.start));
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package com.api.mysushistory.core.usecase.patient;
 
-import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
-import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryCursorException;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryPeriodException;
 import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
-import java.util.List;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -12,16 +16,34 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SearchPatientHistory {
 
-  private final PatientGateway patientGateway;
   private final MedicalRecordGateway medicalRecordGateway;
 
-  public List<MedicalRecord> execute(final String cpf) {
-    final var patient = this.patientGateway.findByCpf(cpf);
+  public HistoryVersion version(final String cpf) {
+    return this.medicalRecordGateway
+        .findVersionByPatientCpf(cpf)
+        .orElseThrow(() -> new PatientNotFoundException(cpf));
+  }
+
+  public HistoryPage execute(
+      final String cpf,
+      final LocalDate from,
+      final LocalDate to,
+      final String cursor,
+      final int limit) {
+    final var period = new HistoryPeriod(from, to);
 
-    if (patient.isEmpty()) {
-      throw new PatientNotFoundException(cpf);
+    if (!period.isValid()) {
+      throw new InvalidHistoryPeriodException(period);
     }
 
-    return this.medicalRecordGateway.findByPatientCpf(cpf);
+    final var historyCursor =
+        cursor == null
+            ? null
+            : HistoryCursor.parse(cursor)
+                .orElseThrow(() -> new InvalidHistoryCursorException(cursor));
+
+    return this.medicalRecordGateway
+        .findPageByPatientCpf(cpf, period, historyCursor, limit)
+        .orElseThrow(() -> new PatientNotFoundException(cpf));
   }
 }
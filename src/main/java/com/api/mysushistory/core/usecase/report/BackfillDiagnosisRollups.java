@@ -0,0 +1,40 @@
+package com.api.mysushistory.core.usecase.report;
+
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BackfillDiagnosisRollups {
+
+  // Records dated on the day they are saved are counted without waiting for a rebuild, so a day
+  // is only rebuilt once saves that started on it have had time to commit.
+  private static final Duration IN_FLIGHT_MARGIN = Duration.ofMinutes(5);
+
+  private final DiagnosisReportGateway diagnosisReportGateway;
+
+  public long execute(final int batchSize) {
+    return this.diagnosisReportGateway.blockingBackdatedIncrements(
+        () -> this.rebuild(LocalDateTime.now().minus(IN_FLIGHT_MARGIN).toLocalDate(), batchSize));
+  }
+
+  private long rebuild(final LocalDate cutoff, final int batchSize) {
+    final var lastId = this.diagnosisReportGateway.findLastRecordId();
+
+    this.diagnosisReportGateway.clearStaging();
+
+    long total = 0;
+
+    for (long afterId = 0; afterId < lastId; afterId += batchSize) {
+      total += this.diagnosisReportGateway.stage(afterId, afterId + batchSize, cutoff);
+    }
+
+    this.diagnosisReportGateway.replaceBefore(cutoff);
+
+    return total;
+  }
+}
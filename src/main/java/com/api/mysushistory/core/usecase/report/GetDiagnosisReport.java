@@ -0,0 +1,27 @@
+package com.api.mysushistory.core.usecase.report;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidReportPeriodException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GetDiagnosisReport {
+
+  private static final long MAXIMUM_DAYS = 366;
+
+  private final DiagnosisReportGateway diagnosisReportGateway;
+
+  public List<DiagnosisCount> execute(final LocalDate from, final LocalDate to, final String unit) {
+    if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAXIMUM_DAYS) {
+      throw new InvalidReportPeriodException(from, to, MAXIMUM_DAYS);
+    }
+
+    return this.diagnosisReportGateway.findCounts(from, to, unit);
+  }
+}
@@ -0,0 +1,27 @@
+package com.api.mysushistory.core.usecase.token;
+
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PurgeExpiredShareTokens {
+
+  private final ShareTokenGateway shareTokenGateway;
+
+  public long execute(final int batchSize) {
+    final var now = LocalDateTime.now();
+
+    long total = 0;
+    int deleted;
+
+    do {
+      deleted = this.shareTokenGateway.deleteExpired(now, batchSize);
+      total += deleted;
+    } while (deleted == batchSize);
+
+    return total;
+  }
+}
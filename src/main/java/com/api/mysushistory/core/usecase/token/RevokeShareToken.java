@@ -0,0 +1,43 @@
+package com.api.mysushistory.core.usecase.token;
+
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RevokeShareToken {
+
+  private final PatientGateway patientGateway;
+  private final ShareTokenGateway shareTokenGateway;
+  private final SignedTokenGateway signedTokenGateway;
+  private final MedicalRecordStreamGateway medicalRecordStreamGateway;
+
+  public void execute(final String patientCpf, final String token) {
+    final var patientId =
+        this.patientGateway
+            .findIdByCpf(patientCpf)
+            .orElseThrow(() -> new PatientNotFoundException(patientCpf));
+
+    final var signed = this.signedTokenGateway.isSigned(token);
+    final var shareToken =
+        (signed
+                ? this.signedTokenGateway.verify(token)
+                : this.shareTokenGateway.findByAccessToken(token))
+            .filter(it -> it.getPatientId().equals(patientId))
+            .orElseThrow(() -> new ShareTokenNotFoundException(token));
+
+    if (signed) {
+      this.signedTokenGateway.revoke(shareToken);
+    } else {
+      this.shareTokenGateway.deleteByAccessToken(shareToken.getAccessToken());
+    }
+
+    this.medicalRecordStreamGateway.close(shareToken);
+  }
+}
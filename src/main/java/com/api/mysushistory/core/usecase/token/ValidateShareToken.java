@@ -0,0 +1,32 @@
+package com.api.mysushistory.core.usecase.token;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ValidateShareToken {
+
+  private final ShareTokenGateway shareTokenGateway;
+  private final SignedTokenGateway signedTokenGateway;
+
+  public ShareToken execute(final String token) {
+    final var found =
+        this.signedTokenGateway.isSigned(token)
+            ? this.signedTokenGateway.verify(token)
+            : this.shareTokenGateway.findByAccessToken(token);
+
+    final var shareToken = found.orElseThrow(() -> new ShareTokenNotFoundException(token));
+
+    if (shareToken.isExpired()) {
+      throw new ShareTokenExpiredException(token);
+    }
+
+    return shareToken;
+  }
+}
@@ -2,9 +2,12 @@ package com.api.mysushistory.entrypoint.config;
 
 import com.api.mysushistory.core.domain.exception.DomainException;
 import com.api.mysushistory.core.usecase.exception.BusinessException;
+import com.api.mysushistory.core.usecase.exception.IdempotencyKeyReusedException;
 import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import com.api.mysushistory.core.usecase.exception.RecordRegistrationNotFoundException;
 import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.gateway.exception.SearchIndexLoadingException;
 import jakarta.validation.constraints.NotNull;
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +32,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
   protected static final String INVALID_PARAMS = "INVALID_PARAMS";
+  protected static final String SEARCH_RETRY_AFTER_SECONDS = "5";
 
   @ExceptionHandler({BusinessException.class})
   public ResponseEntity<ErrorResponse> handlerBusinessException(final BusinessException ex) {
@@ -46,6 +50,17 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     return ResponseEntity.internalServerError().body(errorResponse);
   }
 
+  @ExceptionHandler({SearchIndexLoadingException.class})
+  public ResponseEntity<ErrorResponse> handlerSearchIndexLoadingException(
+      final SearchIndexLoadingException ex) {
+    log.warn(ex.getMessage());
+    final var errorResponse = new ErrorResponse(ex.getMessage(), ex.getCode(), null);
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, SEARCH_RETRY_AFTER_SECONDS)
+        .body(errorResponse);
+  }
+
   @ExceptionHandler({PatientNotFoundException.class})
   public ResponseEntity<ErrorResponse> handlerClientNotFoundException(
       final PatientNotFoundException ex) {
@@ -58,12 +73,30 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
   @ExceptionHandler({ShareTokenNotFoundException.class})
   public ResponseEntity<ErrorResponse> handlerClientNotFoundException(
       final ShareTokenNotFoundException ex) {
-    log.error(ex.getMessage(), ex);
+    log.warn(ex.getMessage());
+    final var errorResponse = new ErrorResponse(ex.getMessage(), ex.getErrorCode(), null);
+
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+  }
+
+  @ExceptionHandler({RecordRegistrationNotFoundException.class})
+  public ResponseEntity<ErrorResponse> handlerRecordRegistrationNotFoundException(
+      final RecordRegistrationNotFoundException ex) {
+    log.warn(ex.getMessage());
     final var errorResponse = new ErrorResponse(ex.getMessage(), ex.getErrorCode(), null);
 
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
   }
 
+  @ExceptionHandler({IdempotencyKeyReusedException.class})
+  public ResponseEntity<ErrorResponse> handlerIdempotencyKeyReusedException(
+      final IdempotencyKeyReusedException ex) {
+    log.warn(ex.getMessage());
+    final var errorResponse = new ErrorResponse(ex.getMessage(), ex.getErrorCode(), null);
+
+    return ResponseEntity.unprocessableEntity().body(errorResponse);
+  }
+
   @ExceptionHandler({DomainException.class})
   public ResponseEntity<ErrorResponse> handlerDomainException(final DomainException ex) {
     log.error(ex.getMessage(), ex);
@@ -1,41 +1,188 @@
 package com.api.mysushistory.entrypoint.controller;
 
+import com.api.mysushistory.core.usecase.medical.AcceptMedicalRecordByToken;
 import com.api.mysushistory.core.usecase.medical.AccessHistoryByToken;
+import com.api.mysushistory.core.usecase.medical.GetHistoryFeedByToken;
+import com.api.mysushistory.core.usecase.medical.GetRecordRegistration;
 import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordByToken;
+import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordsByToken;
+import com.api.mysushistory.core.usecase.medical.SearchHistoryByToken;
+import com.api.mysushistory.core.usecase.medical.SubscribeHistoryByToken;
+import com.api.mysushistory.presenter.CompressedHistoryCache;
+import com.api.mysushistory.presenter.IdempotentResponseCache;
+import com.api.mysushistory.presenter.MedicalRecordEventEmitter;
 import com.api.mysushistory.presenter.MedicalRecordPresenter;
 import com.api.mysushistory.presenter.request.RegisterMedicalRecordRequest;
+import com.api.mysushistory.presenter.request.RegisterMedicalRecordsRequest;
+import com.api.mysushistory.presenter.response.MedicalRecordFeedPresenterResponse;
+import com.api.mysushistory.presenter.response.MedicalRecordPagePresenterResponse;
 import com.api.mysushistory.presenter.response.MedicalRecordPresenterResponse;
+import com.api.mysushistory.presenter.response.MedicalRecordSearchPresenterResponse;
+import com.api.mysushistory.presenter.response.RecordRegistrationPresenterResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/public/medical-records")
 public class MedicalRecordController {
 
+  private static final String PREFER = "Prefer";
+  private static final String PREFERENCE_APPLIED = "Preference-Applied";
+  private static final String RESPOND_ASYNC = "respond-async";
+  private static final String REGISTRATION_PATH = "/api/public/medical-records/registrations/";
+
   private final AccessHistoryByToken accessHistoryByToken;
   private final RegisterMedicalRecordByToken registerMedicalRecordByToken;
+  private final RegisterMedicalRecordsByToken registerMedicalRecordsByToken;
+  private final AcceptMedicalRecordByToken acceptMedicalRecordByToken;
+  private final GetRecordRegistration getRecordRegistration;
+  private final SearchHistoryByToken searchHistoryByToken;
+  private final GetHistoryFeedByToken getHistoryFeedByToken;
+  private final SubscribeHistoryByToken subscribeHistoryByToken;
   private final MedicalRecordPresenter presenter;
+  private final CompressedHistoryCache compressedHistoryCache;
+  private final IdempotentResponseCache idempotentResponseCache;
 
   @GetMapping
-  public ResponseEntity<List<MedicalRecordPresenterResponse>> getByToken(
-      @Validated @RequestParam("token") final String token) {
+  public ResponseEntity<?> getByToken(
+      @Validated @RequestParam("token") final String token,
+      @RequestParam(required = false) final LocalDate from,
+      @RequestParam(required = false) final LocalDate to,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(defaultValue = "50") @Min(1) @Max(200) final int limit,
+      final WebRequest request) {
+
+    final var version = this.accessHistoryByToken.version(token);
+    final var etag = this.presenter.etag(version);
+
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+
+    final Supplier<MedicalRecordPagePresenterResponse> page =
+        () ->
+            this.presenter.parseToPageResponse(
+                this.accessHistoryByToken.execute(token, from, to, cursor, limit));
+
+    if (CompressedHistoryCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      final var key = new CompressedHistoryCache.Key(version, from, to, cursor, limit);
+
+      return ResponseEntity.ok()
+          .eTag(etag)
+          .contentType(MediaType.APPLICATION_JSON)
+          .header(HttpHeaders.CONTENT_ENCODING, CompressedHistoryCache.GZIP)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .body(this.compressedHistoryCache.gzip(key, page));
+    }
+
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .body(page.get());
+  }
+
+  @GetMapping("/feed")
+  public ResponseEntity<MedicalRecordFeedPresenterResponse> getFeedByToken(
+      @Validated @RequestParam("token") final String token,
+      @RequestParam(defaultValue = "0") @Min(0) final long cursor,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(500) final int limit) {
 
-    final var records = this.accessHistoryByToken.execute(token);
+    final var feed = this.getHistoryFeedByToken.execute(token, cursor, limit);
 
-    return ResponseEntity.ok(this.presenter.parseToResponseList(records));
+    return ResponseEntity.ok(this.presenter.parseToFeedResponse(feed));
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamByToken(@Validated @RequestParam("token") final String token) {
+    final var emitter = new MedicalRecordEventEmitter(this.presenter);
+    final var subscription = this.subscribeHistoryByToken.execute(token, emitter);
+
+    emitter.onCompletion(subscription::cancel);
+    emitter.onError(error -> subscription.cancel());
+
+    return emitter;
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<MedicalRecordSearchPresenterResponse> searchByToken(
+      @Validated @RequestParam("token") final String token,
+      @RequestParam("q") final String query,
+      @RequestParam(defaultValue = "0") @Min(0) final int offset,
+      @RequestParam(defaultValue = "20") @Min(1) @Max(200) final int limit) {
+
+    final var page = this.searchHistoryByToken.execute(token, query, offset, limit);
+
+    return ResponseEntity.ok(this.presenter.parseToSearchResponse(page));
   }
 
   @PostMapping
-  public ResponseEntity<MedicalRecordPresenterResponse> registerByToken(
+  public ResponseEntity<?> registerByToken(
       @Validated @RequestParam("token") final String token,
+      @RequestHeader(value = PREFER, required = false) final String prefer,
+      @RequestHeader(value = IdempotentResponseCache.IDEMPOTENCY_KEY, required = false)
+          final String idempotencyKey,
       @Valid @RequestBody RegisterMedicalRecordRequest request) {
 
+    final var async = prefersAsync(prefer);
+
+    return this.idempotentResponseCache.execute(
+        token,
+        idempotencyKey,
+        List.of(request, async),
+        () -> async ? this.accept(token, request) : this.register(token, request));
+  }
+
+  @GetMapping("/registrations/{trackingId}")
+  public ResponseEntity<RecordRegistrationPresenterResponse> getRegistration(
+      @PathVariable final UUID trackingId) {
+
+    final var registration = this.getRecordRegistration.execute(trackingId);
+
+    return ResponseEntity.ok(this.presenter.parseToRegistrationResponse(registration));
+  }
+
+  @PostMapping("/bulk")
+  public ResponseEntity<List<MedicalRecordPresenterResponse>> registerAllByToken(
+      @Validated @RequestParam("token") final String token,
+      @RequestHeader(value = IdempotentResponseCache.IDEMPOTENCY_KEY, required = false)
+          final String idempotencyKey,
+      @Valid @RequestBody RegisterMedicalRecordsRequest request) {
+
+    return this.idempotentResponseCache.execute(
+        token,
+        idempotencyKey,
+        request,
+        () -> {
+          final var savedRecords =
+              this.registerMedicalRecordsByToken.execute(
+                  token, this.presenter.parseToDomainList(request.records()));
+
+          return new ResponseEntity<>(
+              this.presenter.parseToResponseList(savedRecords), HttpStatus.CREATED);
+        });
+  }
+
+  private ResponseEntity<MedicalRecordPresenterResponse> register(
+      final String token, final RegisterMedicalRecordRequest request) {
     final var savedRecord =
         this.registerMedicalRecordByToken.execute(
             token,
@@ -47,4 +194,28 @@ public class MedicalRecordController {
 
     return new ResponseEntity<>(this.presenter.parseToResponse(savedRecord), HttpStatus.CREATED);
   }
+
+  private ResponseEntity<RecordRegistrationPresenterResponse> accept(
+      final String token, final RegisterMedicalRecordRequest request) {
+    final var registration =
+        this.acceptMedicalRecordByToken.execute(
+            token,
+            request.unit(),
+            request.professionalName(),
+            request.diagnosis(),
+            request.treatment(),
+            request.notes());
+
+    return ResponseEntity.accepted()
+        .header(HttpHeaders.LOCATION, REGISTRATION_PATH + registration.trackingId())
+        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+        .body(this.presenter.parseToRegistrationResponse(registration));
+  }
+
+  private static boolean prefersAsync(final String prefer) {
+    return prefer != null
+        && Arrays.stream(prefer.split(","))
+            .map(it -> it.split(";")[0].trim())
+            .anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+  }
 }
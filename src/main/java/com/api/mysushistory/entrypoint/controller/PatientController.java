@@ -1,22 +1,42 @@
 package com.api.mysushistory.entrypoint.controller;
 
+import com.api.mysushistory.core.domain.TokenMode;
 import com.api.mysushistory.core.usecase.patient.CreatePatient;
+import com.api.mysushistory.core.usecase.patient.ExportPatientHistory;
 import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import com.api.mysushistory.core.usecase.patient.GenerateTokens;
+import com.api.mysushistory.core.usecase.patient.ImportPatients;
 import com.api.mysushistory.core.usecase.patient.SearchPatientHistory;
+import com.api.mysushistory.core.usecase.token.RevokeShareToken;
+import com.api.mysushistory.presenter.CompressedHistoryCache;
 import com.api.mysushistory.presenter.MedicalRecordPresenter;
+import com.api.mysushistory.presenter.PatientImportReader;
 import com.api.mysushistory.presenter.PatientPresenter;
 import com.api.mysushistory.presenter.ShareTokenPresenter;
-import com.api.mysushistory.presenter.response.MedicalRecordPresenterResponse;
+import com.api.mysushistory.presenter.request.GenerateTokensRequest;
+import com.api.mysushistory.presenter.response.MedicalRecordPagePresenterResponse;
+import com.api.mysushistory.presenter.response.PatientImportPresenterResponse;
 import com.api.mysushistory.presenter.response.PatientPresenterResponse;
 import com.api.mysushistory.presenter.response.ShareTokenPresenterResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/patients")
@@ -24,11 +44,17 @@ public class PatientController {
 
   private final CreatePatient createPatient;
   private final GenerateToken generateToken;
+  private final GenerateTokens generateTokens;
   private final SearchPatientHistory searchPatientHistory;
+  private final ExportPatientHistory exportPatientHistory;
+  private final RevokeShareToken revokeShareToken;
+  private final ImportPatients importPatients;
 
   private final PatientPresenter patientPresenter;
+  private final PatientImportReader patientImportReader;
   private final ShareTokenPresenter tokenPresenter;
   private final MedicalRecordPresenter medicalRecordPresenter;
+  private final CompressedHistoryCache compressedHistoryCache;
 
   @PostMapping
   public ResponseEntity<PatientPresenterResponse> create(
@@ -40,19 +66,108 @@ public class PatientController {
     return new ResponseEntity<>(this.patientPresenter.parseToResponse(patient), HttpStatus.CREATED);
   }
 
+  @PostMapping(
+      value = "/import",
+      consumes = {PatientImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<PatientImportPresenterResponse> importPatients(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+      @RequestParam(defaultValue = "1000") @Min(1) @Max(10000) int batchSize,
+      InputStream body) {
+    try (final var rows = this.patientImportReader.read(body, contentType)) {
+      final var report =
+          this.importPatients.execute(
+              rows,
+              batchSize,
+              progress ->
+                  log.info(
+                      "Patient import at row {}: {} imported, {} duplicates, {} rejected, {} rows/s.",
+                      progress.rows(),
+                      progress.imported(),
+                      progress.duplicates(),
+                      progress.rejected(),
+                      Math.round(progress.rowsPerSecond())));
+
+      return ResponseEntity.ok(this.patientPresenter.parseToImportResponse(report));
+    }
+  }
+
   @PostMapping("/{cpf}/token")
   public ResponseEntity<ShareTokenPresenterResponse> generateToken(
-      @PathVariable String cpf, @RequestParam Integer expiresInMinutes) {
+      @PathVariable String cpf,
+      @RequestParam Integer expiresInMinutes,
+      @RequestParam(defaultValue = "OPAQUE") TokenMode mode,
+      @RequestParam(defaultValue = "false") boolean reuse) {
 
-    final var token = this.generateToken.execute(cpf, expiresInMinutes);
+    final var issued = this.generateToken.execute(cpf, expiresInMinutes, mode, reuse);
 
-    return new ResponseEntity<>(this.tokenPresenter.parseToResponse(token), HttpStatus.CREATED);
+    return new ResponseEntity<>(
+        this.tokenPresenter.parseToResponse(issued.shareToken()),
+        issued.reused() ? HttpStatus.OK : HttpStatus.CREATED);
+  }
+
+  @PostMapping("/tokens")
+  public ResponseEntity<List<ShareTokenPresenterResponse>> generateTokens(
+      @Valid @RequestBody GenerateTokensRequest request) {
+
+    final var tokens = this.generateTokens.execute(request.cpfs(), request.expiresInMinutes());
+
+    return new ResponseEntity<>(
+        this.tokenPresenter.parseToResponseList(tokens), HttpStatus.CREATED);
+  }
+
+  @DeleteMapping("/{cpf}/token")
+  public ResponseEntity<Void> revokeToken(@PathVariable String cpf, @RequestParam String token) {
+    this.revokeShareToken.execute(cpf, token);
+
+    return ResponseEntity.noContent().build();
   }
 
   @GetMapping("/{cpf}/history")
-  public ResponseEntity<List<MedicalRecordPresenterResponse>> getHistory(@PathVariable String cpf) {
-    final var histories = this.searchPatientHistory.execute(cpf);
+  public ResponseEntity<?> getHistory(
+      @PathVariable String cpf,
+      @RequestParam(required = false) LocalDate from,
+      @RequestParam(required = false) LocalDate to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") @Min(1) @Max(200) int limit,
+      WebRequest request) {
+    final var version = this.searchPatientHistory.version(cpf);
+    final var etag = this.medicalRecordPresenter.etag(version);
+
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+
+    final Supplier<MedicalRecordPagePresenterResponse> page =
+        () ->
+            this.medicalRecordPresenter.parseToPageResponse(
+                this.searchPatientHistory.execute(cpf, from, to, cursor, limit));
+
+    if (CompressedHistoryCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      final var key = new CompressedHistoryCache.Key(version, from, to, cursor, limit);
+
+      return ResponseEntity.ok()
+          .eTag(etag)
+          .contentType(MediaType.APPLICATION_JSON)
+          .header(HttpHeaders.CONTENT_ENCODING, CompressedHistoryCache.GZIP)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .body(this.compressedHistoryCache.gzip(key, page));
+    }
+
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .body(page.get());
+  }
+
+  @GetMapping("/{cpf}/history/export")
+  public ResponseEntity<StreamingResponseBody> exportHistory(@PathVariable String cpf) {
+    final var export = this.exportPatientHistory.execute(cpf);
 
-    return ResponseEntity.ok(this.medicalRecordPresenter.parseToResponseList(histories));
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(output -> this.medicalRecordPresenter.writeNdjson(export, output));
   }
 }
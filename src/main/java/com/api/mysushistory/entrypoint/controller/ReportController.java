@@ -0,0 +1,30 @@
+package com.api.mysushistory.entrypoint.controller;
+
+import com.api.mysushistory.core.usecase.report.GetDiagnosisReport;
+import com.api.mysushistory.presenter.DiagnosisReportPresenter;
+import com.api.mysushistory.presenter.response.DiagnosisCountPresenterResponse;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reports")
+public class ReportController {
+
+  private final GetDiagnosisReport getDiagnosisReport;
+  private final DiagnosisReportPresenter presenter;
+
+  @GetMapping("/diagnoses")
+  public ResponseEntity<List<DiagnosisCountPresenterResponse>> getDiagnoses(
+      @RequestParam final LocalDate from,
+      @RequestParam final LocalDate to,
+      @RequestParam(required = false) final String unit) {
+
+    final var counts = this.getDiagnosisReport.execute(from, to, unit);
+
+    return ResponseEntity.ok(this.presenter.parseToResponseList(counts));
+  }
+}
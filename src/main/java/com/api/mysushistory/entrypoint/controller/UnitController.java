@@ -0,0 +1,30 @@
+package com.api.mysushistory.entrypoint.controller;
+
+import com.api.mysushistory.core.usecase.medical.GetUnitRecordFeed;
+import com.api.mysushistory.presenter.MedicalRecordPresenter;
+import com.api.mysushistory.presenter.response.MedicalRecordFeedPresenterResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/units")
+public class UnitController {
+
+  private final GetUnitRecordFeed getUnitRecordFeed;
+  private final MedicalRecordPresenter presenter;
+
+  @GetMapping("/{unit}/medical-records/feed")
+  public ResponseEntity<MedicalRecordFeedPresenterResponse> getFeed(
+      @PathVariable final String unit,
+      @RequestParam(defaultValue = "0") @Min(0) final long cursor,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(500) final int limit) {
+
+    final var feed = this.getUnitRecordFeed.execute(unit, cursor, limit);
+
+    return ResponseEntity.ok(this.presenter.parseToFeedResponse(feed));
+  }
+}
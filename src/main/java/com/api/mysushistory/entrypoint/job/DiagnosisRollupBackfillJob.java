@@ -0,0 +1,38 @@
+package com.api.mysushistory.entrypoint.job;
+
+import com.api.mysushistory.core.usecase.report.BackfillDiagnosisRollups;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "mysushistory.diagnosis-rollup.backfill.enabled",
+    havingValue = "true")
+public class DiagnosisRollupBackfillJob {
+
+  private final BackfillDiagnosisRollups backfillDiagnosisRollups;
+  private final int batchSize;
+
+  public DiagnosisRollupBackfillJob(
+      final BackfillDiagnosisRollups backfillDiagnosisRollups,
+      @Value("${mysushistory.diagnosis-rollup.backfill.batch-size:10000}") final int batchSize) {
+    this.backfillDiagnosisRollups = backfillDiagnosisRollups;
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    final var start = System.nanoTime();
+    final var records = this.backfillDiagnosisRollups.execute(this.batchSize);
+
+    log.info(
+        "Backfilled diagnosis rollups from {} medical records in {} ms.",
+        records,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
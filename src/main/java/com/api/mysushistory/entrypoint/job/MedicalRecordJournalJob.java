@@ -0,0 +1,41 @@
+package com.api.mysushistory.entrypoint.job;
+
+import com.api.mysushistory.core.usecase.medical.DrainMedicalRecordJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MedicalRecordJournalJob {
+
+  private final DrainMedicalRecordJournal drainMedicalRecordJournal;
+  private final int batchSize;
+
+  public MedicalRecordJournalJob(
+      final DrainMedicalRecordJournal drainMedicalRecordJournal,
+      @Value("${mysushistory.medical-record.journal.batch-size:100}") final int batchSize) {
+    this.drainMedicalRecordJournal = drainMedicalRecordJournal;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${mysushistory.medical-record.journal.poll-interval:200}")
+  public void drain() {
+    final var start = System.nanoTime();
+    var saved = 0;
+    int batch;
+
+    do {
+      batch = this.drainMedicalRecordJournal.execute(this.batchSize);
+      saved += batch;
+    } while (batch == this.batchSize);
+
+    if (saved > 0) {
+      log.info(
+          "Saved {} journaled medical records in {} ms.",
+          saved,
+          (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.api.mysushistory.entrypoint.job;
+
+import com.api.mysushistory.core.usecase.token.PurgeExpiredShareTokens;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "mysushistory.share-token.purge.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ShareTokenPurgeJob {
+
+  private final PurgeExpiredShareTokens purgeExpiredShareTokens;
+  private final int batchSize;
+
+  public ShareTokenPurgeJob(
+      final PurgeExpiredShareTokens purgeExpiredShareTokens,
+      @Value("${mysushistory.share-token.purge.batch-size:500}") final int batchSize) {
+    this.purgeExpiredShareTokens = purgeExpiredShareTokens;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(
+      initialDelayString = "${mysushistory.share-token.purge.fixed-delay:600000}",
+      fixedDelayString = "${mysushistory.share-token.purge.fixed-delay:600000}")
+  public void purge() {
+    final var start = System.nanoTime();
+    final var deleted = this.purgeExpiredShareTokens.execute(this.batchSize);
+
+    log.info(
+        "Purged {} expired share tokens in {} ms.",
+        deleted,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
@@ -0,0 +1,12 @@
+package com.api.mysushistory.infra.config;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mysushistory.share-token.signing")
+public record ShareTokenSigningProperties(String activeKeyId, Map<String, String> keys) {
+
+  public ShareTokenSigningProperties {
+    keys = keys == null ? Map.of() : Map.copyOf(keys);
+  }
+}
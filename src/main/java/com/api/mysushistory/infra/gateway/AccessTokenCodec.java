@@ -0,0 +1,41 @@
+package com.api.mysushistory.infra.gateway;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.UUID;
+
+public final class AccessTokenCodec {
+
+  private static final int TOKEN_LENGTH = 36;
+  private static final int BINARY_LENGTH = 16;
+
+  private AccessTokenCodec() {}
+
+  public static Optional<byte[]> toBinary(final String token) {
+    if (token == null || token.length() != TOKEN_LENGTH) {
+      return Optional.empty();
+    }
+
+    try {
+      final var uuid = UUID.fromString(token);
+
+      if (!uuid.toString().equalsIgnoreCase(token)) {
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          ByteBuffer.allocate(BINARY_LENGTH)
+              .putLong(uuid.getMostSignificantBits())
+              .putLong(uuid.getLeastSignificantBits())
+              .array());
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  public static String toToken(final byte[] binary) {
+    final var buffer = ByteBuffer.wrap(binary);
+
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
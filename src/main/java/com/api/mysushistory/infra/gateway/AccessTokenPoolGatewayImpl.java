@@ -0,0 +1,87 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.gateway.AccessTokenPoolGateway;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class AccessTokenPoolGatewayImpl implements AccessTokenPoolGateway {
+
+  private static final int TOKEN_BYTES = 16;
+  private static final int REFILL_CHUNK = 256;
+
+  private final BlockingQueue<String> pool;
+  private final SecureRandom random = new SecureRandom();
+  private final AtomicLong fallbackCount = new AtomicLong();
+
+  public AccessTokenPoolGatewayImpl(
+      @Value("${mysushistory.share-token.pool.capacity:10000}") final int capacity) {
+    this.pool = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public String nextAccessToken() {
+    final var token = this.pool.poll();
+
+    if (token != null) {
+      return token;
+    }
+
+    this.fallbackCount.incrementAndGet();
+
+    return this.generate();
+  }
+
+  @Scheduled(fixedDelayString = "${mysushistory.share-token.pool.refill-interval:1000}")
+  public void refill() {
+    final var bytes = new byte[TOKEN_BYTES * REFILL_CHUNK];
+    var added = 0;
+
+    while (this.pool.remainingCapacity() > 0) {
+      this.random.nextBytes(bytes);
+
+      for (int offset = 0; offset < bytes.length; offset += TOKEN_BYTES) {
+        if (!this.pool.offer(toUuid(bytes, offset))) {
+          break;
+        }
+        added++;
+      }
+    }
+
+    if (added > 0) {
+      log.debug("Refilled access token pool with {} tokens.", added);
+    }
+  }
+
+  public int getAvailable() {
+    return this.pool.size();
+  }
+
+  public long getFallbackCount() {
+    return this.fallbackCount.get();
+  }
+
+  private String generate() {
+    final var bytes = new byte[TOKEN_BYTES];
+    this.random.nextBytes(bytes);
+
+    return toUuid(bytes, 0);
+  }
+
+  private static String toUuid(final byte[] bytes, final int offset) {
+    final var buffer = ByteBuffer.wrap(bytes, offset, TOKEN_BYTES);
+    final var mostSignificant = (buffer.getLong() & ~0xF000L) | 0x4000L;
+    final var leastSignificant = (buffer.getLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+    return new UUID(mostSignificant, leastSignificant).toString();
+  }
+}
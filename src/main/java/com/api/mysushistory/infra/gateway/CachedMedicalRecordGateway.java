@@ -0,0 +1,206 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Primary
+@Component
+public class CachedMedicalRecordGateway implements MedicalRecordGateway {
+
+  private final MedicalRecordGatewayImpl delegate;
+  private final PatientGateway patientGateway;
+  private final MedicalRecordGroupCommitWriter groupCommitWriter;
+  private final int firstPageRecords;
+  private final Cache<Long, HistoryPage> histories;
+  private final Cache<String, Long> patientIds;
+  private final Cache<Long, HistoryVersion> versions;
+
+  public CachedMedicalRecordGateway(
+      final MedicalRecordGatewayImpl delegate,
+      final PatientGateway patientGateway,
+      final Optional<MedicalRecordGroupCommitWriter> groupCommitWriter,
+      @Value("${mysushistory.history.cache.maximum-records:200000}") final long maximumRecords,
+      @Value("${mysushistory.history.cache.maximum-patients:100000}") final long maximumPatients,
+      @Value("${mysushistory.history.cache.first-page-records:200}") final int firstPageRecords,
+      @Value("${mysushistory.history.cache.expire-after-write-minutes:10}")
+          final long expireAfterWriteMinutes) {
+    this.delegate = delegate;
+    this.patientGateway = patientGateway;
+    this.groupCommitWriter = groupCommitWriter.orElse(null);
+    this.firstPageRecords = firstPageRecords;
+    this.histories =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumRecords)
+            .<Long, HistoryPage>weigher((id, page) -> Math.max(1, page.records().size()))
+            .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+            .recordStats()
+            .build();
+    this.patientIds = Caffeine.newBuilder().maximumSize(maximumPatients).build();
+    this.versions =
+        Caffeine.newBuilder()
+            .maximumSize(maximumPatients)
+            .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+            .build();
+  }
+
+  @Override
+  public MedicalRecord save(final MedicalRecord medicalRecord, final Long patientId) {
+    final var saved =
+        this.groupCommitWriter == null
+            ? this.delegate.save(medicalRecord, patientId)
+            : this.groupCommitWriter.save(medicalRecord, patientId);
+
+    this.evict(patientId);
+
+    return saved;
+  }
+
+  @Override
+  public List<MedicalRecord> saveAll(
+      final List<MedicalRecord> medicalRecords, final Long patientId) {
+    final var saved = this.delegate.saveAll(medicalRecords, patientId);
+
+    this.evict(patientId);
+
+    return saved;
+  }
+
+  @Override
+  public HistoryPage findPageByPatientId(
+      final Long patientId,
+      final HistoryPeriod period,
+      final HistoryCursor cursor,
+      final int limit) {
+    if (cursor != null
+        || !HistoryPeriod.UNBOUNDED.equals(period)
+        || limit > this.firstPageRecords) {
+      return this.delegate.findPageByPatientId(patientId, period, cursor, limit);
+    }
+
+    final var firstPage =
+        this.histories.get(
+            patientId,
+            id ->
+                this.delegate.findPageByPatientId(
+                    id, HistoryPeriod.UNBOUNDED, null, this.firstPageRecords));
+    final var records = firstPage.records();
+
+    return records.size() > limit
+        ? HistoryPage.of(records.subList(0, limit + 1), limit)
+        : firstPage;
+  }
+
+  @Override
+  public Optional<HistoryPage> findPageByPatientCpf(
+      final String cpf, final HistoryPeriod period, final HistoryCursor cursor, final int limit) {
+    final var patientId =
+        this.patientIds.get(cpf, key -> this.patientGateway.findIdByCpf(key).orElse(null));
+
+    if (patientId == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(this.findPageByPatientId(patientId, period, cursor, limit));
+  }
+
+  @Override
+  public HistoryFeed findFeedByPatientId(final Long patientId, final long cursor, final int limit) {
+    return this.delegate.findFeedByPatientId(patientId, cursor, limit);
+  }
+
+  @Override
+  public HistoryFeed findFeedByUnit(final String unit, final long cursor, final int limit) {
+    return this.delegate.findFeedByUnit(unit, cursor, limit);
+  }
+
+  @Override
+  public HistorySearchPage searchByPatientId(
+      final Long patientId, final String query, final int offset, final int limit) {
+    return this.delegate.searchByPatientId(patientId, query, offset, limit);
+  }
+
+  @Override
+  public HistoryVersion findVersionByPatientId(final Long patientId) {
+    return this.versions.get(patientId, this.delegate::findVersionByPatientId);
+  }
+
+  @Override
+  public Optional<HistoryVersion> findVersionByPatientCpf(final String cpf) {
+    final var patientId = this.patientIds.getIfPresent(cpf);
+
+    if (patientId != null) {
+      return Optional.of(this.findVersionByPatientId(patientId));
+    }
+
+    final var found = this.delegate.findVersionByPatientCpf(cpf);
+
+    found.ifPresent(it -> this.patientIds.put(cpf, it.patientId()));
+
+    return found;
+  }
+
+  @Override
+  public long streamByPatientId(final Long patientId, final Consumer<MedicalRecord> consumer) {
+    return this.delegate.streamByPatientId(patientId, consumer);
+  }
+
+  public double getHitRatio() {
+    return this.histories.stats().hitRate();
+  }
+
+  public long getHitCount() {
+    return this.histories.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return this.histories.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return this.histories.stats().evictionCount();
+  }
+
+  public long getSize() {
+    return this.histories.estimatedSize();
+  }
+
+  public long getCachedRecords() {
+    this.histories.cleanUp();
+
+    return this.histories.policy().eviction().map(it -> it.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  private void evict(final Long patientId) {
+    this.histories.invalidate(patientId);
+    this.versions.invalidate(patientId);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              histories.invalidate(patientId);
+              versions.invalidate(patientId);
+            }
+          });
+    }
+  }
+}
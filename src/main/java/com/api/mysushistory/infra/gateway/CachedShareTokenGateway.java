@@ -0,0 +1,134 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+@Primary
+@Component
+public class CachedShareTokenGateway implements ShareTokenGateway {
+
+  private final ShareTokenGateway delegate;
+  private final Cache<String, ShareToken> cache;
+
+  public CachedShareTokenGateway(
+      final ShareTokenGatewayImpl delegate,
+      @Value("${mysushistory.share-token.cache.maximum-size:10000}") final long maximumSize) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ShareTokenExpiry())
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public ShareToken save(final ShareToken shareToken, final Long patientId) {
+    final var saved = this.delegate.save(shareToken, patientId);
+
+    this.cache.put(saved.getAccessToken(), saved);
+
+    return saved;
+  }
+
+  @Override
+  public List<ShareToken> saveAll(final List<ShareToken> shareTokens) {
+    final var saved = this.delegate.saveAll(shareTokens);
+
+    saved.forEach(it -> this.cache.put(it.getAccessToken(), it));
+
+    return saved;
+  }
+
+  @Override
+  public Optional<ShareToken> findByAccessToken(final String token) {
+    final var cached = this.cache.getIfPresent(token);
+
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    final var found = this.delegate.findByAccessToken(token);
+
+    found.ifPresent(it -> this.cache.put(token, it));
+
+    return found;
+  }
+
+  @Override
+  public Optional<ShareToken> findReusable(final Long patientId, final LocalDateTime minExpiresAt) {
+    return this.delegate.findReusable(patientId, minExpiresAt);
+  }
+
+  @Override
+  public Optional<ShareToken> saveWithinLimit(
+      final ShareToken shareToken, final Long patientId, final int maxActive) {
+    final var saved = this.delegate.saveWithinLimit(shareToken, patientId, maxActive);
+
+    saved.ifPresent(it -> this.cache.put(it.getAccessToken(), it));
+
+    return saved;
+  }
+
+  @Override
+  public void deleteByAccessToken(final String token) {
+    this.delegate.deleteByAccessToken(token);
+    this.cache.invalidate(token);
+  }
+
+  @Override
+  public int deleteExpired(final LocalDateTime now, final int batchSize) {
+    return this.delegate.deleteExpired(now, batchSize);
+  }
+
+  public long getHitCount() {
+    return this.cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return this.cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return this.cache.stats().evictionCount();
+  }
+
+  private static final class ShareTokenExpiry implements Expiry<String, ShareToken> {
+
+    @Override
+    public long expireAfterCreate(
+        final String token, final ShareToken shareToken, final long currentTime) {
+      final var remaining = Duration.between(LocalDateTime.now(), shareToken.getExpiresAt());
+
+      return remaining.isNegative() ? 0L : remaining.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        final String token,
+        final ShareToken shareToken,
+        final long currentTime,
+        final long currentDuration) {
+      return this.expireAfterCreate(token, shareToken, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        final String token,
+        final ShareToken shareToken,
+        final long currentTime,
+        final long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.persistence.projection.DiagnosisCountView;
+import com.api.mysushistory.infra.persistence.repository.DiagnosisRollupRepository;
+import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class DiagnosisReportGatewayImpl implements DiagnosisReportGateway {
+
+  private static final String UPSERT_ROLLUP =
+      "insert into diagnosis_rollups (unit, date, diagnosis, total) values (?, ?, ?, ?)"
+          + " on duplicate key update total = total + ?";
+  private static final String MERGE_ROLLUP =
+      "merge into diagnosis_rollups r using (values (cast(? as varchar(255)), cast(? as date),"
+          + " cast(? as varchar(255)), cast(? as bigint))) added (unit, date, diagnosis, total)"
+          + " on r.unit = added.unit and r.date = added.date and r.diagnosis = added.diagnosis"
+          + " when matched then update set total = r.total + added.total"
+          + " when not matched then insert (unit, date, diagnosis, total)"
+          + " values (added.unit, added.date, added.diagnosis, added.total)";
+  private static final String FIND_ERROR = "Error finding diagnosis counts from=[%s] to=[%s].";
+  private static final String INCREMENT_ERROR =
+      "Error counting diagnosis=[%s] for unit=[%s] on date=[%s].";
+  private static final String STAGE_ERROR =
+      "Error staging diagnosis rollups for records in (%d, %d].";
+  private static final String INCREMENT_STAGED =
+      "update diagnosis_rollups_staging set total = total + ?"
+          + " where unit = ? and date = ? and diagnosis = ?";
+  private static final String INSERT_STAGED =
+      "insert into diagnosis_rollups_staging (unit, date, diagnosis, total) values (?, ?, ?, ?)";
+  private static final String CLEAR_STAGED = "delete from diagnosis_rollups_staging";
+  private static final String REPLACE_WITH_STAGED =
+      "insert into diagnosis_rollups (unit, date, diagnosis, total)"
+          + " select unit, date, diagnosis, total from diagnosis_rollups_staging";
+
+  private final DiagnosisRollupRepository rollupRepository;
+  private final MedicalRecordRepository recordRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+  private volatile Boolean onDuplicateKey;
+
+  @Override
+  public List<DiagnosisCount> findCounts(
+      final LocalDate from, final LocalDate to, final String unit) {
+    try {
+      final var views =
+          unit == null
+              ? rollupRepository.findCounts(from, to)
+              : rollupRepository.findCountsByUnit(from, to, unit);
+
+      return views.stream().map(this::toDomain).toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_ERROR, from, to));
+    }
+  }
+
+  @Override
+  public long findLastRecordId() {
+    final var maxId = recordRepository.findMaxId();
+
+    return maxId == null ? 0L : maxId;
+  }
+
+  @Override
+  public long blockingBackdatedIncrements(final LongSupplier rebuild) {
+    rebuildLock.writeLock().lock();
+
+    try {
+      return rebuild.getAsLong();
+    } finally {
+      rebuildLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  @Transactional
+  public void clearStaging() {
+    jdbcTemplate.update(CLEAR_STAGED);
+  }
+
+  @Override
+  @Transactional
+  public long stage(final long afterId, final long untilId, final LocalDate cutoff) {
+    try {
+      final var counts = recordRepository.countDiagnoses(afterId, untilId, cutoff.atStartOfDay());
+
+      counts.forEach(
+          it -> {
+            if (jdbcTemplate.update(
+                    INCREMENT_STAGED, it.total(), it.unit(), it.date(), it.diagnosis())
+                == 0) {
+              jdbcTemplate.update(INSERT_STAGED, it.unit(), it.date(), it.diagnosis(), it.total());
+            }
+          });
+
+      return counts.stream().mapToLong(DiagnosisCountView::total).sum();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(STAGE_ERROR, afterId, untilId));
+    }
+  }
+
+  @Override
+  @Transactional
+  public int replaceBefore(final LocalDate cutoff) {
+    rollupRepository.deleteBefore(cutoff);
+
+    final var replaced = jdbcTemplate.update(REPLACE_WITH_STAGED);
+
+    jdbcTemplate.update(CLEAR_STAGED);
+
+    return replaced;
+  }
+
+  public void increment(final String unit, final LocalDate date, final String diagnosis) {
+    increment(unit, date, diagnosis, 1L);
+  }
+
+  public void increment(
+      final String unit, final LocalDate date, final String diagnosis, final long amount) {
+    final var backdated = date.isBefore(LocalDate.now());
+    final var heldByTransaction = backdated && holdRebuildLockUntilCompletion();
+
+    if (backdated && !heldByTransaction) {
+      rebuildLock.readLock().lock();
+    }
+
+    try {
+      upsert(unit, date, diagnosis, amount);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(INCREMENT_ERROR, diagnosis, unit, date));
+    } finally {
+      if (backdated && !heldByTransaction) {
+        rebuildLock.readLock().unlock();
+      }
+    }
+  }
+
+  private boolean holdRebuildLockUntilCompletion() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return false;
+    }
+
+    if (TransactionSynchronizationManager.hasResource(rebuildLock)) {
+      return true;
+    }
+
+    rebuildLock.readLock().lock();
+    TransactionSynchronizationManager.bindResource(rebuildLock, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(rebuildLock);
+            rebuildLock.readLock().unlock();
+          }
+        });
+
+    return true;
+  }
+
+  // One statement: update-then-insert gap-locks the missing key on InnoDB and deadlocks when two
+  // first records of the same day race.
+  private void upsert(
+      final String unit, final LocalDate date, final String diagnosis, final long amount) {
+    if (supportsOnDuplicateKey()) {
+      jdbcTemplate.update(UPSERT_ROLLUP, unit, date, diagnosis, amount, amount);
+    } else {
+      jdbcTemplate.update(MERGE_ROLLUP, unit, date, diagnosis, amount);
+    }
+  }
+
+  private boolean supportsOnDuplicateKey() {
+    if (onDuplicateKey == null) {
+      final var product =
+          jdbcTemplate.execute(
+              (ConnectionCallback<String>)
+                  connection -> connection.getMetaData().getDatabaseProductName());
+
+      onDuplicateKey = "MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product);
+    }
+
+    return onDuplicateKey;
+  }
+
+  private DiagnosisCount toDomain(final DiagnosisCountView view) {
+    return new DiagnosisCount(view.unit(), view.date(), view.diagnosis(), view.total());
+  }
+}
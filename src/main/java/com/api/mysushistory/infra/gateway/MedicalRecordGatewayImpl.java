@@ -1,73 +1,388 @@
 package com.api.mysushistory.infra.gateway;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidMedicalRecordException;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.gateway.exception.SearchIndexLoadingException;
+import com.api.mysushistory.infra.gateway.search.MedicalRecordIndex;
 import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
+import com.api.mysushistory.infra.persistence.entity.PatientEntity;
+import com.api.mysushistory.infra.persistence.projection.HistoryVersionView;
+import com.api.mysushistory.infra.persistence.projection.MedicalRecordView;
 import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @RequiredArgsConstructor
 public class MedicalRecordGatewayImpl implements MedicalRecordGateway {
 
   private static final String SAVE_ERROR = "Error saving medical record for patientId=[%d].";
+  private static final String SAVE_ALL_ERROR =
+      "Error saving [%d] medical records for patientId=[%d].";
+  private static final String SAVE_BATCH_ERROR = "Error saving batch of [%d] medical records.";
   private static final String PATIENT_NOT_FOUND = "PatientEntity with id=[%d] not found.";
-  private static final String FIND_BY_CPF_ERROR = "Error finding medical records for cpf=[%s].";
   private static final String FIND_BY_ID_ERROR =
       "Error finding medical records for patientId=[%d].";
+  private static final String FIND_BY_CPF_ERROR = "Error finding medical records for cpf=[%s].";
+  private static final String FIND_BY_UNIT_ERROR = "Error finding medical records for unit=[%s].";
+  private static final String SEARCH_ERROR = "Error searching medical records for patientId=[%d].";
+
+  private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+  private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
 
   private final MedicalRecordRepository recordRepository;
   private final PatientRepository patientRepository;
+  private final MedicalRecordIndex medicalRecordIndex;
+  private final DiagnosisReportGatewayImpl diagnosisReportGateway;
+  private final RecordWatermark recordWatermark;
 
   @Override
+  @Transactional
   public MedicalRecord save(final MedicalRecord medicalRecord, final Long patientId) {
+    final var floor = recordWatermark.reserve();
+
     try {
       final var patientEntity =
           patientRepository
               .findById(patientId)
               .orElseThrow(() -> new GatewayException(String.format(PATIENT_NOT_FOUND, patientId)));
 
-      var entity =
-          MedicalRecordEntity.builder()
-              .date(medicalRecord.getDate())
-              .unit(medicalRecord.getUnit())
-              .professionalName(medicalRecord.getProfessionalName())
-              .diagnosis(medicalRecord.getDiagnosis())
-              .treatment(medicalRecord.getTreatment())
-              .notes(medicalRecord.getNotes())
-              .patient(patientEntity)
-              .build();
-
-      var saved = recordRepository.save(entity);
+      var saved = recordRepository.saveAndFlush(toEntity(medicalRecord, patientEntity));
+      recordWatermark.observe(saved.getId());
+      patientRepository.incrementHistoryVersion(patientId);
+      diagnosisReportGateway.increment(
+          saved.getUnit(), saved.getDate().toLocalDate(), saved.getDiagnosis());
+      index(List.of(saved));
 
       return toDomain(saved);
     } catch (IllegalArgumentException e) {
       throw new GatewayException(String.format(SAVE_ERROR, patientId));
+    } catch (NonTransientDataAccessResourceException e) {
+      throw e;
+    } catch (NonTransientDataAccessException e) {
+      throw new InvalidMedicalRecordException(patientId, e.getMostSpecificCause().getMessage());
+    } finally {
+      releaseAfterCompletion(floor);
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<MedicalRecord> saveAll(
+      final List<MedicalRecord> medicalRecords, final Long patientId) {
+    final var floor = recordWatermark.reserve();
+
+    try {
+      final var patientEntity =
+          patientRepository
+              .findById(patientId)
+              .orElseThrow(() -> new GatewayException(String.format(PATIENT_NOT_FOUND, patientId)));
+
+      final var saved =
+          persist(medicalRecords.stream().map(it -> toEntity(it, patientEntity)).toList());
+
+      return saved.stream().map(this::toDomain).toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(SAVE_ALL_ERROR, medicalRecords.size(), patientId));
+    } finally {
+      releaseAfterCompletion(floor);
+    }
+  }
+
+  @Transactional
+  public List<MedicalRecord> saveBatch(final List<PatientMedicalRecord> patientRecords) {
+    final var floor = recordWatermark.reserve();
+
+    try {
+      final var patientIds =
+          patientRecords.stream().map(PatientMedicalRecord::patientId).distinct().toList();
+      final var patients =
+          patientRepository.findAllById(patientIds).stream()
+              .collect(Collectors.toMap(PatientEntity::getId, Function.identity()));
+
+      final var entities =
+          patientRecords.stream()
+              .map(
+                  it ->
+                      toEntity(
+                          it.medicalRecord(),
+                          Optional.ofNullable(patients.get(it.patientId()))
+                              .orElseThrow(
+                                  () ->
+                                      new GatewayException(
+                                          String.format(PATIENT_NOT_FOUND, it.patientId())))))
+              .toList();
+
+      return persist(entities).stream().map(this::toDomain).toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(SAVE_BATCH_ERROR, patientRecords.size()));
+    } finally {
+      releaseAfterCompletion(floor);
+    }
+  }
+
+  @Override
+  public HistoryPage findPageByPatientId(
+      final Long patientId,
+      final HistoryPeriod period,
+      final HistoryCursor cursor,
+      final int limit) {
+    try {
+      final var from = start(period);
+      final var to = end(period);
+      final var fetchLimit = Limit.of(limit + 1);
+      final var views =
+          cursor == null
+              ? recordRepository.findPageByPatientId(patientId, from, to, fetchLimit)
+              : recordRepository.findPageByPatientIdBefore(
+                  patientId, from, to, cursor.date(), cursor.id(), fetchLimit);
+
+      return HistoryPage.of(views.stream().map(this::toDomain).toList(), limit);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_BY_ID_ERROR, patientId));
+    }
+  }
+
+  @Override
+  public Optional<HistoryPage> findPageByPatientCpf(
+      final String cpf, final HistoryPeriod period, final HistoryCursor cursor, final int limit) {
+    try {
+      final var from = start(period);
+      final var to = end(period);
+      final var fetchLimit = Limit.of(limit + 1);
+      final var views =
+          cursor == null
+              ? recordRepository.findPageByPatientCpf(cpf, from, to, fetchLimit)
+              : recordRepository.findPageByPatientCpfBefore(
+                  cpf, from, to, cursor.date(), cursor.id(), fetchLimit);
+
+      if (views.isEmpty()) {
+        return Optional.empty();
+      }
+
+      final var records =
+          views.stream().filter(view -> view.id() != null).map(this::toDomain).toList();
+
+      return Optional.of(HistoryPage.of(records, limit));
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_BY_CPF_ERROR, cpf));
+    }
+  }
+
+  @Override
+  public HistoryFeed findFeedByPatientId(final Long patientId, final long cursor, final int limit) {
+    try {
+      final var views =
+          recordRepository.findFeedByPatientId(
+              patientId, cursor, recordWatermark.visibleBefore(), Limit.of(limit + 1));
+
+      return HistoryFeed.of(views.stream().map(this::toDomain).toList(), cursor, limit);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_BY_ID_ERROR, patientId));
+    }
+  }
+
+  @Override
+  public HistoryFeed findFeedByUnit(final String unit, final long cursor, final int limit) {
+    try {
+      final var views =
+          recordRepository.findFeedByUnit(
+              unit, cursor, recordWatermark.visibleBefore(), Limit.of(limit + 1));
+
+      return HistoryFeed.of(views.stream().map(this::toDomain).toList(), cursor, limit);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_BY_UNIT_ERROR, unit));
+    }
+  }
+
+  @Override
+  public HistorySearchPage searchByPatientId(
+      final Long patientId, final String query, final int offset, final int limit) {
+    if (!medicalRecordIndex.isReady()) {
+      throw new SearchIndexLoadingException();
+    }
+
+    try {
+      final var ranked = medicalRecordIndex.search(patientId, query);
+      final var end = (int) Math.min((long) offset + limit, ranked.size());
+      final var nextOffset = end < ranked.size() ? end : null;
+
+      if (offset >= end) {
+        return new HistorySearchPage(List.of(), ranked.size(), null);
+      }
+
+      final var ids = ranked.subList(offset, end);
+      final var records =
+          recordRepository.findAllByPatientIdAndIdIn(patientId, ids).stream()
+              .collect(Collectors.toMap(MedicalRecordView::id, this::toDomain));
+
+      return new HistorySearchPage(
+          ids.stream().map(records::get).filter(Objects::nonNull).toList(),
+          ranked.size(),
+          nextOffset);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(SEARCH_ERROR, patientId));
     }
   }
 
   @Override
-  public List<MedicalRecord> findByPatientCpf(final String patientCpf) {
+  public HistoryVersion findVersionByPatientId(final Long patientId) {
     try {
-      return recordRepository.findByPatientCpf(patientCpf).stream().map(this::toDomain).toList();
+      return patientRepository
+          .findHistoryVersionById(patientId)
+          .map(this::toVersion)
+          .orElseGet(() -> new HistoryVersion(patientId, 0L));
     } catch (IllegalArgumentException e) {
-      throw new GatewayException(String.format(FIND_BY_CPF_ERROR, patientCpf));
+      throw new GatewayException(String.format(FIND_BY_ID_ERROR, patientId));
     }
   }
 
   @Override
-  public List<MedicalRecord> findByPatientId(final Long patientId) {
+  public Optional<HistoryVersion> findVersionByPatientCpf(final String cpf) {
     try {
-      return recordRepository.findByPatientId(patientId).stream().map(this::toDomain).toList();
+      return patientRepository.findHistoryVersionByCpf(cpf).map(this::toVersion);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(String.format(FIND_BY_CPF_ERROR, cpf));
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long streamByPatientId(final Long patientId, final Consumer<MedicalRecord> consumer) {
+    final var count = new AtomicLong();
+
+    try (final var views = recordRepository.streamByPatientId(patientId)) {
+      views.forEach(
+          view -> {
+            consumer.accept(this.toDomain(view));
+            count.incrementAndGet();
+          });
+
+      return count.get();
     } catch (IllegalArgumentException e) {
       throw new GatewayException(String.format(FIND_BY_ID_ERROR, patientId));
     }
   }
 
+  private void releaseAfterCompletion(final long floor) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      recordWatermark.release(floor);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(final int status) {
+            recordWatermark.release(floor);
+          }
+        });
+  }
+
+  private List<MedicalRecordEntity> persist(final List<MedicalRecordEntity> entities) {
+    final var saved = recordRepository.saveAll(entities);
+
+    saved.forEach(it -> recordWatermark.observe(it.getId()));
+    saved.stream()
+        .map(it -> it.getPatient().getId())
+        .distinct()
+        .forEach(patientRepository::incrementHistoryVersion);
+    saved.stream()
+        .collect(Collectors.groupingBy(RollupKey::of, Collectors.counting()))
+        .forEach(
+            (key, total) ->
+                diagnosisReportGateway.increment(key.unit(), key.date(), key.diagnosis(), total));
+    index(saved);
+
+    return saved;
+  }
+
+  private void index(final List<MedicalRecordEntity> entities) {
+    final Runnable add =
+        () ->
+            entities.forEach(
+                entity ->
+                    medicalRecordIndex.add(
+                        entity.getPatient().getId(),
+                        entity.getId(),
+                        entity.getDiagnosis(),
+                        entity.getTreatment(),
+                        entity.getNotes()));
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            add.run();
+          }
+        });
+  }
+
+  private static MedicalRecordEntity toEntity(
+      final MedicalRecord medicalRecord, final PatientEntity patientEntity) {
+    return MedicalRecordEntity.builder()
+        .date(medicalRecord.getDate())
+        .unit(medicalRecord.getUnit())
+        .professionalName(medicalRecord.getProfessionalName())
+        .diagnosis(medicalRecord.getDiagnosis())
+        .treatment(medicalRecord.getTreatment())
+        .notes(medicalRecord.getNotes())
+        .patient(patientEntity)
+        .build();
+  }
+
+  private static LocalDateTime start(final HistoryPeriod period) {
+    return period.from() == null ? EARLIEST : period.from().atStartOfDay();
+  }
+
+  private static LocalDateTime end(final HistoryPeriod period) {
+    return period.to() == null ? LATEST : period.to().plusDays(1).atStartOfDay();
+  }
+
+  private HistoryVersion toVersion(final HistoryVersionView view) {
+    return new HistoryVersion(view.patientId(), view.version());
+  }
+
+  private MedicalRecord toDomain(final MedicalRecordView view) {
+    return MedicalRecord.restore(
+        view.id(),
+        view.date(),
+        view.unit(),
+        view.professionalName(),
+        view.diagnosis(),
+        view.treatment(),
+        view.notes());
+  }
+
   private MedicalRecord toDomain(final MedicalRecordEntity entity) {
     return new MedicalRecord(
         entity.getId(),
@@ -78,4 +393,11 @@ public class MedicalRecordGatewayImpl implements MedicalRecordGateway {
         entity.getTreatment(),
         entity.getNotes());
   }
+
+  private record RollupKey(String unit, LocalDate date, String diagnosis) {
+
+    private static RollupKey of(final MedicalRecordEntity entity) {
+      return new RollupKey(entity.getUnit(), entity.getDate().toLocalDate(), entity.getDiagnosis());
+    }
+  }
 }
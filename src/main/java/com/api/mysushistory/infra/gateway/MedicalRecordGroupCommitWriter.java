@@ -0,0 +1,261 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "mysushistory.medical-record.group-commit.enabled",
+    havingValue = "true")
+public class MedicalRecordGroupCommitWriter {
+
+  private static final String STOPPED = "Medical record group commit writer is stopped.";
+  private static final String INTERRUPTED =
+      "Interrupted while queueing medical record for patientId=[%d].";
+  private static final String TIMED_OUT =
+      "Timed out after [%d] ms waiting to queue the group commit of patientId=[%d].";
+  private static final long IDLE_POLL_MILLIS = 100;
+  private static final String METRIC_PREFIX = "mysushistory.group-commit.";
+
+  private final MedicalRecordGatewayImpl delegate;
+  private final BlockingQueue<Pending> queue;
+  private final int maximumBatchSize;
+  private final long windowNanos;
+  private final Duration timeout;
+  private final Thread writer;
+  private volatile boolean running;
+
+  private final DistributionSummary batchSizes;
+  private final Timer queueWait;
+
+  public MedicalRecordGroupCommitWriter(
+      final MedicalRecordGatewayImpl delegate,
+      @Value("${mysushistory.medical-record.group-commit.batch-size:100}")
+          final int maximumBatchSize,
+      @Value("${mysushistory.medical-record.group-commit.window:2ms}") final Duration window,
+      @Value("${mysushistory.medical-record.group-commit.queue-capacity:10000}")
+          final int queueCapacity,
+      @Value("${mysushistory.medical-record.group-commit.timeout:5s}") final Duration timeout,
+      final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.maximumBatchSize = maximumBatchSize;
+    this.windowNanos = window.toNanos();
+    this.timeout = timeout;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.writer = new Thread(this::run, "medical-record-group-commit");
+    this.writer.setDaemon(true);
+    this.batchSizes =
+        DistributionSummary.builder(METRIC_PREFIX + "batch.size")
+            .baseUnit("records")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.queueWait =
+        Timer.builder(METRIC_PREFIX + "queue.wait")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "queue.size", this.queue, BlockingQueue::size)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "running", this, it -> it.running ? 1 : 0)
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    this.running = true;
+    this.writer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    this.running = false;
+    this.writer.join();
+
+    final var remaining = new ArrayList<Pending>();
+    this.queue.drainTo(remaining);
+
+    if (!remaining.isEmpty()) {
+      this.write(remaining);
+    }
+  }
+
+  public MedicalRecord save(final MedicalRecord medicalRecord, final Long patientId) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return this.delegate.save(medicalRecord, patientId);
+    }
+
+    if (!this.running) {
+      throw new GatewayException(STOPPED);
+    }
+
+    final var pending = new Pending(new PatientMedicalRecord(patientId, medicalRecord));
+
+    try {
+      this.queue.put(pending);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GatewayException(String.format(INTERRUPTED, patientId));
+    }
+
+    if (!this.running && this.queue.remove(pending)) {
+      throw new GatewayException(STOPPED);
+    }
+
+    try {
+      return pending.result.get(this.timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new CompletionException(e.getCause());
+    } catch (TimeoutException e) {
+      if (this.queue.remove(pending)) {
+        throw new GatewayException(String.format(TIMED_OUT, this.timeout.toMillis(), patientId));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      if (this.queue.remove(pending)) {
+        throw new GatewayException(String.format(INTERRUPTED, patientId));
+      }
+    }
+
+    // The writer already took the record, so it may commit: wait for the batch instead of
+    // reporting a failure the client would retry.
+    try {
+      return pending.result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void run() {
+    try {
+      this.drain();
+    } catch (Error e) {
+      this.running = false;
+
+      final var queued = new ArrayList<Pending>();
+      this.queue.drainTo(queued);
+      queued.forEach(it -> it.result.completeExceptionally(new GatewayException(STOPPED)));
+      throw e;
+    }
+  }
+
+  private void drain() {
+    final var batch = new ArrayList<Pending>(this.maximumBatchSize);
+
+    while (this.running) {
+      try {
+        final var first = this.queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        this.collect(batch, System.nanoTime() + this.windowNanos);
+        this.write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        this.write(batch);
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void collect(final List<Pending> batch, final long deadline) throws InterruptedException {
+    this.queue.drainTo(batch, this.maximumBatchSize - batch.size());
+
+    while (batch.size() < this.maximumBatchSize) {
+      final var remaining = deadline - System.nanoTime();
+
+      if (remaining <= 0) {
+        return;
+      }
+
+      final var next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+      if (next == null) {
+        return;
+      }
+
+      batch.add(next);
+      this.queue.drainTo(batch, this.maximumBatchSize - batch.size());
+    }
+  }
+
+  private void write(final List<Pending> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    final var start = System.nanoTime();
+
+    batch.forEach(it -> this.queueWait.record(start - it.enqueuedAt, TimeUnit.NANOSECONDS));
+    this.batchSizes.record(batch.size());
+
+    try {
+      final var saved =
+          this.delegate.saveBatch(batch.stream().map(it -> it.patientRecord).toList());
+
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result.complete(saved.get(i));
+      }
+    } catch (RuntimeException e) {
+      log.debug("Group commit of {} medical records failed, saving one by one.", batch.size(), e);
+      batch.forEach(this::writeAlone);
+    } catch (Error e) {
+      this.running = false;
+      batch.forEach(it -> it.result.completeExceptionally(e));
+      throw e;
+    }
+  }
+
+  private void writeAlone(final Pending pending) {
+    try {
+      pending.result.complete(
+          this.delegate.save(
+              pending.patientRecord.medicalRecord(), pending.patientRecord.patientId()));
+    } catch (RuntimeException e) {
+      pending.result.completeExceptionally(e);
+    }
+  }
+
+  private static final class Pending {
+
+    private final PatientMedicalRecord patientRecord;
+    private final long enqueuedAt = System.nanoTime();
+    private final CompletableFuture<MedicalRecord> result = new CompletableFuture<>();
+
+    private Pending(final PatientMedicalRecord patientRecord) {
+      this.patientRecord = patientRecord;
+    }
+  }
+}
@@ -0,0 +1,379 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.JournaledMedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.domain.valueobject.RegistrationState;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MedicalRecordJournalGatewayImpl implements MedicalRecordJournalGateway {
+
+  private static final String WRITE_ERROR = "Error writing medical record journal [%s].";
+  private static final String READ_ERROR = "Error reading medical record journal [%s].";
+  private static final String COMPACTION_SUFFIX = ".compacting";
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final int MAXIMUM_BACKOFF_SHIFT = 20;
+
+  private final Path path;
+  private final ObjectMapper objectMapper;
+  private final long retryDelayNanos;
+  private final long maximumRetryDelayNanos;
+  private final Duration statusRetention;
+  private final long compactAfterLines;
+
+  private final Map<UUID, RecordRegistration> registrations = new LinkedHashMap<>();
+  private final Map<UUID, Pending> pending = new LinkedHashMap<>();
+  private FileChannel channel;
+  private long lines;
+
+  public MedicalRecordJournalGatewayImpl(
+      @Value("${mysushistory.medical-record.journal.path:data/medical-record-journal.log}")
+          final Path path,
+      final ObjectMapper objectMapper,
+      @Value("${mysushistory.medical-record.journal.retry-delay:1s}") final Duration retryDelay,
+      @Value("${mysushistory.medical-record.journal.max-retry-delay:5m}")
+          final Duration maximumRetryDelay,
+      @Value("${mysushistory.medical-record.journal.status-retention:24h}")
+          final Duration statusRetention,
+      @Value("${mysushistory.medical-record.journal.compact-after-lines:100000}")
+          final long compactAfterLines) {
+    this.path = path;
+    this.objectMapper = objectMapper;
+    this.retryDelayNanos = retryDelay.toNanos();
+    this.maximumRetryDelayNanos = maximumRetryDelay.toNanos();
+    this.statusRetention = statusRetention;
+    this.compactAfterLines = compactAfterLines;
+  }
+
+  @PostConstruct
+  public synchronized void replay() {
+    if (!Files.exists(this.path)) {
+      return;
+    }
+
+    try (final var reader = Files.newBufferedReader(this.path)) {
+      var number = 0;
+      String line;
+
+      while ((line = reader.readLine()) != null) {
+        number++;
+
+        if (line.isBlank()) {
+          continue;
+        }
+
+        try {
+          this.apply(this.objectMapper.readValue(line, JournalLine.class));
+        } catch (JsonProcessingException e) {
+          log.warn(
+              "Skipping unreadable line {} of medical record journal [{}].", number, this.path);
+        }
+      }
+    } catch (IOException e) {
+      throw new GatewayException(String.format(READ_ERROR, this.path));
+    }
+
+    this.compact();
+
+    log.info(
+        "Medical record journal [{}] replayed with {} pending records.",
+        this.path,
+        this.pending.size());
+  }
+
+  @PreDestroy
+  public synchronized void close() throws IOException {
+    if (this.channel != null) {
+      this.channel.close();
+      this.channel = null;
+    }
+  }
+
+  @Override
+  public synchronized RecordRegistration append(
+      final Long patientId, final MedicalRecord medicalRecord) {
+    final var registration = RecordRegistration.accepted(UUID.randomUUID(), LocalDateTime.now());
+    final var journaled =
+        new JournaledMedicalRecord(registration.trackingId(), patientId, medicalRecord);
+
+    this.write(JournalLine.accepted(registration, journaled));
+
+    this.registrations.put(registration.trackingId(), registration);
+    this.pending.put(registration.trackingId(), new Pending(journaled));
+
+    return registration;
+  }
+
+  @Override
+  public synchronized List<JournaledMedicalRecord> pending(final int limit) {
+    final var now = System.nanoTime();
+
+    return this.pending.values().stream()
+        .filter(it -> it.nextAttemptAt - now <= 0)
+        .limit(limit)
+        .map(it -> it.journaled)
+        .toList();
+  }
+
+  @Override
+  public synchronized void markSaved(final UUID trackingId, final Long medicalRecordId) {
+    final var registration = this.registrations.get(trackingId);
+
+    if (this.pending.remove(trackingId) == null || registration == null) {
+      return;
+    }
+
+    this.complete(registration.saved(medicalRecordId, LocalDateTime.now()));
+  }
+
+  @Override
+  public synchronized void retryLater(final UUID trackingId, final String failure) {
+    final var entry = this.pending.get(trackingId);
+
+    if (entry == null) {
+      return;
+    }
+
+    entry.attempts++;
+
+    final var shift = Math.min(entry.attempts - 1, MAXIMUM_BACKOFF_SHIFT);
+    final var delay = Math.min(this.retryDelayNanos << shift, this.maximumRetryDelayNanos);
+
+    entry.nextAttemptAt = System.nanoTime() + delay;
+    log.warn(
+        "Journaled medical record [{}] failed attempt {}, retrying in {} ms: {}",
+        trackingId,
+        entry.attempts,
+        TimeUnit.NANOSECONDS.toMillis(delay),
+        failure);
+  }
+
+  @Override
+  public synchronized void markFailed(final UUID trackingId, final String failure) {
+    final var entry = this.pending.remove(trackingId);
+
+    if (entry == null) {
+      return;
+    }
+
+    this.complete(this.registrations.get(trackingId).failed(failure, LocalDateTime.now()));
+    log.error("Journaled medical record [{}] cannot be saved: {}", trackingId, failure);
+  }
+
+  @Override
+  public synchronized Optional<RecordRegistration> findByTrackingId(final UUID trackingId) {
+    return Optional.ofNullable(this.registrations.get(trackingId));
+  }
+
+  public synchronized int getPending() {
+    return this.pending.size();
+  }
+
+  private void complete(final RecordRegistration registration) {
+    this.registrations.put(registration.trackingId(), registration);
+    this.write(JournalLine.completed(registration));
+
+    if (this.lines >= this.compactAfterLines + this.registrations.size()) {
+      this.compact();
+    }
+  }
+
+  private void apply(final JournalLine line) {
+    final var registration = line.toRegistration();
+
+    this.registrations.put(registration.trackingId(), registration);
+
+    if (registration.state() == RegistrationState.ACCEPTED) {
+      this.pending.put(registration.trackingId(), new Pending(line.toJournaled()));
+    } else {
+      this.pending.remove(registration.trackingId());
+    }
+  }
+
+  private void compact() {
+    final var expiredBefore = LocalDateTime.now().minus(this.statusRetention);
+    this.registrations
+        .values()
+        .removeIf(it -> it.completedAt() != null && !it.completedAt().isAfter(expiredBefore));
+
+    final var compacted = this.path.resolveSibling(this.path.getFileName() + COMPACTION_SUFFIX);
+
+    try {
+      this.close();
+
+      try (final var output =
+          FileChannel.open(
+              compacted,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        for (final var registration : this.registrations.values()) {
+          final var entry = this.pending.get(registration.trackingId());
+
+          this.writeLine(
+              output,
+              entry == null
+                  ? JournalLine.completed(registration)
+                  : JournalLine.accepted(registration, entry.journaled));
+        }
+
+        output.force(true);
+      }
+
+      Files.move(
+          compacted,
+          this.path,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      this.lines = this.registrations.size();
+    } catch (IOException e) {
+      throw new GatewayException(String.format(WRITE_ERROR, this.path));
+    }
+  }
+
+  private void write(final JournalLine line) {
+    try {
+      if (this.channel == null) {
+        final var parent = this.path.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+        this.channel =
+            FileChannel.open(
+                this.path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+      }
+
+      this.writeLine(this.channel, line);
+      this.channel.force(false);
+      this.lines++;
+    } catch (IOException e) {
+      throw new GatewayException(String.format(WRITE_ERROR, this.path));
+    }
+  }
+
+  private void writeLine(final FileChannel output, final JournalLine line) throws IOException {
+    final var json = this.objectMapper.writeValueAsBytes(line);
+    final var buffer = ByteBuffer.allocate(json.length + 1).put(json).put(LINE_SEPARATOR).flip();
+
+    while (buffer.hasRemaining()) {
+      output.write(buffer);
+    }
+  }
+
+  private static final class Pending {
+
+    private final JournaledMedicalRecord journaled;
+    private int attempts;
+    private long nextAttemptAt = System.nanoTime();
+
+    private Pending(final JournaledMedicalRecord journaled) {
+      this.journaled = journaled;
+    }
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private record JournalLine(
+      RegistrationState state,
+      UUID trackingId,
+      LocalDateTime acceptedAt,
+      LocalDateTime completedAt,
+      Long medicalRecordId,
+      String failure,
+      Long patientId,
+      LocalDateTime date,
+      String unit,
+      String professionalName,
+      String diagnosis,
+      String treatment,
+      String notes) {
+
+    static JournalLine accepted(
+        final RecordRegistration registration, final JournaledMedicalRecord journaled) {
+      final var record = journaled.medicalRecord();
+
+      return new JournalLine(
+          RegistrationState.ACCEPTED,
+          registration.trackingId(),
+          registration.acceptedAt(),
+          null,
+          null,
+          null,
+          journaled.patientId(),
+          record.getDate(),
+          record.getUnit(),
+          record.getProfessionalName(),
+          record.getDiagnosis(),
+          record.getTreatment(),
+          record.getNotes());
+    }
+
+    static JournalLine completed(final RecordRegistration registration) {
+      return new JournalLine(
+          registration.state(),
+          registration.trackingId(),
+          registration.acceptedAt(),
+          registration.completedAt(),
+          registration.medicalRecordId(),
+          registration.failure(),
+          null,
+          null,
+          null,
+          null,
+          null,
+          null,
+          null);
+    }
+
+    RecordRegistration toRegistration() {
+      return new RecordRegistration(
+          this.trackingId,
+          this.state,
+          this.acceptedAt,
+          this.completedAt,
+          this.medicalRecordId,
+          this.failure);
+    }
+
+    JournaledMedicalRecord toJournaled() {
+      return new JournaledMedicalRecord(
+          this.trackingId,
+          this.patientId,
+          MedicalRecord.restore(
+              null,
+              this.date,
+              this.unit,
+              this.professionalName,
+              this.diagnosis,
+              this.treatment,
+              this.notes));
+    }
+  }
+}
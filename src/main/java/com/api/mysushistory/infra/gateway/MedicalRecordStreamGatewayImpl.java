@@ -0,0 +1,231 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscription;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MedicalRecordStreamGatewayImpl implements MedicalRecordStreamGateway {
+
+  private static final String THREAD_PREFIX = "history-stream-";
+
+  private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor;
+  private final int bufferSize;
+  private final AtomicLong overflows = new AtomicLong();
+
+  public MedicalRecordStreamGatewayImpl(
+      @Value("${mysushistory.history.stream.buffer-size:32}") final int bufferSize,
+      @Value("${mysushistory.history.stream.delivery-threads:2}") final int deliveryThreads,
+      @Value("${mysushistory.history.stream.heartbeat-interval:15s}")
+          final Duration heartbeatInterval) {
+    this.bufferSize = bufferSize;
+    this.executor =
+        Executors.newScheduledThreadPool(
+            deliveryThreads, new CustomizableThreadFactory(THREAD_PREFIX));
+    this.executor.scheduleAtFixedRate(
+        this::heartbeat,
+        heartbeatInterval.toMillis(),
+        heartbeatInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void publish(final Long patientId, final MedicalRecord medicalRecord) {
+    final var subscribers = this.subscriptions.get(patientId);
+
+    if (subscribers != null) {
+      subscribers.forEach(it -> it.offer(medicalRecord));
+    }
+  }
+
+  @Override
+  public HistorySubscription subscribe(
+      final ShareToken shareToken, final HistorySubscriber subscriber) {
+    final var patientId = shareToken.getPatientId();
+    final var subscription = new Subscription(patientId, shareToken.getAccessToken(), subscriber);
+
+    this.subscriptions.compute(
+        patientId,
+        (id, subscribers) -> {
+          final var current =
+              subscribers == null ? ConcurrentHashMap.<Subscription>newKeySet() : subscribers;
+          current.add(subscription);
+          return current;
+        });
+
+    final var delay = Duration.between(LocalDateTime.now(), shareToken.getExpiresAt()).toMillis();
+    subscription.expiry =
+        this.executor.schedule(
+            () -> subscription.close(true), Math.max(delay, 0), TimeUnit.MILLISECONDS);
+
+    return subscription;
+  }
+
+  @Override
+  public void close(final ShareToken shareToken) {
+    final var subscribers = this.subscriptions.get(shareToken.getPatientId());
+
+    if (subscribers != null) {
+      subscribers.stream()
+          .filter(it -> it.accessToken.equals(shareToken.getAccessToken()))
+          .toList()
+          .forEach(it -> it.close(true));
+    }
+  }
+
+  public long getSubscribers() {
+    return this.subscriptions.values().stream().mapToLong(Set::size).sum();
+  }
+
+  public long getOverflows() {
+    return this.overflows.get();
+  }
+
+  private void heartbeat() {
+    this.subscriptions.values().forEach(subscribers -> subscribers.forEach(Subscription::ping));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.subscriptions.values().stream()
+        .flatMap(Set::stream)
+        .toList()
+        .forEach(it -> it.close(true));
+    this.executor.shutdownNow();
+  }
+
+  private final class Subscription implements HistorySubscription {
+
+    private final Long patientId;
+    private final String accessToken;
+    private final HistorySubscriber subscriber;
+    private final BlockingQueue<MedicalRecord> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile ScheduledFuture<?> expiry;
+
+    private Subscription(
+        final Long patientId, final String accessToken, final HistorySubscriber subscriber) {
+      this.patientId = patientId;
+      this.accessToken = accessToken;
+      this.subscriber = subscriber;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @Override
+    public void cancel() {
+      this.close(false);
+    }
+
+    private void offer(final MedicalRecord medicalRecord) {
+      if (this.closed.get()) {
+        return;
+      }
+
+      if (!this.buffer.offer(medicalRecord)) {
+        overflows.incrementAndGet();
+        log.warn(
+            "Closing history stream of patientId=[{}]: subscriber is {} records behind.",
+            this.patientId,
+            bufferSize);
+        this.close(true);
+        return;
+      }
+
+      this.scheduleDrain();
+    }
+
+    private void ping() {
+      if (!this.closed.get() && this.heartbeatDue.compareAndSet(false, true)) {
+        this.scheduleDrain();
+      }
+    }
+
+    private void scheduleDrain() {
+      if (!this.draining.compareAndSet(false, true)) {
+        return;
+      }
+
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        this.draining.set(false);
+        this.close(true);
+      }
+    }
+
+    private void drain() {
+      try {
+        MedicalRecord medicalRecord;
+
+        while (!this.closed.get() && (medicalRecord = this.buffer.poll()) != null) {
+          this.subscriber.onRecord(medicalRecord);
+        }
+
+        if (!this.closed.get() && this.heartbeatDue.getAndSet(false)) {
+          this.subscriber.onHeartbeat();
+        }
+      } catch (RuntimeException e) {
+        log.debug("History stream of patientId=[{}] failed.", this.patientId, e);
+        this.close(false);
+      } finally {
+        this.draining.set(false);
+      }
+
+      if (!this.closed.get() && (!this.buffer.isEmpty() || this.heartbeatDue.get())) {
+        this.scheduleDrain();
+      }
+    }
+
+    private void close(final boolean notify) {
+      if (!this.closed.compareAndSet(false, true)) {
+        return;
+      }
+
+      subscriptions.computeIfPresent(
+          this.patientId,
+          (id, subscribers) -> {
+            subscribers.remove(this);
+            return subscribers.isEmpty() ? null : subscribers;
+          });
+
+      if (this.expiry != null) {
+        this.expiry.cancel(false);
+      }
+
+      this.buffer.clear();
+
+      if (notify) {
+        try {
+          this.subscriber.onClose();
+        } catch (RuntimeException e) {
+          log.debug("History stream of patientId=[{}] failed on close.", this.patientId, e);
+        }
+      }
+    }
+  }
+}
@@ -9,10 +9,19 @@ import com.api.mysushistory.infra.gateway.exception.GatewayException;
 import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
 import com.api.mysushistory.infra.persistence.entity.PatientEntity;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
@@ -20,8 +29,14 @@ public class PatientGatewayImpl implements PatientGateway {
 
   private static final String SAVE_ERROR_MESSAGE = "Error saving patient with CPF=[%s].";
   private static final String FIND_ERROR_MESSAGE = "Patient with CPF=[%s] not found.";
+  private static final String FIND_BY_ID_ERROR_MESSAGE = "Error finding patient with ID=[%d].";
+  private static final String FIND_ALL_ERROR_MESSAGE = "Error finding [%d] patients by CPF.";
+  private static final String SAVE_ALL_ERROR_MESSAGE = "Error saving batch of [%d] patients.";
+  private static final String INSERT_PATIENT =
+      "insert into patients (cpf, name, birth_date, history_version) values (?, ?, ?, 0)";
 
   private final PatientRepository patientRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public Patient save(final Patient patient) {
@@ -52,6 +67,74 @@ public class PatientGatewayImpl implements PatientGateway {
     }
   }
 
+  @Override
+  public Optional<Patient> findSummaryByCpf(final String cpf) {
+    try {
+      return patientRepository
+          .findSummaryByCpf(cpf)
+          .map(it -> new Patient(it.id(), it.name(), it.cpf(), it.birthDate(), List.of()));
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ERROR_MESSAGE, cpf));
+    }
+  }
+
+  @Override
+  public Optional<Long> findIdByCpf(final String cpf) {
+    try {
+      return patientRepository.findIdByCpf(cpf);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ERROR_MESSAGE, cpf));
+    }
+  }
+
+  @Override
+  public boolean existsById(final Long id) {
+    try {
+      return patientRepository.existsById(id);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_BY_ID_ERROR_MESSAGE, id));
+    }
+  }
+
+  @Override
+  public Map<String, Long> findIdsByCpf(final Collection<String> cpfs) {
+    try {
+      return patientRepository.findByCpfIn(cpfs).stream()
+          .collect(Collectors.toMap(PatientEntity::getCpf, PatientEntity::getId));
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ALL_ERROR_MESSAGE, cpfs.size()));
+    }
+  }
+
+  @Override
+  public Set<String> findExistingCpfs(final Collection<String> cpfs) {
+    try {
+      return new HashSet<>(patientRepository.findCpfsByCpfIn(cpfs));
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ALL_ERROR_MESSAGE, cpfs.size()));
+    }
+  }
+
+  @Override
+  @Transactional
+  public int saveAll(final List<Patient> patients) {
+    try {
+      jdbcTemplate.batchUpdate(
+          INSERT_PATIENT,
+          patients,
+          patients.size(),
+          (statement, patient) -> {
+            statement.setString(1, patient.getCpf());
+            statement.setString(2, patient.getName());
+            statement.setDate(3, Date.valueOf(patient.getBirthDate()));
+          });
+
+      return patients.size();
+    } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+      throw new GatewayException(format(SAVE_ALL_ERROR_MESSAGE, patients.size()));
+    }
+  }
+
   private Patient toDomain(final PatientEntity entity) {
     return new Patient(
         entity.getId(),
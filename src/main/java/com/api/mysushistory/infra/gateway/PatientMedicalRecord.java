@@ -0,0 +1,5 @@
+package com.api.mysushistory.infra.gateway;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+
+public record PatientMedicalRecord(Long patientId, MedicalRecord medicalRecord) {}
@@ -0,0 +1,32 @@
+package com.api.mysushistory.infra.gateway;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RecordWatermark {
+
+  private final NavigableMap<Long, Integer> pending = new TreeMap<>();
+  private long highestId;
+
+  public synchronized long reserve() {
+    final var floor = this.highestId + 1;
+
+    this.pending.merge(floor, 1, Integer::sum);
+
+    return floor;
+  }
+
+  public synchronized void observe(final long id) {
+    this.highestId = Math.max(this.highestId, id);
+  }
+
+  public synchronized void release(final long floor) {
+    this.pending.computeIfPresent(floor, (key, count) -> count == 1 ? null : count - 1);
+  }
+
+  public synchronized long visibleBefore() {
+    return this.pending.isEmpty() ? Long.MAX_VALUE : this.pending.firstKey();
+  }
+}
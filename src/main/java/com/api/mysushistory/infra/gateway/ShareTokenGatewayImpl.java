@@ -5,23 +5,37 @@ import static java.lang.String.format;
 import com.api.mysushistory.core.domain.ShareToken;
 import com.api.mysushistory.core.gateway.ShareTokenGateway;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.gateway.filter.AccessTokenFilter;
+import com.api.mysushistory.infra.persistence.entity.PatientEntity;
 import com.api.mysushistory.infra.persistence.entity.ShareTokenEntity;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
 import com.api.mysushistory.infra.persistence.repository.ShareTokenRepository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
 public class ShareTokenGatewayImpl implements ShareTokenGateway {
 
   private static final String SAVE_ERROR_MESSAGE = "Error saving token for patient_id=[%s].";
+  private static final String SAVE_ALL_ERROR_MESSAGE = "Error saving [%d] share tokens.";
   private static final String PATIENT_NOT_FOUND = "Patient with ID=[%d] not found.";
+  private static final String INVALID_TOKEN_MESSAGE = "Token=[%s] is not a valid access token.";
   private static final String FIND_ERROR_MESSAGE = "Error finding token=[%s].";
+  private static final String FIND_BY_PATIENT_ERROR_MESSAGE =
+      "Error finding tokens for patient_id=[%s].";
+  private static final String DELETE_ERROR_MESSAGE = "Error deleting token=[%s].";
+  private static final String DELETE_EXPIRED_ERROR_MESSAGE =
+      "Error deleting share tokens expired before=[%s].";
 
   private final PatientRepository patientRepository;
   private final ShareTokenRepository shareTokenRepository;
+  private final AccessTokenFilter accessTokenFilter;
 
   @Override
   public ShareToken save(final ShareToken shareToken, final Long patientId) {
@@ -31,26 +45,50 @@ public class ShareTokenGatewayImpl implements ShareTokenGateway {
               .findById(patientId)
               .orElseThrow(() -> new GatewayException(format(PATIENT_NOT_FOUND, patientId)));
 
-      final var entity =
-          ShareTokenEntity.builder()
-              .accessToken(shareToken.getAccessToken())
-              .expiresInMinutes(shareToken.getExpiresInMinutes())
-              .createdAt(shareToken.getCreatedAt())
-              .patient(patient)
-              .build();
+      final var saved =
+          this.toDomain(shareTokenRepository.save(this.toEntity(shareToken, patient)));
 
-      final var saved = shareTokenRepository.save(entity);
+      accessTokenFilter.add(saved.getAccessToken());
 
-      return this.toDomain(saved);
+      return saved;
     } catch (IllegalArgumentException e) {
       throw new GatewayException(format(SAVE_ERROR_MESSAGE, patientId));
     }
   }
 
+  @Override
+  @Transactional
+  public List<ShareToken> saveAll(final List<ShareToken> shareTokens) {
+    try {
+      final var entities =
+          shareTokens.stream()
+              .map(it -> this.toEntity(it, patientRepository.getReferenceById(it.getPatientId())))
+              .toList();
+
+      final var saved =
+          shareTokenRepository.saveAll(entities).stream().map(this::toDomain).toList();
+
+      saved.forEach(it -> accessTokenFilter.add(it.getAccessToken()));
+
+      return saved;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(SAVE_ALL_ERROR_MESSAGE, shareTokens.size()));
+    }
+  }
+
   @Override
   public Optional<ShareToken> findByAccessToken(final String token) {
+    final var accessToken = AccessTokenCodec.toBinary(token);
+
+    if (accessToken.isEmpty()
+        || !accessTokenFilter.mightContain(AccessTokenCodec.toToken(accessToken.get()))) {
+      return Optional.empty();
+    }
+
     try {
-      final var entity = shareTokenRepository.findByAccessToken(token);
+      final var entity =
+          shareTokenRepository.findByAccessTokenAndExpiresAtAfter(
+              accessToken.get(), LocalDateTime.now());
 
       return entity.map(this::toDomain);
     } catch (IllegalArgumentException e) {
@@ -58,10 +96,92 @@ public class ShareTokenGatewayImpl implements ShareTokenGateway {
     }
   }
 
+  @Override
+  public Optional<ShareToken> findReusable(final Long patientId, final LocalDateTime minExpiresAt) {
+    try {
+      return shareTokenRepository
+          .findFirstByPatientIdAndExpiresAtGreaterThanEqualOrderByExpiresAtDesc(
+              patientId, minExpiresAt)
+          .map(this::toDomain);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_BY_PATIENT_ERROR_MESSAGE, patientId));
+    }
+  }
+
+  @Override
+  @Transactional
+  public Optional<ShareToken> saveWithinLimit(
+      final ShareToken shareToken, final Long patientId, final int maxActive) {
+    try {
+      final var patient =
+          patientRepository
+              .findForUpdateById(patientId)
+              .orElseThrow(() -> new GatewayException(format(PATIENT_NOT_FOUND, patientId)));
+
+      if (shareTokenRepository.countByPatientIdAndExpiresAtAfter(
+              patientId, shareToken.getCreatedAt())
+          >= maxActive) {
+        return Optional.empty();
+      }
+
+      final var saved =
+          this.toDomain(shareTokenRepository.save(this.toEntity(shareToken, patient)));
+
+      accessTokenFilter.add(saved.getAccessToken());
+
+      return Optional.of(saved);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(SAVE_ERROR_MESSAGE, patientId));
+    }
+  }
+
+  @Override
+  @Transactional
+  public void deleteByAccessToken(final String token) {
+    try {
+      AccessTokenCodec.toBinary(token).ifPresent(shareTokenRepository::deleteByAccessToken);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(DELETE_ERROR_MESSAGE, token));
+    }
+  }
+
+  @Override
+  @Transactional
+  public int deleteExpired(final LocalDateTime now, final int batchSize) {
+    try {
+      final var ids = shareTokenRepository.findExpiredIds(now, Limit.of(batchSize));
+
+      if (ids.isEmpty()) {
+        return 0;
+      }
+
+      return shareTokenRepository.deleteByIdIn(ids);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(DELETE_EXPIRED_ERROR_MESSAGE, now));
+    }
+  }
+
+  private ShareTokenEntity toEntity(final ShareToken shareToken, final PatientEntity patient) {
+    final var accessToken =
+        AccessTokenCodec.toBinary(shareToken.getAccessToken())
+            .orElseThrow(
+                () ->
+                    new GatewayException(
+                        format(INVALID_TOKEN_MESSAGE, shareToken.getAccessToken())));
+
+    return ShareTokenEntity.builder()
+        .accessToken(accessToken)
+        .expiresInMinutes(shareToken.getExpiresInMinutes())
+        .createdAt(shareToken.getCreatedAt())
+        .expiresAt(shareToken.getExpiresAt())
+        .patient(patient)
+        .build();
+  }
+
   private ShareToken toDomain(final ShareTokenEntity entity) {
     return new ShareToken(
         entity.getId(),
-        entity.getAccessToken(),
+        AccessTokenCodec.toToken(entity.getAccessToken()),
         entity.getExpiresInMinutes(),
         entity.getCreatedAt(),
         entity.getPatient().getId());
@@ -0,0 +1,211 @@
+package com.api.mysushistory.infra.gateway;
+
+import static java.lang.String.format;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.infra.config.ShareTokenSigningProperties;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.persistence.entity.RevokedShareTokenEntity;
+import com.api.mysushistory.infra.persistence.repository.RevokedShareTokenRepository;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+public class SignedTokenGatewayImpl implements SignedTokenGateway {
+
+  private static final String PREFIX = "st.";
+  private static final String SEPARATOR = ".";
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final String EPHEMERAL_KEY_ID = "ephemeral";
+  private static final int PAYLOAD_LENGTH = 28;
+  private static final int SIGNATURE_LENGTH = 16;
+  private static final int NONCE_LENGTH = 8;
+  private static final String ACTIVE_KEY_NOT_FOUND =
+      "Active signing key id=[%s] is not configured.";
+  private static final String REVOKE_ERROR_MESSAGE = "Error revoking token id=[%s].";
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final RevokedShareTokenRepository revokedShareTokenRepository;
+  private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+  private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+  private final SecureRandom random = new SecureRandom();
+  private final ZoneId zone = ZoneId.systemDefault();
+  private final String activeKeyId;
+
+  public SignedTokenGatewayImpl(
+      final RevokedShareTokenRepository revokedShareTokenRepository,
+      final ShareTokenSigningProperties properties) {
+    this.revokedShareTokenRepository = revokedShareTokenRepository;
+
+    final var keys = new HashMap<String, byte[]>();
+    properties.keys().forEach((id, secret) -> keys.put(id, Base64.getDecoder().decode(secret)));
+
+    if (keys.isEmpty()) {
+      log.warn("No share token signing keys configured, signed tokens will not survive restarts.");
+      final var secret = new byte[32];
+      this.random.nextBytes(secret);
+      keys.put(EPHEMERAL_KEY_ID, secret);
+    }
+
+    this.activeKeyId =
+        properties.activeKeyId() == null && keys.size() == 1
+            ? keys.keySet().iterator().next()
+            : properties.activeKeyId();
+
+    if (!keys.containsKey(this.activeKeyId)) {
+      throw new IllegalStateException(format(ACTIVE_KEY_NOT_FOUND, this.activeKeyId));
+    }
+
+    keys.forEach((id, secret) -> this.macs.put(id, ThreadLocal.withInitial(() -> newMac(secret))));
+  }
+
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadRevocations() {
+    final var now = LocalDateTime.now();
+
+    this.revokedShareTokenRepository.deleteExpired(now);
+    this.revokedShareTokenRepository
+        .findByExpiresAtAfter(now)
+        .forEach(it -> this.revoked.put(it.getTokenId(), it.getExpiresAt()));
+  }
+
+  @Override
+  public ShareToken issue(
+      final Long patientId, final Integer expiresInMinutes, final LocalDateTime now) {
+    final var createdAt = now.truncatedTo(ChronoUnit.SECONDS);
+    final var nonce = new byte[NONCE_LENGTH];
+    this.random.nextBytes(nonce);
+
+    final var payload =
+        ByteBuffer.allocate(PAYLOAD_LENGTH)
+            .putLong(patientId)
+            .putLong(createdAt.atZone(this.zone).toEpochSecond())
+            .putInt(expiresInMinutes)
+            .put(nonce)
+            .array();
+
+    final var signed = PREFIX + this.activeKeyId + SEPARATOR + ENCODER.encodeToString(payload);
+    final var token =
+        signed + SEPARATOR + ENCODER.encodeToString(this.sign(this.activeKeyId, signed));
+
+    return ShareToken.createShareToken(token, expiresInMinutes, createdAt, patientId);
+  }
+
+  @Override
+  public boolean isSigned(final String token) {
+    return token != null && token.startsWith(PREFIX);
+  }
+
+  @Override
+  public Optional<ShareToken> verify(final String token) {
+    return this.decode(token)
+        .filter(payload -> !this.revoked.containsKey(tokenId(payload)))
+        .map(
+            payload -> {
+              final var buffer = ByteBuffer.wrap(payload);
+              final var patientId = buffer.getLong();
+              final var createdAt =
+                  LocalDateTime.ofInstant(Instant.ofEpochSecond(buffer.getLong()), this.zone);
+              final var expiresInMinutes = buffer.getInt();
+
+              return new ShareToken(null, token, expiresInMinutes, createdAt, patientId);
+            });
+  }
+
+  @Override
+  public void revoke(final ShareToken shareToken) {
+    final var payload = this.decode(shareToken.getAccessToken()).orElseThrow();
+    final var tokenId = tokenId(payload);
+
+    try {
+      if (!this.revokedShareTokenRepository.existsByTokenId(tokenId)) {
+        this.revokedShareTokenRepository.save(
+            RevokedShareTokenEntity.builder()
+                .tokenId(tokenId)
+                .expiresAt(shareToken.getExpiresAt())
+                .build());
+      }
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(REVOKE_ERROR_MESSAGE, tokenId));
+    }
+
+    final var now = LocalDateTime.now();
+    this.revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    this.revoked.put(tokenId, shareToken.getExpiresAt());
+  }
+
+  private Optional<byte[]> decode(final String token) {
+    if (!this.isSigned(token)) {
+      return Optional.empty();
+    }
+
+    final var parts = token.substring(PREFIX.length()).split("\\" + SEPARATOR);
+
+    if (parts.length != 3 || !this.macs.containsKey(parts[0])) {
+      return Optional.empty();
+    }
+
+    try {
+      final var payload = DECODER.decode(parts[1]);
+      final var signature = DECODER.decode(parts[2]);
+      final var signed = token.substring(0, token.lastIndexOf(SEPARATOR));
+
+      if (payload.length != PAYLOAD_LENGTH
+          || !MessageDigest.isEqual(signature, this.sign(parts[0], signed))) {
+        return Optional.empty();
+      }
+
+      return Optional.of(payload);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(final String keyId, final String value) {
+    final var digest =
+        this.macs.get(keyId).get().doFinal(value.getBytes(StandardCharsets.US_ASCII));
+
+    return Arrays.copyOf(digest, SIGNATURE_LENGTH);
+  }
+
+  private static String tokenId(final byte[] payload) {
+    return ENCODER.encodeToString(
+        Arrays.copyOfRange(payload, PAYLOAD_LENGTH - NONCE_LENGTH, PAYLOAD_LENGTH));
+  }
+
+  private static Mac newMac(final byte[] secret) {
+    try {
+      final var mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -12,4 +12,9 @@ public class GatewayException extends RuntimeException {
     super(message);
     this.code = DEFAULT_CODE;
   }
+
+  protected GatewayException(final String message, final String code) {
+    super(message);
+    this.code = code;
+  }
 }
@@ -0,0 +1,11 @@
+package com.api.mysushistory.infra.gateway.exception;
+
+public class SearchIndexLoadingException extends GatewayException {
+
+  private static final String ERROR_CODE = "search_index_loading";
+  private static final String MESSAGE = "Medical record search index is still loading.";
+
+  public SearchIndexLoadingException() {
+    super(MESSAGE, ERROR_CODE);
+  }
+}
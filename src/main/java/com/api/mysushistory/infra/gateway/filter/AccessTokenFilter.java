@@ -0,0 +1,71 @@
+package com.api.mysushistory.infra.gateway.filter;
+
+import com.api.mysushistory.infra.gateway.AccessTokenCodec;
+import com.api.mysushistory.infra.persistence.repository.ShareTokenRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+public class AccessTokenFilter {
+
+  private final ShareTokenRepository shareTokenRepository;
+  private final BloomFilter filter;
+  private final boolean enabled;
+  private final long expectedInsertions;
+  private final AtomicLong insertions = new AtomicLong();
+  private volatile boolean ready;
+
+  public AccessTokenFilter(
+      final ShareTokenRepository shareTokenRepository,
+      @Value("${mysushistory.share-token.filter.enabled:true}") final boolean enabled,
+      @Value("${mysushistory.share-token.filter.expected-insertions:1000000}")
+          final long expectedInsertions,
+      @Value("${mysushistory.share-token.filter.false-positive-probability:0.01}")
+          final double falsePositiveProbability) {
+    this.shareTokenRepository = shareTokenRepository;
+    this.enabled = enabled;
+    this.expectedInsertions = expectedInsertions;
+    this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+  }
+
+  @Transactional(readOnly = true)
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    if (!this.enabled) {
+      return;
+    }
+
+    final var start = System.nanoTime();
+
+    try (final var tokens = this.shareTokenRepository.streamAllAccessTokens()) {
+      tokens.map(AccessTokenCodec::toToken).forEach(this::add);
+    }
+
+    this.ready = true;
+
+    log.info(
+        "Access token filter loaded with {} tokens in {} ms.",
+        this.insertions.get(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  public void add(final String token) {
+    this.filter.put(token);
+
+    if (this.insertions.incrementAndGet() == this.expectedInsertions + 1) {
+      log.warn(
+          "Access token filter exceeded {} expected insertions, false positives will increase.",
+          this.expectedInsertions);
+    }
+  }
+
+  public boolean mightContain(final String token) {
+    return !this.enabled || !this.ready || this.filter.mightContain(token);
+  }
+}
@@ -0,0 +1,85 @@
+package com.api.mysushistory.infra.gateway.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitSize;
+  private final int hashFunctions;
+
+  public BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+    final var insertions = Math.max(1L, expectedInsertions);
+    final var optimalBits =
+        (long)
+            Math.ceil(
+                -insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+
+    this.bits = new AtomicLongArray((int) Math.max(1L, (optimalBits + 63) / 64));
+    this.bitSize = (long) this.bits.length() * 64;
+    this.hashFunctions =
+        Math.max(1, (int) Math.round((double) this.bitSize / insertions * Math.log(2)));
+  }
+
+  public void put(final String value) {
+    final var hash1 = hash(value);
+    final var hash2 = mix(hash1);
+
+    for (int i = 0; i < this.hashFunctions; i++) {
+      this.setBit(Math.floorMod(hash1 + i * hash2, this.bitSize));
+    }
+  }
+
+  public boolean mightContain(final String value) {
+    final var hash1 = hash(value);
+    final var hash2 = mix(hash1);
+
+    for (int i = 0; i < this.hashFunctions; i++) {
+      if (!this.getBit(Math.floorMod(hash1 + i * hash2, this.bitSize))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void setBit(final long index) {
+    final var word = (int) (index >>> 6);
+    final var mask = 1L << index;
+
+    long current;
+    do {
+      current = this.bits.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!this.bits.compareAndSet(word, current, current | mask));
+  }
+
+  private boolean getBit(final long index) {
+    return (this.bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+  }
+
+  private static long hash(final String value) {
+    var hash = FNV_OFFSET_BASIS;
+
+    for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= FNV_PRIME;
+    }
+
+    return hash;
+  }
+
+  private static long mix(final long value) {
+    var z = value + 0x9e3779b97f4a7c15L;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+    return (z ^ (z >>> 31)) | 1L;
+  }
+}
@@ -0,0 +1,129 @@
+package com.api.mysushistory.infra.gateway.search;
+
+import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MedicalRecordIndex {
+
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private final MedicalRecordRepository recordRepository;
+  private final Map<Long, PatientIndex> patients = new ConcurrentHashMap<>();
+  private final AtomicLong records = new AtomicLong();
+  private volatile boolean ready;
+
+  @Transactional(readOnly = true)
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    final var start = System.nanoTime();
+
+    try (final var texts = this.recordRepository.streamAllTexts()) {
+      texts.forEach(
+          it -> this.add(it.patientId(), it.id(), it.diagnosis(), it.treatment(), it.notes()));
+    }
+
+    this.ready = true;
+
+    log.info(
+        "Medical record index loaded with {} records in {} ms.",
+        this.records.get(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  public void add(final Long patientId, final Long recordId, final String... texts) {
+    final var terms = Stream.of(texts).flatMap(it -> TextAnalyzer.terms(it).stream()).toList();
+
+    if (this.patients.computeIfAbsent(patientId, it -> new PatientIndex()).add(recordId, terms)) {
+      this.records.incrementAndGet();
+    }
+  }
+
+  public List<Long> search(final Long patientId, final String query) {
+    final var index = this.patients.get(patientId);
+    final var terms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+
+    if (index == null || terms.isEmpty()) {
+      return List.of();
+    }
+
+    return index.search(terms);
+  }
+
+  public boolean isReady() {
+    return this.ready;
+  }
+
+  public long getRecords() {
+    return this.records.get();
+  }
+
+  private static final class PatientIndex {
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    synchronized boolean add(final Long recordId, final List<String> terms) {
+      if (this.lengths.putIfAbsent(recordId, terms.size()) != null) {
+        return false;
+      }
+
+      this.totalLength += terms.size();
+      terms.forEach(
+          term ->
+              this.postings
+                  .computeIfAbsent(term, it -> new HashMap<>())
+                  .merge(recordId, 1, Integer::sum));
+
+      return true;
+    }
+
+    synchronized List<Long> search(final Iterable<String> terms) {
+      final var documents = this.lengths.size();
+      final var averageLength = (double) this.totalLength / documents;
+      final var scores = new HashMap<Long, Double>();
+
+      for (final var term : terms) {
+        final var matches = this.postings.get(term);
+
+        if (matches == null) {
+          continue;
+        }
+
+        final var idf = Math.log(1 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+
+        matches.forEach(
+            (recordId, frequency) -> {
+              final var norm = K1 * (1 - B + B * this.lengths.get(recordId) / averageLength);
+
+              scores.merge(recordId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+            });
+      }
+
+      return scores.entrySet().stream()
+          .sorted(
+              Map.Entry.<Long, Double>comparingByValue()
+                  .reversed()
+                  .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+          .map(Map.Entry::getKey)
+          .toList();
+    }
+  }
+}
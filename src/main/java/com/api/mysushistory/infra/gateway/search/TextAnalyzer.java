@@ -0,0 +1,40 @@
+package com.api.mysushistory.infra.gateway.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextAnalyzer {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+  private static final int MINIMUM_LENGTH = 2;
+  private static final Set<String> STOP_WORDS =
+      Set.of(
+          "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos", "em",
+          "na", "no", "nas", "nos", "e", "ou", "com", "por", "para", "pra", "pelo", "pela", "pelos",
+          "pelas", "ao", "aos", "que", "se", "ser", "foi", "esta", "este", "essa", "esse", "isso",
+          "mais", "muito", "ja", "sua", "seu", "suas", "seus");
+
+  private TextAnalyzer() {}
+
+  public static List<String> terms(final String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+
+    final var folded =
+        MARKS
+            .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+
+    return Arrays.stream(SEPARATORS.split(folded))
+        .filter(it -> it.length() >= MINIMUM_LENGTH)
+        .filter(it -> !STOP_WORDS.contains(it))
+        .toList();
+  }
+}
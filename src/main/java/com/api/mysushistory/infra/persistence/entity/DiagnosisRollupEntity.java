@@ -0,0 +1,34 @@
+package com.api.mysushistory.infra.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+@Entity
+@IdClass(DiagnosisRollupId.class)
+@Table(
+    name = "diagnosis_rollups",
+    indexes =
+        @Index(name = "idx_diagnosis_rollups_date", columnList = "date, unit, diagnosis, total"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiagnosisRollupEntity {
+
+  @Id
+  @Column(name = "unit", nullable = false)
+  private String unit;
+
+  @Id
+  @Column(name = "date", nullable = false)
+  private LocalDate date;
+
+  @Id
+  @Column(name = "diagnosis", nullable = false)
+  private String diagnosis;
+
+  @Column(name = "total", nullable = false)
+  private long total;
+}
@@ -0,0 +1,15 @@
+package com.api.mysushistory.infra.persistence.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiagnosisRollupId implements Serializable {
+
+  private String unit;
+  private LocalDate date;
+  private String diagnosis;
+}
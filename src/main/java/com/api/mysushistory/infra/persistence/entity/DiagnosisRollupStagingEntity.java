@@ -0,0 +1,31 @@
+package com.api.mysushistory.infra.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+@Entity
+@IdClass(DiagnosisRollupId.class)
+@Table(name = "diagnosis_rollups_staging")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiagnosisRollupStagingEntity {
+
+  @Id
+  @Column(name = "unit", nullable = false)
+  private String unit;
+
+  @Id
+  @Column(name = "date", nullable = false)
+  private LocalDate date;
+
+  @Id
+  @Column(name = "diagnosis", nullable = false)
+  private String diagnosis;
+
+  @Column(name = "total", nullable = false)
+  private long total;
+}
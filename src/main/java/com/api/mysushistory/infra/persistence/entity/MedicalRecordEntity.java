@@ -5,7 +5,13 @@ import java.time.LocalDateTime;
 import lombok.*;
 
 @Entity
-@Table(name = "medical_records")
+@Table(
+    name = "medical_records",
+    indexes = {
+      @Index(name = "idx_medical_records_patient_date_id", columnList = "patient_id, date, id"),
+      @Index(name = "idx_medical_records_patient_id_id", columnList = "patient_id, id"),
+      @Index(name = "idx_medical_records_unit_id", columnList = "unit, id")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +20,11 @@ import lombok.*;
 public class MedicalRecordEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_records_seq")
+  @SequenceGenerator(
+      name = "medical_records_seq",
+      sequenceName = "medical_records_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(name = "date", nullable = false)
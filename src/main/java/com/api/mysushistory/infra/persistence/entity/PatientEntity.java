@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "patients")
@@ -28,6 +29,10 @@ public class PatientEntity {
   @Column(name = "birth_date", nullable = false)
   private LocalDate birthDate;
 
+  @ColumnDefault("0")
+  @Column(name = "history_version", nullable = false)
+  private long historyVersion;
+
   @Builder.Default
   @OneToMany(
       mappedBy = "patient",
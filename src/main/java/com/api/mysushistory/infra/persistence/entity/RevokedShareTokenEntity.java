@@ -0,0 +1,25 @@
+package com.api.mysushistory.infra.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+@Entity
+@Table(name = "revoked_share_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedShareTokenEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "token_id", nullable = false, unique = true, length = 16)
+  private String tokenId;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -5,7 +5,14 @@ import java.time.LocalDateTime;
 import lombok.*;
 
 @Entity
-@Table(name = "share_tokens")
+@Table(
+    name = "share_tokens",
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_share_tokens_access_token", columnNames = "access_token"),
+    indexes = {
+      @Index(name = "idx_share_tokens_expires_at", columnList = "expires_at"),
+      @Index(name = "idx_share_tokens_patient_expires_at", columnList = "patient_id, expires_at")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,11 +21,15 @@ import lombok.*;
 public class ShareTokenEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "share_tokens_seq")
+  @SequenceGenerator(
+      name = "share_tokens_seq",
+      sequenceName = "share_tokens_seq",
+      allocationSize = 50)
   private Long id;
 
-  @Column(name = "access_token", nullable = false, unique = true, length = 50)
-  private String accessToken;
+  @Column(name = "access_token", nullable = false, columnDefinition = "binary(16)")
+  private byte[] accessToken;
 
   @Column(name = "expires_in_minutes", nullable = false)
   private Integer expiresInMinutes;
@@ -26,6 +37,9 @@ public class ShareTokenEntity {
   @Column(name = "created_at", nullable = false)
   private LocalDateTime createdAt;
 
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "patient_id", nullable = false)
   private PatientEntity patient;
@@ -0,0 +1,5 @@
+package com.api.mysushistory.infra.persistence.projection;
+
+import java.time.LocalDate;
+
+public record DiagnosisCountView(String unit, LocalDate date, String diagnosis, long total) {}
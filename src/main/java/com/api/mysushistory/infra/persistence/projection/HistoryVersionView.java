@@ -0,0 +1,3 @@
+package com.api.mysushistory.infra.persistence.projection;
+
+public record HistoryVersionView(Long patientId, long version) {}
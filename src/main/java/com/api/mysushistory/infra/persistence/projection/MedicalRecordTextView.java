@@ -0,0 +1,4 @@
+package com.api.mysushistory.infra.persistence.projection;
+
+public record MedicalRecordTextView(
+    Long id, Long patientId, String diagnosis, String treatment, String notes) {}
@@ -0,0 +1,12 @@
+package com.api.mysushistory.infra.persistence.projection;
+
+import java.time.LocalDateTime;
+
+public record MedicalRecordView(
+    Long id,
+    LocalDateTime date,
+    String unit,
+    String professionalName,
+    String diagnosis,
+    String treatment,
+    String notes) {}
@@ -0,0 +1,5 @@
+package com.api.mysushistory.infra.persistence.projection;
+
+import java.time.LocalDate;
+
+public record PatientSummaryView(Long id, String name, String cpf, LocalDate birthDate) {}
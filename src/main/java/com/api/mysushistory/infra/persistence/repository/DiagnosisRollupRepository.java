@@ -0,0 +1,36 @@
+package com.api.mysushistory.infra.persistence.repository;
+
+import com.api.mysushistory.infra.persistence.entity.DiagnosisRollupEntity;
+import com.api.mysushistory.infra.persistence.entity.DiagnosisRollupId;
+import com.api.mysushistory.infra.persistence.projection.DiagnosisCountView;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DiagnosisRollupRepository
+    extends JpaRepository<DiagnosisRollupEntity, DiagnosisRollupId> {
+
+  String SELECT_VIEW =
+      "select new com.api.mysushistory.infra.persistence.projection.DiagnosisCountView("
+          + "r.unit, r.date, r.diagnosis, r.total)"
+          + " from DiagnosisRollupEntity r where r.date >= :from and r.date <= :to";
+
+  String ORDER_BY_DAY = " order by r.date, r.unit, r.diagnosis";
+
+  @Query(SELECT_VIEW + ORDER_BY_DAY)
+  List<DiagnosisCountView> findCounts(
+      @Param("from") final LocalDate from, @Param("to") final LocalDate to);
+
+  @Query(SELECT_VIEW + " and r.unit = :unit" + ORDER_BY_DAY)
+  List<DiagnosisCountView> findCountsByUnit(
+      @Param("from") final LocalDate from,
+      @Param("to") final LocalDate to,
+      @Param("unit") final String unit);
+
+  @Modifying
+  @Query("delete from DiagnosisRollupEntity r where r.date < :cutoff")
+  int deleteBefore(@Param("cutoff") final LocalDate cutoff);
+}
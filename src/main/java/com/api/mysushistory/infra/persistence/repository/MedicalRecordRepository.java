@@ -1,12 +1,126 @@
 package com.api.mysushistory.infra.persistence.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
+import com.api.mysushistory.infra.persistence.projection.DiagnosisCountView;
+import com.api.mysushistory.infra.persistence.projection.MedicalRecordTextView;
+import com.api.mysushistory.infra.persistence.projection.MedicalRecordView;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecordEntity, Long> {
 
-  List<MedicalRecordEntity> findByPatientCpf(final String patientCpf);
+  String SELECT_VIEW =
+      "select new com.api.mysushistory.infra.persistence.projection.MedicalRecordView("
+          + "m.id, m.date, m.unit, m.professionalName, m.diagnosis, m.treatment, m.notes)"
+          + " from MedicalRecordEntity m where m.patient.id = :patientId";
+
+  String SELECT_PATIENT_VIEW =
+      "select new com.api.mysushistory.infra.persistence.projection.MedicalRecordView("
+          + "m.id, m.date, m.unit, m.professionalName, m.diagnosis, m.treatment, m.notes)"
+          + " from PatientEntity p left join p.medicalRecords m";
+
+  String SELECT_TEXT_VIEW =
+      "select new com.api.mysushistory.infra.persistence.projection.MedicalRecordTextView("
+          + "m.id, m.patient.id, m.diagnosis, m.treatment, m.notes)"
+          + " from MedicalRecordEntity m";
+
+  String SELECT_FEED_VIEW =
+      "select new com.api.mysushistory.infra.persistence.projection.MedicalRecordView("
+          + "m.id, m.date, m.unit, m.professionalName, m.diagnosis, m.treatment, m.notes)"
+          + " from MedicalRecordEntity m where m.id > :after and m.id < :before";
+
+  String IN_PERIOD = " m.date >= :from and m.date < :to";
+
+  String BEFORE_CURSOR = " (m.date < :date or (m.date = :date and m.id < :id))";
+
+  String ORDER_BY_NEWEST = " order by m.date desc, m.id desc";
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  @Query(SELECT_VIEW + ORDER_BY_NEWEST)
+  Stream<MedicalRecordView> streamByPatientId(@Param("patientId") final Long patientId);
+
+  @Query("select max(m.id) from MedicalRecordEntity m")
+  Long findMaxId();
+
+  @Query(
+      "select new com.api.mysushistory.infra.persistence.projection.DiagnosisCountView("
+          + "m.unit, cast(m.date as LocalDate), m.diagnosis, count(m))"
+          + " from MedicalRecordEntity m"
+          + " where m.id > :after and m.id <= :until and m.date < :cutoff"
+          + " group by m.unit, cast(m.date as LocalDate), m.diagnosis")
+  List<DiagnosisCountView> countDiagnoses(
+      @Param("after") final Long after,
+      @Param("until") final Long until,
+      @Param("cutoff") final LocalDateTime cutoff);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  @Query(SELECT_TEXT_VIEW)
+  Stream<MedicalRecordTextView> streamAllTexts();
+
+  @Query(SELECT_VIEW + " and m.id in :ids")
+  List<MedicalRecordView> findAllByPatientIdAndIdIn(
+      @Param("patientId") final Long patientId, @Param("ids") final Collection<Long> ids);
+
+  @Query(SELECT_FEED_VIEW + " and m.patient.id = :patientId order by m.id")
+  List<MedicalRecordView> findFeedByPatientId(
+      @Param("patientId") final Long patientId,
+      @Param("after") final long after,
+      @Param("before") final long before,
+      final Limit limit);
+
+  @Query(SELECT_FEED_VIEW + " and m.unit = :unit order by m.id")
+  List<MedicalRecordView> findFeedByUnit(
+      @Param("unit") final String unit,
+      @Param("after") final long after,
+      @Param("before") final long before,
+      final Limit limit);
+
+  @Query(SELECT_VIEW + " and" + IN_PERIOD + ORDER_BY_NEWEST)
+  List<MedicalRecordView> findPageByPatientId(
+      @Param("patientId") final Long patientId,
+      @Param("from") final LocalDateTime from,
+      @Param("to") final LocalDateTime to,
+      final Limit limit);
+
+  @Query(SELECT_VIEW + " and" + IN_PERIOD + " and" + BEFORE_CURSOR + ORDER_BY_NEWEST)
+  List<MedicalRecordView> findPageByPatientIdBefore(
+      @Param("patientId") final Long patientId,
+      @Param("from") final LocalDateTime from,
+      @Param("to") final LocalDateTime to,
+      @Param("date") final LocalDateTime date,
+      @Param("id") final Long id,
+      final Limit limit);
+
+  @Query(SELECT_PATIENT_VIEW + " on" + IN_PERIOD + " where p.cpf = :cpf" + ORDER_BY_NEWEST)
+  List<MedicalRecordView> findPageByPatientCpf(
+      @Param("cpf") final String cpf,
+      @Param("from") final LocalDateTime from,
+      @Param("to") final LocalDateTime to,
+      final Limit limit);
 
-  List<MedicalRecordEntity> findByPatientId(final Long patientId);
+  @Query(
+      SELECT_PATIENT_VIEW
+          + " on"
+          + IN_PERIOD
+          + " and"
+          + BEFORE_CURSOR
+          + " where p.cpf = :cpf"
+          + ORDER_BY_NEWEST)
+  List<MedicalRecordView> findPageByPatientCpfBefore(
+      @Param("cpf") final String cpf,
+      @Param("from") final LocalDateTime from,
+      @Param("to") final LocalDateTime to,
+      @Param("date") final LocalDateTime date,
+      @Param("id") final Long id,
+      final Limit limit);
 }
@@ -1,10 +1,50 @@
 package com.api.mysushistory.infra.persistence.repository;
 
 import com.api.mysushistory.infra.persistence.entity.PatientEntity;
+import com.api.mysushistory.infra.persistence.projection.HistoryVersionView;
+import com.api.mysushistory.infra.persistence.projection.PatientSummaryView;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PatientRepository extends JpaRepository<PatientEntity, Long> {
 
   Optional<PatientEntity> findByCpf(final String cpf);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select p from PatientEntity p where p.id = :id")
+  Optional<PatientEntity> findForUpdateById(@Param("id") final Long id);
+
+  @Query(
+      "select new com.api.mysushistory.infra.persistence.projection.PatientSummaryView("
+          + "p.id, p.name, p.cpf, p.birthDate) from PatientEntity p where p.cpf = :cpf")
+  Optional<PatientSummaryView> findSummaryByCpf(@Param("cpf") final String cpf);
+
+  @Query("select p.id from PatientEntity p where p.cpf = :cpf")
+  Optional<Long> findIdByCpf(@Param("cpf") final String cpf);
+
+  List<PatientEntity> findByCpfIn(final Collection<String> cpfs);
+
+  @Query("select p.cpf from PatientEntity p where p.cpf in :cpfs")
+  List<String> findCpfsByCpfIn(@Param("cpfs") final Collection<String> cpfs);
+
+  @Query(
+      "select new com.api.mysushistory.infra.persistence.projection.HistoryVersionView("
+          + "p.id, p.historyVersion) from PatientEntity p where p.id = :id")
+  Optional<HistoryVersionView> findHistoryVersionById(@Param("id") final Long id);
+
+  @Query(
+      "select new com.api.mysushistory.infra.persistence.projection.HistoryVersionView("
+          + "p.id, p.historyVersion) from PatientEntity p where p.cpf = :cpf")
+  Optional<HistoryVersionView> findHistoryVersionByCpf(@Param("cpf") final String cpf);
+
+  @Modifying
+  @Query("update PatientEntity p set p.historyVersion = p.historyVersion + 1 where p.id = :id")
+  int incrementHistoryVersion(@Param("id") final Long id);
 }
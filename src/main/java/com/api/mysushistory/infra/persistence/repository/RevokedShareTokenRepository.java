@@ -0,0 +1,20 @@
+package com.api.mysushistory.infra.persistence.repository;
+
+import com.api.mysushistory.infra.persistence.entity.RevokedShareTokenEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RevokedShareTokenRepository extends JpaRepository<RevokedShareTokenEntity, Long> {
+
+  List<RevokedShareTokenEntity> findByExpiresAtAfter(final LocalDateTime now);
+
+  boolean existsByTokenId(final String tokenId);
+
+  @Modifying
+  @Query("delete from RevokedShareTokenEntity r where r.expiresAt < :now")
+  int deleteExpired(@Param("now") final LocalDateTime now);
+}
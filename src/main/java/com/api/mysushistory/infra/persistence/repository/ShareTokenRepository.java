@@ -1,10 +1,40 @@
 package com.api.mysushistory.infra.persistence.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 import com.api.mysushistory.infra.persistence.entity.ShareTokenEntity;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ShareTokenRepository extends JpaRepository<ShareTokenEntity, Long> {
 
-  Optional<ShareTokenEntity> findByAccessToken(final String token);
+  Optional<ShareTokenEntity> findByAccessTokenAndExpiresAtAfter(
+      final byte[] token, final LocalDateTime now);
+
+  Optional<ShareTokenEntity> findFirstByPatientIdAndExpiresAtGreaterThanEqualOrderByExpiresAtDesc(
+      final Long patientId, final LocalDateTime minExpiresAt);
+
+  long countByPatientIdAndExpiresAtAfter(final Long patientId, final LocalDateTime now);
+
+  void deleteByAccessToken(final byte[] token);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("select s.accessToken from ShareTokenEntity s")
+  Stream<byte[]> streamAllAccessTokens();
+
+  @Query("select s.id from ShareTokenEntity s where s.expiresAt < :now order by s.expiresAt")
+  List<Long> findExpiredIds(@Param("now") final LocalDateTime now, final Limit limit);
+
+  @Modifying
+  @Query("delete from ShareTokenEntity s where s.id in :ids")
+  int deleteByIdIn(@Param("ids") final List<Long> ids);
 }
@@ -0,0 +1,108 @@
+package com.api.mysushistory.presenter;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.presenter.response.MedicalRecordPagePresenterResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CompressedHistoryCache {
+
+  public static final String GZIP = "gzip";
+
+  private final ObjectMapper objectMapper;
+  private final Cache<Key, byte[]> pages;
+
+  public CompressedHistoryCache(
+      final ObjectMapper objectMapper,
+      @Value("${mysushistory.history.response-cache.maximum-bytes:33554432}")
+          final long maximumBytes) {
+    this.objectMapper = objectMapper;
+    this.pages =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .<Key, byte[]>weigher((key, bytes) -> bytes.length)
+            .recordStats()
+            .build();
+  }
+
+  public byte[] gzip(final Key key, final Supplier<MedicalRecordPagePresenterResponse> page) {
+    return this.pages.get(key, it -> this.compress(page.get()));
+  }
+
+  public static boolean acceptsGzip(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    Boolean wildcard = null;
+
+    for (final var coding : acceptEncoding.split(",")) {
+      final var parts = coding.split(";");
+      final var name = parts[0].trim();
+      final var accepted = parts.length == 1 || !isZeroQuality(parts[1]);
+
+      if (name.equalsIgnoreCase(GZIP)) {
+        return accepted;
+      }
+
+      if (name.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+
+    return Boolean.TRUE.equals(wildcard);
+  }
+
+  public double getHitRatio() {
+    return this.pages.stats().hitRate();
+  }
+
+  public long getSize() {
+    return this.pages.estimatedSize();
+  }
+
+  public long getCachedBytes() {
+    this.pages.cleanUp();
+
+    return this.pages.policy().eviction().map(it -> it.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  private byte[] compress(final MedicalRecordPagePresenterResponse page) {
+    final var bytes = new ByteArrayOutputStream();
+
+    try (final var gzip = new GZIPOutputStream(bytes)) {
+      this.objectMapper.writeValue(gzip, page);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private static boolean isZeroQuality(final String parameter) {
+    final var value = parameter.trim();
+
+    if (!value.startsWith("q=")) {
+      return false;
+    }
+
+    try {
+      return Double.parseDouble(value.substring(2)) == 0;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  public record Key(
+      HistoryVersion version, LocalDate from, LocalDate to, String cursor, int limit) {}
+}
@@ -0,0 +1,24 @@
+package com.api.mysushistory.presenter;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.presenter.response.DiagnosisCountPresenterResponse;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DiagnosisReportPresenter {
+
+  public List<DiagnosisCountPresenterResponse> parseToResponseList(
+      final List<DiagnosisCount> counts) {
+    return counts.stream().map(this::parseToResponse).toList();
+  }
+
+  public DiagnosisCountPresenterResponse parseToResponse(final DiagnosisCount count) {
+    return DiagnosisCountPresenterResponse.builder()
+        .unit(count.unit())
+        .date(count.date())
+        .diagnosis(count.diagnosis())
+        .total(count.total())
+        .build();
+  }
+}
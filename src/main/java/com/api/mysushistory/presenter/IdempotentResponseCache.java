@@ -0,0 +1,127 @@
+package com.api.mysushistory.presenter;
+
+import com.api.mysushistory.core.usecase.exception.IdempotencyKeyReusedException;
+import com.api.mysushistory.core.usecase.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+public class IdempotentResponseCache {
+
+  public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+  private static final int MAXIMUM_KEY_LENGTH = 255;
+
+  private final ObjectMapper objectMapper;
+  private final AsyncCache<Key, Stored> responses;
+  private final AtomicLong replays = new AtomicLong();
+
+  public IdempotentResponseCache(
+      final ObjectMapper objectMapper,
+      @Value("${mysushistory.idempotency.maximum-size:64MB}") final DataSize maximumSize,
+      @Value("${mysushistory.idempotency.expire-after:24h}") final Duration expireAfter) {
+    this.objectMapper = objectMapper;
+    this.responses =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumSize.toBytes())
+            .<Key, Stored>weigher((key, stored) -> stored.weight())
+            .expireAfterWrite(expireAfter)
+            .executor(Runnable::run)
+            .buildAsync();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T extends ResponseEntity<?>> T execute(
+      final String token,
+      final String idempotencyKey,
+      final Object request,
+      final Supplier<T> call) {
+    if (idempotencyKey == null) {
+      return call.get();
+    }
+
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAXIMUM_KEY_LENGTH) {
+      throw new InvalidIdempotencyKeyException(MAXIMUM_KEY_LENGTH);
+    }
+
+    final var key = new Key(token, idempotencyKey);
+    final var pending = new CompletableFuture<Stored>();
+    final var existing = this.responses.asMap().putIfAbsent(key, pending);
+
+    if (existing != null) {
+      final var stored = join(existing);
+
+      if (!stored.request().equals(request)) {
+        throw new IdempotencyKeyReusedException(idempotencyKey);
+      }
+
+      this.replays.incrementAndGet();
+
+      return (T)
+          ResponseEntity.status(stored.response().getStatusCode())
+              .headers(stored.response().getHeaders())
+              .header(IDEMPOTENT_REPLAYED, Boolean.TRUE.toString())
+              .body(stored.response().getBody());
+    }
+
+    try {
+      final var response = call.get();
+      pending.complete(new Stored(request, response, this.weigh(request, response)));
+      return response;
+    } catch (RuntimeException | Error e) {
+      pending.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  public long getReplays() {
+    return this.replays.get();
+  }
+
+  public long getSize() {
+    return this.responses.synchronous().estimatedSize();
+  }
+
+  public long getWeight() {
+    return this.responses.synchronous().policy().eviction().orElseThrow().weightedSize().orElse(0);
+  }
+
+  private int weigh(final Object request, final ResponseEntity<?> response) {
+    try {
+      final long bytes =
+          this.objectMapper.writeValueAsBytes(request).length
+              + (long) this.objectMapper.writeValueAsBytes(response.getBody()).length;
+
+      return (int) Math.min(bytes, Integer.MAX_VALUE);
+    } catch (JsonProcessingException e) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private static Stored join(final CompletableFuture<Stored> stored) {
+    try {
+      return stored.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Key(String token, String idempotencyKey) {}
+
+  private record Stored(Object request, ResponseEntity<?> response, int weight) {}
+}
@@ -0,0 +1,50 @@
+package com.api.mysushistory.presenter;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class MedicalRecordEventEmitter extends SseEmitter implements HistorySubscriber {
+
+  public static final String EVENT_NAME = "medical-record";
+  public static final String HEARTBEAT_COMMENT = "heartbeat";
+
+  private static final long NO_TIMEOUT = 0L;
+
+  private final MedicalRecordPresenter presenter;
+
+  public MedicalRecordEventEmitter(final MedicalRecordPresenter presenter) {
+    super(NO_TIMEOUT);
+    this.presenter = presenter;
+  }
+
+  @Override
+  public void onRecord(final MedicalRecord medicalRecord) {
+    try {
+      this.send(
+          event()
+              .id(String.valueOf(medicalRecord.getId()))
+              .name(EVENT_NAME)
+              .data(this.presenter.parseToResponse(medicalRecord), MediaType.APPLICATION_JSON));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void onHeartbeat() {
+    try {
+      this.send(event().comment(HEARTBEAT_COMMENT));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void onClose() {
+    this.complete();
+  }
+}
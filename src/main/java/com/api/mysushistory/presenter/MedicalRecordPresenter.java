@@ -1,13 +1,94 @@
 package com.api.mysushistory.presenter;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryExport;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.presenter.request.RegisterMedicalRecordRequest;
+import com.api.mysushistory.presenter.response.MedicalRecordFeedPresenterResponse;
+import com.api.mysushistory.presenter.response.MedicalRecordPagePresenterResponse;
 import com.api.mysushistory.presenter.response.MedicalRecordPresenterResponse;
+import com.api.mysushistory.presenter.response.MedicalRecordSearchPresenterResponse;
+import com.api.mysushistory.presenter.response.RecordRegistrationPresenterResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class MedicalRecordPresenter {
 
+  private static final char LINE_SEPARATOR = '\n';
+  private static final String ETAG_FORMAT = "W/\"%d-%d\"";
+
+  private final ObjectMapper objectMapper;
+
+  public void writeNdjson(final HistoryExport export, final OutputStream output)
+      throws IOException {
+    try (final var generator = this.objectMapper.getFactory().createGenerator(output)) {
+      export.writeTo(
+          record -> {
+            try {
+              generator.writeObject(this.parseToResponse(record));
+              generator.writeRaw(LINE_SEPARATOR);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+  }
+
+  public String etag(final HistoryVersion version) {
+    return String.format(ETAG_FORMAT, version.patientId(), version.version());
+  }
+
+  public MedicalRecordPagePresenterResponse parseToPageResponse(final HistoryPage page) {
+    return MedicalRecordPagePresenterResponse.builder()
+        .records(this.parseToResponseList(page.records()))
+        .nextCursor(page.nextCursor() == null ? null : page.nextCursor().format())
+        .build();
+  }
+
+  public MedicalRecordFeedPresenterResponse parseToFeedResponse(final HistoryFeed feed) {
+    return MedicalRecordFeedPresenterResponse.builder()
+        .records(this.parseToResponseList(feed.records()))
+        .nextCursor(feed.nextCursor())
+        .hasMore(feed.hasMore())
+        .build();
+  }
+
+  public MedicalRecordSearchPresenterResponse parseToSearchResponse(final HistorySearchPage page) {
+    return MedicalRecordSearchPresenterResponse.builder()
+        .records(this.parseToResponseList(page.records()))
+        .total(page.total())
+        .nextOffset(page.nextOffset())
+        .build();
+  }
+
+  public List<MedicalRecord> parseToDomainList(final List<RegisterMedicalRecordRequest> requests) {
+    final var now = LocalDateTime.now();
+
+    return requests.stream()
+        .map(
+            it ->
+                MedicalRecord.createMedicalRecord(
+                    now,
+                    it.unit(),
+                    it.professionalName(),
+                    it.diagnosis(),
+                    it.treatment(),
+                    it.notes()))
+        .toList();
+  }
+
   public List<MedicalRecordPresenterResponse> parseToResponseList(
       final List<MedicalRecord> records) {
     return records.stream().map(this::parseToResponse).toList();
@@ -24,4 +105,16 @@ public class MedicalRecordPresenter {
         .notes(record.getNotes())
         .build();
   }
+
+  public RecordRegistrationPresenterResponse parseToRegistrationResponse(
+      final RecordRegistration registration) {
+    return RecordRegistrationPresenterResponse.builder()
+        .trackingId(registration.trackingId())
+        .status(registration.state().name())
+        .acceptedAt(registration.acceptedAt())
+        .completedAt(registration.completedAt())
+        .medicalRecordId(registration.medicalRecordId())
+        .failure(registration.failure())
+        .build();
+  }
 }
@@ -0,0 +1,191 @@
+package com.api.mysushistory.presenter;
+
+import static java.lang.String.format;
+
+import com.api.mysushistory.core.domain.valueobject.PatientImportRow;
+import com.api.mysushistory.core.usecase.exception.InvalidPatientImportException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PatientImportReader {
+
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  private static final String NAME = "name";
+  private static final String CPF = "cpf";
+  private static final String BIRTH_DATE = "birthdate";
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+  private static final char QUOTE = '"';
+  private static final String MISSING_HEADER = "CSV header with name, cpf and birthDate is missing";
+  private static final String MISSING_COLUMN = "CSV header has no column [%s]";
+  private static final String WRONG_COLUMN_COUNT = "Row has [%d] columns, expected [%d]";
+  private static final String INVALID_JSON = "Row is not a JSON object";
+
+  private final ObjectMapper objectMapper;
+
+  public Stream<PatientImportRow> read(final InputStream input, final MediaType contentType) {
+    final var charset =
+        contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+    final var reader = new BufferedReader(new InputStreamReader(input, charset));
+
+    try {
+      final var rows =
+          MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+              ? lines(reader, 0, this::parseJson)
+              : this.readCsv(reader);
+
+      return rows.onClose(() -> close(reader));
+    } catch (RuntimeException e) {
+      close(reader);
+      throw e;
+    }
+  }
+
+  private Stream<PatientImportRow> readCsv(final BufferedReader reader) {
+    final var header = readLine(reader);
+
+    if (header == null || header.isBlank()) {
+      throw new InvalidPatientImportException(MISSING_HEADER);
+    }
+
+    final var delimiter = header.indexOf(',') < 0 && header.indexOf(';') >= 0 ? ';' : ',';
+    final var columns =
+        split(header.charAt(0) == BYTE_ORDER_MARK ? header.substring(1) : header, delimiter)
+            .stream()
+            .map(it -> it.replace("_", "").toLowerCase(Locale.ROOT))
+            .toList();
+    final var name = column(columns, NAME);
+    final var cpf = column(columns, CPF);
+    final var birthDate = column(columns, BIRTH_DATE);
+
+    return lines(
+        reader,
+        1,
+        (line, text) -> {
+          final var fields = split(text, delimiter);
+
+          if (fields.size() != columns.size()) {
+            return PatientImportRow.malformed(
+                line, format(WRONG_COLUMN_COUNT, fields.size(), columns.size()));
+          }
+
+          return PatientImportRow.of(
+              line, fields.get(name), fields.get(cpf), fields.get(birthDate));
+        });
+  }
+
+  private PatientImportRow parseJson(final long line, final String text) {
+    try {
+      final var node = this.objectMapper.readTree(text);
+
+      if (!node.isObject()) {
+        return PatientImportRow.malformed(line, INVALID_JSON);
+      }
+
+      return PatientImportRow.of(
+          line, text(node, "name"), text(node, "cpf"), text(node, "birthDate"));
+    } catch (JsonProcessingException e) {
+      return PatientImportRow.malformed(line, INVALID_JSON);
+    }
+  }
+
+  private static Stream<PatientImportRow> lines(
+      final BufferedReader reader,
+      final long skipped,
+      final BiFunction<Long, String, PatientImportRow> parse) {
+    final var number = new AtomicLong(skipped);
+
+    return reader
+        .lines()
+        .map(
+            text -> {
+              final var line = number.incrementAndGet();
+
+              return text.isBlank() ? null : parse.apply(line, text);
+            })
+        .filter(Objects::nonNull);
+  }
+
+  private static int column(final List<String> columns, final String name) {
+    final var index = columns.indexOf(name);
+
+    if (index < 0) {
+      throw new InvalidPatientImportException(format(MISSING_COLUMN, name));
+    }
+
+    return index;
+  }
+
+  private static List<String> split(final String line, final char delimiter) {
+    final var fields = new ArrayList<String>();
+    final var field = new StringBuilder();
+    var quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      final var c = line.charAt(i);
+
+      if (quoted) {
+        if (c != QUOTE) {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+          field.append(QUOTE);
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == QUOTE) {
+        quoted = true;
+      } else if (c == delimiter) {
+        fields.add(field.toString().trim());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    fields.add(field.toString().trim());
+
+    return fields;
+  }
+
+  private static String text(final JsonNode node, final String field) {
+    final var value = node.get(field);
+
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static String readLine(final BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void close(final BufferedReader reader) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,6 +1,9 @@
 package com.api.mysushistory.presenter;
 
 import com.api.mysushistory.core.domain.Patient;
+import com.api.mysushistory.core.domain.valueobject.PatientImportReport;
+import com.api.mysushistory.presenter.response.PatientImportPresenterResponse;
+import com.api.mysushistory.presenter.response.PatientImportRejectionPresenterResponse;
 import com.api.mysushistory.presenter.response.PatientPresenterResponse;
 import org.springframework.stereotype.Component;
 
@@ -15,4 +18,22 @@ public class PatientPresenter {
         .birthDate(patient.getBirthDate())
         .build();
   }
+
+  public PatientImportPresenterResponse parseToImportResponse(final PatientImportReport report) {
+    return PatientImportPresenterResponse.builder()
+        .rows(report.rows())
+        .imported(report.imported())
+        .duplicates(report.duplicates())
+        .rejected(report.rejected())
+        .rejections(
+            report.rejections().stream()
+                .map(
+                    it ->
+                        new PatientImportRejectionPresenterResponse(
+                            it.line(), it.cpf(), it.reason()))
+                .toList())
+        .elapsedMillis(report.elapsed().toMillis())
+        .rowsPerSecond(Math.round(report.rowsPerSecond() * 10) / 10.0)
+        .build();
+  }
 }
@@ -2,11 +2,16 @@ package com.api.mysushistory.presenter;
 
 import com.api.mysushistory.core.domain.ShareToken;
 import com.api.mysushistory.presenter.response.ShareTokenPresenterResponse;
+import java.util.List;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ShareTokenPresenter {
 
+  public List<ShareTokenPresenterResponse> parseToResponseList(final List<ShareToken> shareTokens) {
+    return shareTokens.stream().map(this::parseToResponse).toList();
+  }
+
   public ShareTokenPresenterResponse parseToResponse(final ShareToken shareToken) {
     return ShareTokenPresenterResponse.builder()
         .id(shareToken.getId())
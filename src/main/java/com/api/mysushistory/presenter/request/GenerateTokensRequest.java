@@ -0,0 +1,12 @@
+package com.api.mysushistory.presenter.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record GenerateTokensRequest(
+    @NotEmpty @Size(max = 5000) List<@NotBlank String> cpfs, @NotNull Integer expiresInMinutes) {}
@@ -0,0 +1,12 @@
+package com.api.mysushistory.presenter.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record RegisterMedicalRecordsRequest(
+    @NotEmpty @Size(max = 1000) List<@NotNull @Valid RegisterMedicalRecordRequest> records) {}
@@ -0,0 +1,8 @@
+package com.api.mysushistory.presenter.response;
+
+import java.time.LocalDate;
+import lombok.Builder;
+
+@Builder
+public record DiagnosisCountPresenterResponse(
+    String unit, LocalDate date, String diagnosis, long total) {}
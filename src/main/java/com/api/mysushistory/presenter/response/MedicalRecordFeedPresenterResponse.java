@@ -0,0 +1,8 @@
+package com.api.mysushistory.presenter.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record MedicalRecordFeedPresenterResponse(
+    List<MedicalRecordPresenterResponse> records, long nextCursor, boolean hasMore) {}
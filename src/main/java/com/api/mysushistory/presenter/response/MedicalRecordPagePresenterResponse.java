@@ -0,0 +1,8 @@
+package com.api.mysushistory.presenter.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record MedicalRecordPagePresenterResponse(
+    List<MedicalRecordPresenterResponse> records, String nextCursor) {}
@@ -0,0 +1,14 @@
+package com.api.mysushistory.presenter.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record PatientImportPresenterResponse(
+    long rows,
+    long imported,
+    long duplicates,
+    long rejected,
+    List<PatientImportRejectionPresenterResponse> rejections,
+    long elapsedMillis,
+    double rowsPerSecond) {}
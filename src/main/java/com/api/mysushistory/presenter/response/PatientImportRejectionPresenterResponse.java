@@ -0,0 +1,3 @@
+package com.api.mysushistory.presenter.response;
+
+public record PatientImportRejectionPresenterResponse(long line, String cpf, String reason) {}
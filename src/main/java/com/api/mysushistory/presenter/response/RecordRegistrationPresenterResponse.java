@@ -0,0 +1,14 @@
+package com.api.mysushistory.presenter.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+
+@Builder
+public record RecordRegistrationPresenterResponse(
+    UUID trackingId,
+    String status,
+    LocalDateTime acceptedAt,
+    LocalDateTime completedAt,
+    Long medicalRecordId,
+    String failure) {}
@@ -0,0 +1,12 @@
+-- Per unit/day/diagnosis record counts, incremented in the same transaction as each new medical
+-- record. Existing records are counted by starting the application once with
+-- mysushistory.diagnosis-rollup.backfill.enabled=true.
+
+CREATE TABLE diagnosis_rollups (
+    unit VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    diagnosis VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (unit, date, diagnosis),
+    INDEX idx_diagnosis_rollups_date (date, unit, diagnosis, total)
+);
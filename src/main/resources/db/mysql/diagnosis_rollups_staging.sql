@@ -0,0 +1,11 @@
+-- Work table of the diagnosis rollup backfill. Closed days are counted here chunk by chunk and
+-- then swapped into diagnosis_rollups in a single transaction, so reports never see a partial
+-- rebuild.
+
+CREATE TABLE diagnosis_rollups_staging (
+    unit VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    diagnosis VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (unit, date, diagnosis)
+);
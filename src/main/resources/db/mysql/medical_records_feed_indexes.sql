@@ -0,0 +1,4 @@
+-- Serve the change feeds of new medical records, read by id after a cursor per patient and per unit.
+
+CREATE INDEX idx_medical_records_patient_id_id ON medical_records (patient_id, id);
+CREATE INDEX idx_medical_records_unit_id ON medical_records (unit, id);
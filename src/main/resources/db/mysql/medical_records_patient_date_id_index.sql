@@ -0,0 +1,3 @@
+-- Serves keyset pagination of a patient's history ordered by (date desc, id desc).
+
+CREATE INDEX idx_medical_records_patient_date_id ON medical_records (patient_id, date, id);
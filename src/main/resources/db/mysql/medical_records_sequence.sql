@@ -0,0 +1,12 @@
+-- medical_records ids are now generated from medical_records_seq (allocation size 50) so bulk
+-- ingestion can batch its inserts. MySQL has no sequences, so Hibernate emulates it with a
+-- single-row table. Hibernate's pooled optimizer reads next_val as the top of its first block of
+-- 50 ids, so the seed is MAX(id) plus the allocation size, not MAX(id) + 1. Add
+-- rewriteBatchedStatements=true to the JDBC URL so the driver sends each batch as a multi-row
+-- insert.
+
+CREATE TABLE medical_records_seq (next_val BIGINT NOT NULL);
+
+INSERT INTO medical_records_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM medical_records;
+
+ALTER TABLE medical_records MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,4 @@
+-- Monotonic per-patient history version, bumped on every new medical record and used as the
+-- ETag of the history endpoints.
+
+ALTER TABLE patients ADD COLUMN history_version BIGINT NOT NULL DEFAULT 0;
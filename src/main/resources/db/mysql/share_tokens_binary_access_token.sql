@@ -0,0 +1,40 @@
+-- Converts share_tokens.access_token from varchar(50) UUID strings to binary(16).
+-- The backfill runs in batches of 50000 rows until none is left. Only rows whose token is not a
+-- UUID are deleted, and the procedure fails before the old column is dropped if any row is still
+-- not converted. Run with the mysql client, which understands the DELIMITER directives.
+
+ALTER TABLE share_tokens ADD COLUMN access_token_bin BINARY(16) NULL;
+
+DELIMITER //
+
+CREATE PROCEDURE share_tokens_convert_access_token()
+BEGIN
+    REPEAT
+        UPDATE share_tokens
+           SET access_token_bin = UNHEX(REPLACE(access_token, '-', ''))
+         WHERE access_token_bin IS NULL
+           AND access_token REGEXP '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
+         LIMIT 50000;
+    UNTIL ROW_COUNT() = 0 END REPEAT;
+
+    DELETE FROM share_tokens
+     WHERE access_token_bin IS NULL
+       AND access_token NOT REGEXP '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$';
+
+    IF EXISTS (SELECT 1 FROM share_tokens WHERE access_token_bin IS NULL) THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'share_tokens has rows without access_token_bin, access_token kept';
+    END IF;
+END //
+
+DELIMITER ;
+
+CALL share_tokens_convert_access_token();
+
+DROP PROCEDURE share_tokens_convert_access_token;
+
+ALTER TABLE share_tokens DROP COLUMN access_token;
+
+ALTER TABLE share_tokens CHANGE COLUMN access_token_bin access_token BINARY(16) NOT NULL;
+
+ALTER TABLE share_tokens ADD CONSTRAINT uk_share_tokens_access_token UNIQUE (access_token);
@@ -0,0 +1,15 @@
+-- Persists share token expiry so lookups and the purge job can filter on expires_at in SQL.
+-- Existing tokens are backfilled from created_at + expires_in_minutes before the column becomes
+-- NOT NULL. Also creates the (patient_id, expires_at) index used for token reuse and the
+-- per-patient active token cap.
+
+ALTER TABLE share_tokens ADD COLUMN expires_at DATETIME(6) NULL;
+
+UPDATE share_tokens
+   SET expires_at = created_at + INTERVAL expires_in_minutes MINUTE
+ WHERE expires_at IS NULL;
+
+ALTER TABLE share_tokens MODIFY expires_at DATETIME(6) NOT NULL;
+
+CREATE INDEX idx_share_tokens_expires_at ON share_tokens (expires_at);
+CREATE INDEX idx_share_tokens_patient_expires_at ON share_tokens (patient_id, expires_at);
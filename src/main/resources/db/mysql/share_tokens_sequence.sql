@@ -0,0 +1,10 @@
+-- share_tokens ids are now generated from share_tokens_seq (allocation size 50) so inserts can be
+-- batched. MySQL has no sequences, so Hibernate emulates it with a single-row table. Hibernate's
+-- pooled optimizer reads next_val as the top of its first block of 50 ids, so the seed is MAX(id)
+-- plus the allocation size, not MAX(id) + 1.
+
+CREATE TABLE share_tokens_seq (next_val BIGINT NOT NULL);
+
+INSERT INTO share_tokens_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM share_tokens;
+
+ALTER TABLE share_tokens MODIFY id BIGINT NOT NULL;
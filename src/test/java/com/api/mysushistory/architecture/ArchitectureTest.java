@@ -45,10 +45,12 @@ public class ArchitectureTest {
           .definedBy("..entrypoint.config..")
           .layer("controller")
           .definedBy("..entrypoint.controller..")
+          .layer("job")
+          .definedBy("..entrypoint.job..")
           .layer("presenter")
           .definedBy("..presenter..")
           .whereLayer("usecase")
-          .mayOnlyBeAccessedByLayers("config", "controller", "presenter")
+          .mayOnlyBeAccessedByLayers("config", "controller", "job", "presenter")
           .allowEmptyShould(true);
 
   /* GATEWAY */
@@ -0,0 +1,127 @@
+package com.api.mysushistory.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class HistoryCompressionBenchmark {
+
+  private static final String CPF = "00000000001";
+  private static final int RECORDS = Integer.getInteger("benchmark.records", 1_000);
+  private static final int PAGE_SIZE = Integer.getInteger("benchmark.page", 200);
+  private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update("delete from medical_records");
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Patient",
+        Date.valueOf(LocalDate.of(1990, 1, 1)));
+    final var patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+
+    final var start = LocalDateTime.of(2020, 1, 1, 8, 0);
+    this.jdbcTemplate.batchUpdate(
+        "insert into medical_records"
+            + " (id, date, unit, professional_name, diagnosis, treatment, notes, patient_id)"
+            + " values (next value for medical_records_seq, ?, ?, ?, ?, ?, ?, ?)",
+        IntStream.range(0, RECORDS).boxed().toList(),
+        1_000,
+        (statement, i) -> {
+          statement.setTimestamp(1, Timestamp.valueOf(start.plusHours(i)));
+          statement.setString(2, "UBS Central");
+          statement.setString(3, "Dr. José Silva");
+          statement.setString(4, "Gripe " + i);
+          statement.setString(5, "Descanso e hidratação");
+          statement.setString(6, "Retornar em uma semana");
+          statement.setLong(7, patientId);
+        });
+  }
+
+  @Test
+  void compareCompressionPerRequestAndPrecompressedCache() throws Exception {
+    final var request =
+        get("/api/patients/" + CPF + "/history").param("limit", String.valueOf(PAGE_SIZE));
+    final var gzipRequest =
+        get("/api/patients/" + CPF + "/history")
+            .param("limit", String.valueOf(PAGE_SIZE))
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+    measure(request, false, ITERATIONS / 5);
+    measure(request, true, ITERATIONS / 5);
+    measure(gzipRequest, false, ITERATIONS / 5);
+
+    report("identity", measure(request, false, ITERATIONS));
+    report("gzip", measure(request, true, ITERATIONS));
+    report("cached", measure(gzipRequest, false, ITERATIONS));
+  }
+
+  private long[] measure(
+      final MockHttpServletRequestBuilder request, final boolean compress, final int iterations)
+      throws Exception {
+    final var threads = ManagementFactory.getThreadMXBean();
+    final var cpuBefore = threads.getCurrentThreadCpuTime();
+    final var start = System.nanoTime();
+    var bytes = 0L;
+
+    for (int i = 0; i < iterations; i++) {
+      final var body =
+          this.mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+
+      bytes += compress ? gzip(body).length : body.length;
+    }
+
+    return new long[] {
+      threads.getCurrentThreadCpuTime() - cpuBefore, System.nanoTime() - start, bytes / iterations
+    };
+  }
+
+  private static byte[] gzip(final byte[] body) throws IOException {
+    final var bytes = new ByteArrayOutputStream();
+
+    try (final var gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(body);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private static void report(final String label, final long[] result) {
+    System.out.printf(
+        "%-8s requests=%d page=%d cpu=%.0fus/request latency=%.0fus/request body=%d bytes%n",
+        label,
+        ITERATIONS,
+        PAGE_SIZE,
+        result[0] / 1e3 / ITERATIONS,
+        result[1] / 1e3 / ITERATIONS,
+        result[2]);
+  }
+}
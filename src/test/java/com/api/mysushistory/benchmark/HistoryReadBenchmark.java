@@ -0,0 +1,136 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.infra.gateway.MedicalRecordGatewayImpl;
+import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
+import com.api.mysushistory.presenter.MedicalRecordPresenter;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class HistoryReadBenchmark {
+
+  private static final int RECORDS = Integer.getInteger("benchmark.records", 10_000);
+  private static final int PAGE_SIZE = Integer.getInteger("benchmark.page", 200);
+  private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 500);
+  private static final String ENTITY_QUERY =
+      "select m from MedicalRecordEntity m where m.patient.id = :patientId"
+          + " order by m.date desc, m.id desc";
+
+  @Autowired private MedicalRecordGatewayImpl medicalRecordGateway;
+  @Autowired private MedicalRecordPresenter presenter;
+  @Autowired private EntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update("delete from medical_records");
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        "00000000001",
+        "Patient",
+        Date.valueOf(LocalDate.of(1990, 1, 1)));
+    this.patientId =
+        this.jdbcTemplate.queryForObject(
+            "select id from patients where cpf = '00000000001'", Long.class);
+
+    final var start = LocalDateTime.of(2020, 1, 1, 8, 0);
+    this.jdbcTemplate.batchUpdate(
+        "insert into medical_records"
+            + " (id, date, unit, professional_name, diagnosis, treatment, notes, patient_id)"
+            + " values (next value for medical_records_seq, ?, ?, ?, ?, ?, ?, ?)",
+        IntStream.range(0, RECORDS).boxed().toList(),
+        1_000,
+        (statement, i) -> {
+          statement.setTimestamp(1, Timestamp.valueOf(start.plusHours(i)));
+          statement.setString(2, "UBS Central");
+          statement.setString(3, "Dr. José Silva");
+          statement.setString(4, "Gripe " + i);
+          statement.setString(5, "Descanso e hidratação");
+          statement.setString(6, "Retornar em uma semana");
+          statement.setLong(7, this.patientId);
+        });
+  }
+
+  @Test
+  void compareEntityAndProjectionReads() {
+    final Supplier<Object> entityPath =
+        () ->
+            this.transactionTemplate.execute(
+                status ->
+                    this.entityManager
+                        .createQuery(ENTITY_QUERY, MedicalRecordEntity.class)
+                        .setParameter("patientId", this.patientId)
+                        .setMaxResults(PAGE_SIZE + 1)
+                        .getResultStream()
+                        .map(
+                            entity ->
+                                new MedicalRecord(
+                                    entity.getId(),
+                                    entity.getDate(),
+                                    entity.getUnit(),
+                                    entity.getProfessionalName(),
+                                    entity.getDiagnosis(),
+                                    entity.getTreatment(),
+                                    entity.getNotes()))
+                        .map(this.presenter::parseToResponse)
+                        .toList());
+    final Supplier<Object> projectionPath =
+        () ->
+            this.presenter.parseToPageResponse(
+                this.medicalRecordGateway.findPageByPatientId(
+                    this.patientId, HistoryPeriod.UNBOUNDED, null, PAGE_SIZE));
+
+    measure("entity", entityPath, ITERATIONS / 5);
+    measure("projection", projectionPath, ITERATIONS / 5);
+
+    report("entity", measure("entity", entityPath, ITERATIONS));
+    report("projection", measure("projection", projectionPath, ITERATIONS));
+  }
+
+  private static long[] measure(
+      final String label, final Supplier<Object> path, final int iterations) {
+    final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final var threadId = Thread.currentThread().getId();
+    final var allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    final var start = System.nanoTime();
+
+    for (int i = 0; i < iterations; i++) {
+      if (path.get() == null) {
+        throw new IllegalStateException(label);
+      }
+    }
+
+    return new long[] {
+      System.nanoTime() - start, threads.getThreadAllocatedBytes(threadId) - allocatedBefore
+    };
+  }
+
+  private static void report(final String label, final long[] result) {
+    final var records = (double) ITERATIONS * PAGE_SIZE;
+
+    System.out.printf(
+        "%-10s pages=%d page=%d latency=%.0fus/page allocated=%.0f bytes/record%n",
+        label, ITERATIONS, PAGE_SIZE, result[0] / 1e3 / ITERATIONS, result[1] / records);
+  }
+}
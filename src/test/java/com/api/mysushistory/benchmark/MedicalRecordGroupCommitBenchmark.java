@@ -0,0 +1,120 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordByToken;
+import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import com.api.mysushistory.infra.gateway.MedicalRecordGroupCommitWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Run once as is and once with -Dmysushistory.medical-record.group-commit.enabled=true to compare
+ * one transaction per record with group commit.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class MedicalRecordGroupCommitBenchmark {
+
+  private static final int PATIENTS = Integer.getInteger("benchmark.patients", 100);
+  private static final int RECORDS = Integer.getInteger("benchmark.records", 10_000);
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+
+  @Autowired private GenerateToken generateToken;
+  @Autowired private RegisterMedicalRecordByToken registerMedicalRecordByToken;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private Optional<MedicalRecordGroupCommitWriter> groupCommitWriter;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private List<String> tokens;
+
+  @BeforeEach
+  void setUp() {
+    final var cpfs = IntStream.range(0, PATIENTS).mapToObj(i -> String.format("%011d", i)).toList();
+
+    this.jdbcTemplate.update("delete from medical_records");
+    this.jdbcTemplate.update("delete from diagnosis_rollups");
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+    this.jdbcTemplate.batchUpdate(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        cpfs,
+        1_000,
+        (statement, cpf) -> {
+          statement.setString(1, cpf);
+          statement.setString(2, "Patient " + cpf);
+          statement.setDate(3, Date.valueOf(LocalDate.of(1990, 1, 1)));
+        });
+    this.tokens =
+        cpfs.stream().map(cpf -> this.generateToken.execute(cpf, 600).getAccessToken()).toList();
+  }
+
+  @Test
+  void measureConcurrentRegistration() throws Exception {
+    register(RECORDS / 10);
+
+    final var start = System.nanoTime();
+    register(RECORDS);
+    final var elapsed = System.nanoTime() - start;
+
+    System.out.printf(
+        "%-13s records=%d threads=%d elapsed=%dms throughput=%.0f records/s%n",
+        this.groupCommitWriter.isPresent() ? "group-commit" : "per-record",
+        RECORDS,
+        THREADS,
+        elapsed / 1_000_000,
+        RECORDS / (elapsed / 1e9));
+
+    if (this.groupCommitWriter.isPresent()) {
+      final var batchSizes =
+          this.meterRegistry.get("mysushistory.group-commit.batch.size").summary();
+      final var queueWait = this.meterRegistry.get("mysushistory.group-commit.queue.wait").timer();
+
+      System.out.printf(
+          "batches=%d averageBatch=%.1f maxBatch=%.0f queueWait avg=%.0fus max=%.0fus%n",
+          batchSizes.count(),
+          batchSizes.mean(),
+          batchSizes.max(),
+          queueWait.mean(TimeUnit.MICROSECONDS),
+          queueWait.max(TimeUnit.MICROSECONDS));
+    }
+  }
+
+  private void register(final int records) throws Exception {
+    final var executor = Executors.newFixedThreadPool(THREADS);
+
+    try {
+      final List<Callable<Object>> calls =
+          IntStream.range(0, records)
+              .<Callable<Object>>mapToObj(
+                  i ->
+                      () ->
+                          this.registerMedicalRecordByToken.execute(
+                              this.tokens.get(i % PATIENTS),
+                              "UBS Central",
+                              "Dr. José Silva",
+                              "Gripe " + i % 20,
+                              "Repouso",
+                              "Retorno"))
+              .toList();
+
+      for (final Future<Object> future : executor.invokeAll(calls)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
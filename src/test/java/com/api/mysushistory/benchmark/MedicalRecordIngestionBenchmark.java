@@ -0,0 +1,93 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordByToken;
+import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordsByToken;
+import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class MedicalRecordIngestionBenchmark {
+
+  private static final String CPF = "00000000001";
+  private static final int RECORDS = Integer.getInteger("benchmark.records", 5_000);
+  private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunk", 500);
+
+  @Autowired private GenerateToken generateToken;
+  @Autowired private RegisterMedicalRecordByToken registerMedicalRecordByToken;
+  @Autowired private RegisterMedicalRecordsByToken registerMedicalRecordsByToken;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update("delete from medical_records");
+    this.jdbcTemplate.update("delete from diagnosis_rollups");
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Patient",
+        Date.valueOf(LocalDate.of(1990, 1, 1)));
+    this.token = this.generateToken.execute(CPF, 600).getAccessToken();
+  }
+
+  @Test
+  void compareOneByOneAndBulkIngestion() {
+    oneByOne(RECORDS / 10);
+    bulk(RECORDS / 10);
+
+    var start = System.nanoTime();
+    oneByOne(RECORDS);
+    report("single", System.nanoTime() - start);
+
+    start = System.nanoTime();
+    bulk(RECORDS);
+    report("bulk/" + CHUNK_SIZE, System.nanoTime() - start);
+  }
+
+  private void oneByOne(final int records) {
+    for (int i = 0; i < records; i++) {
+      this.registerMedicalRecordByToken.execute(
+          this.token, "UBS Central", "Dr. José Silva", "Gripe " + i % 20, "Repouso", "Retorno");
+    }
+  }
+
+  private void bulk(final int records) {
+    for (int i = 0; i < records; i += CHUNK_SIZE) {
+      final var now = LocalDateTime.now();
+      final var chunk =
+          IntStream.range(i, Math.min(i + CHUNK_SIZE, records))
+              .mapToObj(
+                  it ->
+                      MedicalRecord.createMedicalRecord(
+                          now,
+                          "UBS Central",
+                          "Dr. José Silva",
+                          "Gripe " + it % 20,
+                          "Repouso",
+                          "Retorno"))
+              .toList();
+
+      this.registerMedicalRecordsByToken.execute(this.token, chunk);
+    }
+  }
+
+  private static void report(final String label, final long elapsedNanos) {
+    System.out.printf(
+        "%-10s records=%d elapsed=%dms throughput=%.0f records/s%n",
+        label, RECORDS, elapsedNanos / 1_000_000, RECORDS / (elapsedNanos / 1e9));
+  }
+}
@@ -0,0 +1,80 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.core.domain.valueobject.PatientImportRow;
+import com.api.mysushistory.core.usecase.patient.CreatePatient;
+import com.api.mysushistory.core.usecase.patient.ImportPatients;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PatientImportBenchmark {
+
+  private static final int PATIENTS = Integer.getInteger("benchmark.patients", 20_000);
+  private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch", 1_000);
+  private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 1, 1);
+
+  @Autowired private CreatePatient createPatient;
+  @Autowired private ImportPatients importPatients;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    this.clear();
+  }
+
+  @Test
+  void compareOneByOneAndBatchedImport() {
+    oneByOne(PATIENTS / 10);
+    this.clear();
+    batched(PATIENTS / 10);
+    this.clear();
+
+    var start = System.nanoTime();
+    oneByOne(PATIENTS);
+    report("single", System.nanoTime() - start);
+    this.clear();
+
+    start = System.nanoTime();
+    batched(PATIENTS);
+    report("import/" + BATCH_SIZE, System.nanoTime() - start);
+  }
+
+  private void oneByOne(final int patients) {
+    for (long i = 0; i < patients; i++) {
+      this.createPatient.execute("Patient " + i, cpf(i), BIRTH_DATE);
+    }
+  }
+
+  private void batched(final int patients) {
+    this.importPatients.execute(
+        LongStream.range(0, patients)
+            .mapToObj(
+                i -> PatientImportRow.of(i + 1, "Patient " + i, cpf(i), BIRTH_DATE.toString())),
+        BATCH_SIZE,
+        it -> {});
+  }
+
+  private void clear() {
+    this.jdbcTemplate.update("delete from medical_records");
+    this.jdbcTemplate.update("delete from diagnosis_rollups");
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+  }
+
+  private static String cpf(final long i) {
+    return String.format("%011d", i);
+  }
+
+  private static void report(final String label, final long elapsedNanos) {
+    System.out.printf(
+        "%-12s patients=%d elapsed=%dms throughput=%.0f patients/s%n",
+        label, PATIENTS, elapsedNanos / 1_000_000, PATIENTS / (elapsedNanos / 1e9));
+  }
+}
@@ -0,0 +1,71 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import com.api.mysushistory.core.usecase.patient.GenerateTokens;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ShareTokenIssuanceBenchmark {
+
+  private static final int PATIENTS = Integer.getInteger("benchmark.patients", 20_000);
+  private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunk", 1_000);
+
+  @Autowired private GenerateToken generateToken;
+  @Autowired private GenerateTokens generateTokens;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private List<String> cpfs;
+
+  @BeforeEach
+  void setUp() {
+    this.cpfs = IntStream.range(0, PATIENTS).mapToObj(i -> String.format("%011d", i)).toList();
+
+    this.jdbcTemplate.update("delete from share_tokens");
+    this.jdbcTemplate.update("delete from patients");
+    this.jdbcTemplate.batchUpdate(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        this.cpfs,
+        1_000,
+        (statement, cpf) -> {
+          statement.setString(1, cpf);
+          statement.setString(2, "Patient " + cpf);
+          statement.setDate(3, Date.valueOf(LocalDate.of(1990, 1, 1)));
+        });
+  }
+
+  @Test
+  void compareSingleAndBulkIssuance() {
+    var start = System.nanoTime();
+    this.cpfs.forEach(
+        cpf ->
+            this.transactionTemplate.executeWithoutResult(
+                it -> this.generateToken.execute(cpf, 60)));
+    report("single", System.nanoTime() - start);
+
+    start = System.nanoTime();
+    for (int i = 0; i < PATIENTS; i += CHUNK_SIZE) {
+      final var chunk = this.cpfs.subList(i, Math.min(i + CHUNK_SIZE, PATIENTS));
+
+      this.transactionTemplate.executeWithoutResult(it -> this.generateTokens.execute(chunk, 60));
+    }
+    report("bulk/" + CHUNK_SIZE, System.nanoTime() - start);
+  }
+
+  private static void report(final String label, final long elapsedNanos) {
+    System.out.printf(
+        "%-10s tokens=%d elapsed=%dms throughput=%.0f tokens/s%n",
+        label, PATIENTS, elapsedNanos / 1_000_000, PATIENTS / (elapsedNanos / 1e9));
+  }
+}
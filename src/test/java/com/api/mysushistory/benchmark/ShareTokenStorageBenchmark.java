@@ -0,0 +1,132 @@
+package com.api.mysushistory.benchmark;
+
+import com.api.mysushistory.infra.gateway.AccessTokenCodec;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ShareTokenStorageBenchmark {
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+  private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 100_000);
+  private static final int BATCH_SIZE = 10_000;
+
+  @Test
+  void compareVarcharAndBinaryAccessTokens(@TempDir final Path directory) throws SQLException {
+    final var tokens = new ArrayList<UUID>();
+
+    try (final var connection =
+        DriverManager.getConnection(
+            "jdbc:h2:file:" + directory.resolve("share-token-benchmark"), "sa", "")) {
+      try (final var statement = connection.createStatement()) {
+        statement.execute(
+            "create table tokens_varchar (id bigint primary key, access_token varchar(50) not null unique)");
+        statement.execute(
+            "create table tokens_binary (id bigint primary key, access_token binary(16) not null unique)");
+      }
+
+      for (int i = 0; i < Math.min(LOOKUPS, ROWS); i++) {
+        tokens.add(UUID.randomUUID());
+      }
+
+      insert(connection, "tokens_varchar", tokens, UUID::toString);
+      insert(connection, "tokens_binary", tokens, ShareTokenStorageBenchmark::toBinary);
+
+      report(connection, "varchar(50)", "tokens_varchar", tokens, UUID::toString);
+      report(
+          connection, "binary(16)", "tokens_binary", tokens, ShareTokenStorageBenchmark::toBinary);
+    }
+  }
+
+  private static void insert(
+      final Connection connection,
+      final String table,
+      final List<UUID> sampled,
+      final Function<UUID, Object> encoder)
+      throws SQLException {
+    connection.setAutoCommit(false);
+
+    try (final var insert =
+        connection.prepareStatement("insert into " + table + " values (?, ?)")) {
+      for (int i = 0; i < ROWS; i++) {
+        final var token = i < sampled.size() ? sampled.get(i) : UUID.randomUUID();
+
+        insert.setLong(1, i);
+        insert.setObject(2, encoder.apply(token));
+        insert.addBatch();
+
+        if ((i + 1) % BATCH_SIZE == 0) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+
+      insert.executeBatch();
+      connection.commit();
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  private static void report(
+      final Connection connection,
+      final String label,
+      final String table,
+      final List<UUID> sampled,
+      final Function<UUID, Object> encoder)
+      throws SQLException {
+    final long size;
+
+    try (final var statement = connection.prepareStatement("call disk_space_used(?)")) {
+      statement.setString(1, table.toUpperCase());
+
+      try (final var result = statement.executeQuery()) {
+        result.next();
+        size = result.getLong(1);
+      }
+    }
+
+    try (final var lookup =
+        connection.prepareStatement("select id from " + table + " where access_token = ?")) {
+      lookupAll(lookup, sampled, encoder);
+
+      final var start = System.nanoTime();
+      lookupAll(lookup, sampled, encoder);
+      final var elapsed = System.nanoTime() - start;
+
+      System.out.printf(
+          "%-12s rows=%d size=%.1fMB avgLookup=%.2fus%n",
+          label, ROWS, size / 1024.0 / 1024.0, elapsed / 1000.0 / sampled.size());
+    }
+  }
+
+  private static void lookupAll(
+      final PreparedStatement lookup,
+      final List<UUID> sampled,
+      final Function<UUID, Object> encoder)
+      throws SQLException {
+    for (final var token : sampled) {
+      lookup.setObject(1, encoder.apply(token));
+
+      try (final var result = lookup.executeQuery()) {
+        if (!result.next()) {
+          throw new IllegalStateException("Token not found: " + token);
+        }
+      }
+    }
+  }
+
+  private static byte[] toBinary(final UUID token) {
+    return AccessTokenCodec.toBinary(token.toString()).orElseThrow();
+  }
+}
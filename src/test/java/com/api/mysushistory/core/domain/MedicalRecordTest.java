@@ -32,6 +32,18 @@ class MedicalRecordTest {
     assertThat(medicalRecord.getNotes()).isEqualTo("Retornar em uma semana");
   }
 
+  @Test
+  void shouldRestoreMedicalRecordWithoutRevalidating() {
+    final var dateTime = LocalDateTime.now().withNano(0);
+    final var medicalRecord =
+        MedicalRecord.restore(1L, dateTime, "UBS Central", "Dr. José Silva", "Gripe", "", null);
+
+    assertThat(medicalRecord.getId()).isEqualTo(1L);
+    assertThat(medicalRecord.getDate()).isEqualTo(dateTime);
+    assertThat(medicalRecord.getTreatment()).isEmpty();
+    assertThat(medicalRecord.getNotes()).isNull();
+  }
+
   @Test
   void shouldNotCreateWhenDateIsNull() {
     assertThatThrownBy(
@@ -33,6 +33,13 @@ class ShareTokenTest {
     assertThat(token.isExpired()).isTrue();
   }
 
+  @Test
+  void shouldExpireAtCreatedAtPlusExpiresInMinutes() {
+    LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+    ShareToken token = ShareToken.createShareToken("abc", 30, createdAt, 1L);
+    assertThat(token.getExpiresAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 30));
+  }
+
   @ParameterizedTest
   @NullAndEmptySource
   void shouldNotCreateWhenAccessTokenIsBlank(String invalidToken) {
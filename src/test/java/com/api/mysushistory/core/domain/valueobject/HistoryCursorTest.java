@@ -0,0 +1,56 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HistoryCursorTest {
+
+  @Test
+  void shouldRoundTripCursor() {
+    final var cursor = new HistoryCursor(LocalDateTime.of(2024, 6, 1, 10, 0, 5, 123_000_000), 42L);
+
+    assertThat(HistoryCursor.parse(cursor.format())).contains(cursor);
+  }
+
+  @Test
+  void shouldRejectMalformedCursor() {
+    assertThat(HistoryCursor.parse(null)).isEmpty();
+    assertThat(HistoryCursor.parse("")).isEmpty();
+    assertThat(HistoryCursor.parse("???")).isEmpty();
+    assertThat(HistoryCursor.parse("bm90LWEtY3Vyc29y")).isEmpty();
+  }
+
+  @Test
+  void shouldPrecedeOlderRecordsAndSameDateRecordsWithLowerId() {
+    final var date = LocalDateTime.of(2024, 6, 1, 10, 0);
+    final var cursor = new HistoryCursor(date, 42L);
+
+    assertThat(cursor.precedes(record(50L, date.minusSeconds(1)))).isTrue();
+    assertThat(cursor.precedes(record(41L, date))).isTrue();
+    assertThat(cursor.precedes(record(42L, date))).isFalse();
+    assertThat(cursor.precedes(record(1L, date.plusSeconds(1)))).isFalse();
+  }
+
+  @Test
+  void shouldBuildPageWithNextCursorOnlyWhenMoreRecordsExist() {
+    final var first = record(3L, LocalDateTime.of(2024, 3, 1, 0, 0));
+    final var second = record(2L, LocalDateTime.of(2024, 2, 1, 0, 0));
+    final var third = record(1L, LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    final var full = HistoryPage.of(List.of(first, second, third), 2);
+    final var last = HistoryPage.of(List.of(third), 2);
+
+    assertThat(full.records()).containsExactly(first, second);
+    assertThat(full.nextCursor()).isEqualTo(new HistoryCursor(second.getDate(), 2L));
+    assertThat(last.records()).containsExactly(third);
+    assertThat(last.nextCursor()).isNull();
+  }
+
+  private static MedicalRecord record(final Long id, final LocalDateTime date) {
+    return new MedicalRecord(id, date, "u", "p", "d", "t", "n");
+  }
+}
@@ -0,0 +1,33 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HistoryFeedTest {
+
+  @Test
+  void shouldAdvanceCursorToLastReturnedRecord() {
+    final var feed = HistoryFeed.of(List.of(record(11L), record(12L), record(15L)), 10L, 2);
+
+    assertThat(feed.records()).extracting(MedicalRecord::getId).containsExactly(11L, 12L);
+    assertThat(feed.nextCursor()).isEqualTo(12L);
+    assertThat(feed.hasMore()).isTrue();
+  }
+
+  @Test
+  void shouldKeepCursorWhenNothingChanged() {
+    final var feed = HistoryFeed.of(List.of(), 10L, 2);
+
+    assertThat(feed.records()).isEmpty();
+    assertThat(feed.nextCursor()).isEqualTo(10L);
+    assertThat(feed.hasMore()).isFalse();
+  }
+
+  private static MedicalRecord record(final Long id) {
+    return new MedicalRecord(id, LocalDateTime.of(2024, 6, 1, 10, 0), "UBS", "Dr.", "D", "T", "N");
+  }
+}
@@ -0,0 +1,34 @@
+package com.api.mysushistory.core.domain.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class HistoryPeriodTest {
+
+  @Test
+  void shouldContainWholeDaysOfBothBounds() {
+    final var period = new HistoryPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+    assertThat(period.contains(LocalDateTime.of(2024, 1, 1, 0, 0))).isTrue();
+    assertThat(period.contains(LocalDateTime.of(2024, 1, 31, 23, 59, 59))).isTrue();
+    assertThat(period.contains(LocalDateTime.of(2023, 12, 31, 23, 59, 59))).isFalse();
+    assertThat(period.contains(LocalDateTime.of(2024, 2, 1, 0, 0))).isFalse();
+  }
+
+  @Test
+  void shouldContainEverythingWhenUnbounded() {
+    assertThat(HistoryPeriod.UNBOUNDED.contains(LocalDateTime.of(1900, 1, 1, 0, 0))).isTrue();
+    assertThat(HistoryPeriod.UNBOUNDED.isValid()).isTrue();
+  }
+
+  @Test
+  void shouldBeInvalidWhenFromIsAfterTo() {
+    assertThat(new HistoryPeriod(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)).isValid())
+        .isFalse();
+    assertThat(new HistoryPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)).isValid())
+        .isTrue();
+  }
+}
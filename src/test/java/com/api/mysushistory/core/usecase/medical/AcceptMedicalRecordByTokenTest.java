@@ -0,0 +1,87 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.exception.DomainException;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AcceptMedicalRecordByTokenTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordJournalGateway journalGateway =
+      mock(MedicalRecordJournalGateway.class);
+  private final AcceptMedicalRecordByToken acceptMedicalRecordByToken =
+      new AcceptMedicalRecordByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), journalGateway);
+
+  @Test
+  void shouldJournalMedicalRecordForTokenPatient() {
+    final var token = UUID.randomUUID().toString();
+    final var patientId = 1L;
+    final var shareToken = new ShareToken(1L, token, 60, LocalDateTime.now(), patientId);
+    final var registration = RecordRegistration.accepted(UUID.randomUUID(), LocalDateTime.now());
+    final var recordCaptor = ArgumentCaptor.forClass(MedicalRecord.class);
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.of(shareToken));
+    when(journalGateway.append(eq(patientId), any(MedicalRecord.class))).thenReturn(registration);
+
+    final var response =
+        acceptMedicalRecordByToken.execute(
+            token, "UBS Central", "Dra. Ana Lima", "Gripe", "Repouso", "Reavaliar em 3 dias");
+
+    assertThat(response).isEqualTo(registration);
+
+    verify(journalGateway).append(eq(patientId), recordCaptor.capture());
+    assertThat(recordCaptor.getValue().getId()).isNull();
+    assertThat(recordCaptor.getValue().getDiagnosis()).isEqualTo("Gripe");
+    assertThat(recordCaptor.getValue().getDate()).isNotNull();
+  }
+
+  @Test
+  void shouldNotJournalWhenTokenIsMissing() {
+    final var token = "invalid-token";
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(
+            () ->
+                acceptMedicalRecordByToken.execute(
+                    token, "unit", "name", "diagnosis", "treatment", "notes"))
+        .isInstanceOf(ShareTokenNotFoundException.class);
+
+    verifyNoInteractions(journalGateway);
+  }
+
+  @Test
+  void shouldNotJournalInvalidMedicalRecord() {
+    final var token = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, token, 60, LocalDateTime.now(), 1L);
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.of(shareToken));
+
+    assertThatThrownBy(
+            () ->
+                acceptMedicalRecordByToken.execute(
+                    token, "unit", "name", " ", "treatment", "notes"))
+        .isInstanceOf(DomainException.class);
+
+    verifyNoInteractions(journalGateway);
+  }
+}
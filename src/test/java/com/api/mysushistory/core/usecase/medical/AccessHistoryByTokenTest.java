@@ -6,10 +6,15 @@ import static org.mockito.Mockito.*;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
 import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
 import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
 import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
 import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,34 +24,50 @@ import org.junit.jupiter.api.Test;
 class AccessHistoryByTokenTest {
 
   private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
   private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
   private final AccessHistoryByToken accessHistoryByToken =
-      new AccessHistoryByToken(tokenGateway, recordGateway);
+      new AccessHistoryByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), recordGateway);
 
   @Test
   void shouldReturnRecordsWhenTokenValid() {
     final var tokenValue = UUID.randomUUID().toString();
     final var shareToken = new ShareToken(1L, tokenValue, 60, LocalDateTime.now(), 42L);
     final var records =
-        List.of(
-            new MedicalRecord(
-                10L,
-                LocalDateTime.of(2023, 3, 1, 9, 0),
-                "UBS Centro",
-                "Dr. Fulano",
-                "Resfriado",
-                "Repouso",
-                "Sem complicações"));
+        HistoryPage.of(
+            List.of(
+                new MedicalRecord(
+                    10L,
+                    LocalDateTime.of(2023, 3, 1, 9, 0),
+                    "UBS Centro",
+                    "Dr. Fulano",
+                    "Resfriado",
+                    "Repouso",
+                    "Sem complicações")),
+            50);
 
     when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.of(shareToken));
-    when(recordGateway.findByPatientId(42L)).thenReturn(records);
+    when(recordGateway.findPageByPatientId(42L, HistoryPeriod.UNBOUNDED, null, 50))
+        .thenReturn(records);
 
-    final var response = accessHistoryByToken.execute(tokenValue);
+    final var response = accessHistoryByToken.execute(tokenValue, null, null, null, 50);
 
     assertThat(response).isSameAs(records);
 
     verify(tokenGateway).findByAccessToken(tokenValue);
-    verify(recordGateway).findByPatientId(42L);
+    verify(recordGateway).findPageByPatientId(42L, HistoryPeriod.UNBOUNDED, null, 50);
+  }
+
+  @Test
+  void shouldReturnHistoryVersionOfTokenPatient() {
+    final var tokenValue = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, tokenValue, 60, LocalDateTime.now(), 42L);
+
+    when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.of(shareToken));
+    when(recordGateway.findVersionByPatientId(42L)).thenReturn(new HistoryVersion(42L, 5L));
+
+    assertThat(accessHistoryByToken.version(tokenValue)).isEqualTo(new HistoryVersion(42L, 5L));
   }
 
   @Test
@@ -55,7 +76,7 @@ class AccessHistoryByTokenTest {
 
     when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.empty());
 
-    assertThatThrownBy(() -> accessHistoryByToken.execute(tokenValue))
+    assertThatThrownBy(() -> accessHistoryByToken.execute(tokenValue, null, null, null, 50))
         .isInstanceOf(ShareTokenNotFoundException.class)
         .hasMessage("Share token [" + tokenValue + "] not found.");
 
@@ -71,7 +92,7 @@ class AccessHistoryByTokenTest {
 
     when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.of(expiredToken));
 
-    assertThatThrownBy(() -> accessHistoryByToken.execute(tokenValue))
+    assertThatThrownBy(() -> accessHistoryByToken.execute(tokenValue, null, null, null, 50))
         .isInstanceOf(ShareTokenExpiredException.class)
         .hasMessage("Share token [" + tokenValue + "] has expired.");
 
@@ -0,0 +1,140 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.exception.DomainException;
+import com.api.mysushistory.core.domain.valueobject.JournaledMedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class DrainMedicalRecordJournalTest {
+
+  private final MedicalRecordJournalGateway journalGateway =
+      mock(MedicalRecordJournalGateway.class);
+  private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final MedicalRecordStreamGateway streamGateway = mock(MedicalRecordStreamGateway.class);
+  private final PatientGateway patientGateway = mock(PatientGateway.class);
+  private final DrainMedicalRecordJournal drainMedicalRecordJournal =
+      new DrainMedicalRecordJournal(journalGateway, recordGateway, streamGateway, patientGateway);
+
+  @Test
+  void shouldSaveAndPublishPendingRecords() {
+    final var first = journaled(1L, "Gripe");
+    final var second = journaled(2L, "Dengue");
+    final var firstSaved = saved(10L, first);
+    final var secondSaved = saved(11L, second);
+
+    when(journalGateway.pending(50)).thenReturn(List.of(first, second));
+    when(recordGateway.save(first.medicalRecord(), 1L)).thenReturn(firstSaved);
+    when(recordGateway.save(second.medicalRecord(), 2L)).thenReturn(secondSaved);
+
+    final var saved = drainMedicalRecordJournal.execute(50);
+
+    assertThat(saved).isEqualTo(2);
+
+    final var inOrder = inOrder(recordGateway, journalGateway, streamGateway);
+    inOrder.verify(recordGateway).save(first.medicalRecord(), 1L);
+    inOrder.verify(journalGateway).markSaved(first.trackingId(), 10L);
+    inOrder.verify(streamGateway).publish(1L, firstSaved);
+    inOrder.verify(recordGateway).save(second.medicalRecord(), 2L);
+    inOrder.verify(journalGateway).markSaved(second.trackingId(), 11L);
+    inOrder.verify(streamGateway).publish(2L, secondSaved);
+  }
+
+  @Test
+  void shouldRetryLaterAndContinueWhenSaveFailsForExistingPatient() {
+    final var first = journaled(1L, "Gripe");
+    final var second = journaled(2L, "Dengue");
+
+    when(journalGateway.pending(50)).thenReturn(List.of(first, second));
+    when(recordGateway.save(first.medicalRecord(), 1L))
+        .thenThrow(new IllegalStateException("database unavailable"));
+    when(recordGateway.save(second.medicalRecord(), 2L)).thenReturn(saved(11L, second));
+    when(patientGateway.existsById(1L)).thenReturn(true);
+
+    final var saved = drainMedicalRecordJournal.execute(50);
+
+    assertThat(saved).isEqualTo(1);
+
+    verify(journalGateway).retryLater(first.trackingId(), "database unavailable");
+    verify(journalGateway, never()).markFailed(any(), any());
+    verify(journalGateway, never()).markSaved(eq(first.trackingId()), any());
+    verify(journalGateway).markSaved(second.trackingId(), 11L);
+    verify(streamGateway, never()).publish(eq(1L), any());
+  }
+
+  @Test
+  void shouldRetryLaterWhenPatientCannotBeCheckedEither() {
+    final var pending = journaled(1L, "Gripe");
+
+    when(journalGateway.pending(50)).thenReturn(List.of(pending));
+    when(recordGateway.save(pending.medicalRecord(), 1L))
+        .thenThrow(new IllegalStateException("database unavailable"));
+    when(patientGateway.existsById(1L)).thenThrow(new IllegalStateException("still unavailable"));
+
+    drainMedicalRecordJournal.execute(50);
+
+    verify(journalGateway).retryLater(pending.trackingId(), "database unavailable");
+    verify(journalGateway, never()).markFailed(any(), any());
+  }
+
+  @Test
+  void shouldMarkFailedWhenPatientNoLongerExists() {
+    final var pending = journaled(1L, "Gripe");
+
+    when(journalGateway.pending(50)).thenReturn(List.of(pending));
+    when(recordGateway.save(pending.medicalRecord(), 1L))
+        .thenThrow(new IllegalStateException("PatientEntity with id=[1] not found."));
+    when(patientGateway.existsById(1L)).thenReturn(false);
+
+    drainMedicalRecordJournal.execute(50);
+
+    verify(journalGateway).markFailed(pending.trackingId(), "PatientEntity with id=[1] not found.");
+    verify(journalGateway, never()).retryLater(any(), any());
+  }
+
+  @Test
+  void shouldMarkFailedWhenRecordIsRejectedByTheDomain() {
+    final var pending = journaled(1L, "Gripe");
+
+    when(journalGateway.pending(50)).thenReturn(List.of(pending));
+    when(recordGateway.save(pending.medicalRecord(), 1L))
+        .thenThrow(new DomainException(List.of("diagnosis is required")));
+
+    drainMedicalRecordJournal.execute(50);
+
+    verify(journalGateway).markFailed(pending.trackingId(), "diagnosis is required");
+    verifyNoInteractions(patientGateway);
+  }
+
+  private static JournaledMedicalRecord journaled(final Long patientId, final String diagnosis) {
+    return new JournaledMedicalRecord(
+        UUID.randomUUID(),
+        patientId,
+        MedicalRecord.createMedicalRecord(
+            LocalDateTime.now(), "UBS Central", "Dra. Ana Lima", diagnosis, "Repouso", "-"));
+  }
+
+  private static MedicalRecord saved(final Long id, final JournaledMedicalRecord journaled) {
+    final var record = journaled.medicalRecord();
+
+    return new MedicalRecord(
+        id,
+        record.getDate(),
+        record.getUnit(),
+        record.getProfessionalName(),
+        record.getDiagnosis(),
+        record.getTreatment(),
+        record.getNotes());
+  }
+}
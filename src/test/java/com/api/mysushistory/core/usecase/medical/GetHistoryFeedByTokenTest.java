@@ -0,0 +1,52 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class GetHistoryFeedByTokenTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final GetHistoryFeedByToken getHistoryFeedByToken =
+      new GetHistoryFeedByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), recordGateway);
+
+  @Test
+  void shouldReturnFeedOfTokenPatient() {
+    final var tokenValue = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, tokenValue, 60, LocalDateTime.now(), 42L);
+    final var feed = new HistoryFeed(List.of(), 10L, false);
+
+    when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.of(shareToken));
+    when(recordGateway.findFeedByPatientId(42L, 10L, 100)).thenReturn(feed);
+
+    assertThat(getHistoryFeedByToken.execute(tokenValue, 10L, 100)).isSameAs(feed);
+  }
+
+  @Test
+  void shouldNotReadFeedWhenTokenIsUnknown() {
+    final var tokenValue = UUID.randomUUID().toString();
+
+    when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> getHistoryFeedByToken.execute(tokenValue, 0L, 100))
+        .isInstanceOf(ShareTokenNotFoundException.class);
+
+    verifyNoInteractions(recordGateway);
+  }
+}
@@ -0,0 +1,44 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.gateway.MedicalRecordJournalGateway;
+import com.api.mysushistory.core.usecase.exception.RecordRegistrationNotFoundException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class GetRecordRegistrationTest {
+
+  private final MedicalRecordJournalGateway journalGateway =
+      mock(MedicalRecordJournalGateway.class);
+  private final GetRecordRegistration getRecordRegistration =
+      new GetRecordRegistration(journalGateway);
+
+  @Test
+  void shouldReturnRegistrationByTrackingId() {
+    final var trackingId = UUID.randomUUID();
+    final var registration =
+        RecordRegistration.accepted(trackingId, LocalDateTime.now())
+            .saved(10L, LocalDateTime.now());
+
+    when(journalGateway.findByTrackingId(trackingId)).thenReturn(Optional.of(registration));
+
+    assertThat(getRecordRegistration.execute(trackingId)).isEqualTo(registration);
+  }
+
+  @Test
+  void shouldThrowWhenTrackingIdIsUnknown() {
+    final var trackingId = UUID.randomUUID();
+
+    when(journalGateway.findByTrackingId(trackingId)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> getRecordRegistration.execute(trackingId))
+        .isInstanceOf(RecordRegistrationNotFoundException.class)
+        .hasMessage("Medical record registration [" + trackingId + "] not found.");
+  }
+}
@@ -9,9 +9,12 @@ import static org.mockito.Mockito.*;
 import com.api.mysushistory.core.domain.MedicalRecord;
 import com.api.mysushistory.core.domain.ShareToken;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
 import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
 import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
 import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,9 +23,12 @@ import org.junit.jupiter.api.Test;
 class RegisterMedicalRecordByTokenTest {
 
   private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
   private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final MedicalRecordStreamGateway streamGateway = mock(MedicalRecordStreamGateway.class);
   private final RegisterMedicalRecordByToken registerMedicalRecordByToken =
-      new RegisterMedicalRecordByToken(tokenGateway, recordGateway);
+      new RegisterMedicalRecordByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), recordGateway, streamGateway);
 
   @Test
   void shouldRegisterMedicalRecordSuccessfully() {
@@ -49,6 +55,7 @@ class RegisterMedicalRecordByTokenTest {
 
     verify(tokenGateway).findByAccessToken(token);
     verify(recordGateway).save(any(MedicalRecord.class), eq(patientId));
+    verify(streamGateway).publish(patientId, expectedRecord);
   }
 
   @Test
@@ -65,7 +72,7 @@ class RegisterMedicalRecordByTokenTest {
         .hasMessage("Share token [" + token + "] not found.");
 
     verify(tokenGateway).findByAccessToken(token);
-    verifyNoInteractions(recordGateway);
+    verifyNoInteractions(recordGateway, streamGateway);
   }
 
   @Test
@@ -83,6 +90,6 @@ class RegisterMedicalRecordByTokenTest {
         .hasMessage("Share token [" + token + "] has expired.");
 
     verify(tokenGateway).findByAccessToken(token);
-    verifyNoInteractions(recordGateway);
+    verifyNoInteractions(recordGateway, streamGateway);
   }
 }
@@ -0,0 +1,66 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RegisterMedicalRecordsByTokenTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final MedicalRecordStreamGateway streamGateway = mock(MedicalRecordStreamGateway.class);
+  private final RegisterMedicalRecordsByToken registerMedicalRecordsByToken =
+      new RegisterMedicalRecordsByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), recordGateway, streamGateway);
+
+  @Test
+  void shouldValidateTokenOnceAndSaveAllRecords() {
+    final var token = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, token, 60, LocalDateTime.now(), 42L);
+    final var now = LocalDateTime.now();
+    final var records =
+        List.of(
+            MedicalRecord.createMedicalRecord(now, "UBS", "Dr.", "Gripe", "Repouso", "-"),
+            MedicalRecord.createMedicalRecord(now, "UBS", "Dr.", "Asma", "Bombinha", "-"));
+    final var saved =
+        List.of(
+            new MedicalRecord(1L, now, "UBS", "Dr.", "Gripe", "Repouso", "-"),
+            new MedicalRecord(2L, now, "UBS", "Dr.", "Asma", "Bombinha", "-"));
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.of(shareToken));
+    when(recordGateway.saveAll(records, 42L)).thenReturn(saved);
+
+    assertThat(registerMedicalRecordsByToken.execute(token, records)).isEqualTo(saved);
+
+    verify(tokenGateway).findByAccessToken(token);
+    verify(streamGateway).publish(42L, saved.get(0));
+    verify(streamGateway).publish(42L, saved.get(1));
+  }
+
+  @Test
+  void shouldNotSaveWhenTokenIsUnknown() {
+    final var token = UUID.randomUUID().toString();
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> registerMedicalRecordsByToken.execute(token, List.of()))
+        .isInstanceOf(ShareTokenNotFoundException.class);
+
+    verifyNoInteractions(recordGateway, streamGateway);
+  }
+}
@@ -0,0 +1,68 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidSearchQueryException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SearchHistoryByTokenTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final SearchHistoryByToken searchHistoryByToken =
+      new SearchHistoryByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), recordGateway);
+
+  @Test
+  void shouldSearchPatientHistoryOfValidToken() {
+    final var tokenValue = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, tokenValue, 60, LocalDateTime.now(), 42L);
+    final var page = new HistorySearchPage(List.of(), 0, null);
+
+    when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.of(shareToken));
+    when(recordGateway.searchByPatientId(42L, "dengue", 0, 20)).thenReturn(page);
+
+    assertThat(searchHistoryByToken.execute(tokenValue, "dengue", 0, 20)).isSameAs(page);
+  }
+
+  @Test
+  void shouldRejectBlankQueryBeforeValidatingToken() {
+    assertThatThrownBy(() -> searchHistoryByToken.execute("token", " ", 0, 20))
+        .isInstanceOf(InvalidSearchQueryException.class)
+        .hasMessage("Search query=[ ] is not valid.");
+
+    verifyNoInteractions(tokenGateway, recordGateway);
+  }
+
+  @Test
+  void shouldRejectTooLongQuery() {
+    assertThatThrownBy(() -> searchHistoryByToken.execute("token", "a".repeat(201), 0, 20))
+        .isInstanceOf(InvalidSearchQueryException.class);
+  }
+
+  @Test
+  void shouldNotSearchWhenTokenIsUnknown() {
+    final var tokenValue = UUID.randomUUID().toString();
+
+    when(tokenGateway.findByAccessToken(tokenValue)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> searchHistoryByToken.execute(tokenValue, "dengue", 0, 20))
+        .isInstanceOf(ShareTokenNotFoundException.class);
+
+    verifyNoInteractions(recordGateway);
+  }
+}
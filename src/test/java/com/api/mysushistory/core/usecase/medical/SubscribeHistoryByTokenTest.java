@@ -0,0 +1,54 @@
+package com.api.mysushistory.core.usecase.medical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscription;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
+import com.api.mysushistory.core.usecase.token.ValidateShareToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SubscribeHistoryByTokenTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordStreamGateway streamGateway = mock(MedicalRecordStreamGateway.class);
+  private final SubscribeHistoryByToken subscribeHistoryByToken =
+      new SubscribeHistoryByToken(
+          new ValidateShareToken(tokenGateway, signedTokenGateway), streamGateway);
+
+  @Test
+  void shouldSubscribeUntilTokenExpires() {
+    final var token = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, token, 60, LocalDateTime.now(), 42L);
+    final var subscriber = mock(HistorySubscriber.class);
+    final var subscription = mock(HistorySubscription.class);
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.of(shareToken));
+    when(streamGateway.subscribe(shareToken, subscriber)).thenReturn(subscription);
+
+    assertThat(subscribeHistoryByToken.execute(token, subscriber)).isSameAs(subscription);
+  }
+
+  @Test
+  void shouldNotSubscribeWithExpiredToken() {
+    final var token = UUID.randomUUID().toString();
+    final var shareToken = new ShareToken(1L, token, 1, LocalDateTime.now().minusMinutes(10), 42L);
+
+    when(tokenGateway.findByAccessToken(token)).thenReturn(Optional.of(shareToken));
+
+    assertThatThrownBy(() -> subscribeHistoryByToken.execute(token, mock(HistorySubscriber.class)))
+        .isInstanceOf(ShareTokenExpiredException.class);
+
+    verifyNoInteractions(streamGateway);
+  }
+}
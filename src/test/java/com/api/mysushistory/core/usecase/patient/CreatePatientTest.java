@@ -24,7 +24,7 @@ class CreatePatientTest {
         new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
     final ArgumentCaptor<Patient> patientCaptor = ArgumentCaptor.forClass(Patient.class);
 
-    when(gateway.findByCpf("12345678900")).thenReturn(empty());
+    when(gateway.findSummaryByCpf("12345678900")).thenReturn(empty());
     when(gateway.save(patientCaptor.capture())).thenReturn(gatewayResponse);
 
     final var response =
@@ -32,7 +32,7 @@ class CreatePatientTest {
 
     assertThat(response).isEqualTo(gatewayResponse);
 
-    verify(gateway).findByCpf("12345678900");
+    verify(gateway).findSummaryByCpf("12345678900");
 
     final var patientCaptured = patientCaptor.getValue();
     verify(gateway).save(patientCaptured);
@@ -49,14 +49,14 @@ class CreatePatientTest {
     final var gatewayResponse =
         new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
 
-    when(gateway.findByCpf("12345678900")).thenReturn(Optional.of(gatewayResponse));
+    when(gateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(gatewayResponse));
 
     assertThatThrownBy(
             () -> this.createPatient.execute("John Doe", "12345678900", LocalDate.of(1990, 1, 1)))
         .isInstanceOf(PatientAlreadyExistsException.class)
         .hasMessage("Patient with cpf=[12345678900] already exists.");
 
-    verify(gateway).findByCpf("12345678900");
+    verify(gateway).findSummaryByCpf("12345678900");
     verifyNoMoreInteractions(gateway);
   }
 }
@@ -0,0 +1,50 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class ExportPatientHistoryTest {
+
+  private final PatientGateway patientGateway = mock(PatientGateway.class);
+  private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
+  private final ExportPatientHistory exportPatientHistory =
+      new ExportPatientHistory(patientGateway, recordGateway);
+
+  @Test
+  void shouldStreamRecordsOnlyWhenExportIsWritten() {
+    final Consumer<MedicalRecord> consumer = it -> {};
+
+    when(patientGateway.findIdByCpf("12345678900")).thenReturn(Optional.of(1L));
+    when(recordGateway.streamByPatientId(1L, consumer)).thenReturn(3L);
+
+    final var export = exportPatientHistory.execute("12345678900");
+
+    verify(recordGateway, never()).streamByPatientId(any(), any());
+
+    assertThat(export.writeTo(consumer)).isEqualTo(3L);
+
+    verify(recordGateway).streamByPatientId(eq(1L), eq(consumer));
+  }
+
+  @Test
+  void shouldThrowPatientNotFoundExceptionBeforeStreaming() {
+    when(patientGateway.findIdByCpf("12345678900")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> exportPatientHistory.execute("12345678900"))
+        .isInstanceOf(PatientNotFoundException.class)
+        .hasMessage("Patient with identifier=[12345678900] not found.");
+
+    verifyNoInteractions(recordGateway);
+  }
+}
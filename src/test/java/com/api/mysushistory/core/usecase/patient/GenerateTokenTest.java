@@ -2,15 +2,21 @@ package com.api.mysushistory.core.usecase.patient;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.api.mysushistory.core.domain.Patient;
 import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.TokenMode;
+import com.api.mysushistory.core.gateway.AccessTokenPoolGateway;
 import com.api.mysushistory.core.gateway.PatientGateway;
 import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
 import com.api.mysushistory.core.usecase.exception.InvalidTokenExpirationException;
 import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenLimitExceededException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -21,7 +27,11 @@ class GenerateTokenTest {
 
   private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
   private final PatientGateway patientGateway = mock(PatientGateway.class);
-  private final GenerateToken generateToken = new GenerateToken(tokenGateway, patientGateway);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final AccessTokenPoolGateway accessTokenPoolGateway = mock(AccessTokenPoolGateway.class);
+  private final GenerateToken generateToken =
+      new GenerateToken(
+          tokenGateway, patientGateway, signedTokenGateway, accessTokenPoolGateway, 0);
 
   @Test
   void shouldGenerateTokenSuccessfully() {
@@ -29,43 +39,145 @@ class GenerateTokenTest {
     final ArgumentCaptor<ShareToken> tokenCaptor = ArgumentCaptor.forClass(ShareToken.class);
     var gatewayResponse = new ShareToken(10L, "abc-token", 15, LocalDateTime.now(), 1L);
 
-    when(patientGateway.findByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("pooled-token");
     when(tokenGateway.save(tokenCaptor.capture(), eq(1L))).thenReturn(gatewayResponse);
 
     var response = generateToken.execute("12345678900", 15);
 
     assertThat(response).isEqualTo(gatewayResponse);
 
-    verify(patientGateway).findByCpf("12345678900");
+    verify(patientGateway).findSummaryByCpf("12345678900");
 
     var tokenCaptured = tokenCaptor.getValue();
     verify(tokenGateway).save(tokenCaptured, 1L);
 
     assertThat(tokenCaptured.getId()).isNull();
-    assertThat(tokenCaptured.getAccessToken()).isNotBlank();
+    assertThat(tokenCaptured.getAccessToken()).isEqualTo("pooled-token");
     assertThat(tokenCaptured.getExpiresInMinutes()).isEqualTo(15);
     assertThat(tokenCaptured.getCreatedAt()).isBefore(LocalDateTime.now());
     assertThat(tokenCaptured.getPatientId()).isEqualTo(1L);
   }
 
+  @Test
+  void shouldIssueSignedTokenWithoutPersistingIt() {
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+    final var signedToken = new ShareToken(null, "st.k1.payload.sig", 15, LocalDateTime.now(), 1L);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(signedTokenGateway.issue(eq(1L), eq(15), any())).thenReturn(signedToken);
+
+    final var response = generateToken.execute("12345678900", 15, TokenMode.SIGNED);
+
+    assertThat(response).isEqualTo(signedToken);
+
+    verifyNoInteractions(tokenGateway, accessTokenPoolGateway);
+  }
+
+  @Test
+  void shouldReuseTokenThatOutlivesRequestedExpiration() {
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+    final var existing = new ShareToken(10L, "existing-token", 60, LocalDateTime.now(), 1L);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(tokenGateway.findReusable(eq(1L), any())).thenReturn(Optional.of(existing));
+
+    final var response = generateToken.execute("12345678900", 15, TokenMode.OPAQUE, true);
+
+    assertThat(response.shareToken()).isEqualTo(existing);
+    assertThat(response.reused()).isTrue();
+
+    final var minExpiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(tokenGateway).findReusable(eq(1L), minExpiresAt.capture());
+    assertThat(minExpiresAt.getValue()).isAfter(LocalDateTime.now().plusMinutes(14));
+    verify(tokenGateway, never()).save(any(), any());
+    verifyNoInteractions(accessTokenPoolGateway);
+  }
+
+  @Test
+  void shouldCreateTokenWhenNothingIsReusable() {
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+    final var saved = new ShareToken(11L, "pooled-token", 15, LocalDateTime.now(), 1L);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(tokenGateway.findReusable(eq(1L), any())).thenReturn(Optional.empty());
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("pooled-token");
+    when(tokenGateway.save(any(), eq(1L))).thenReturn(saved);
+
+    final var response = generateToken.execute("12345678900", 15, TokenMode.OPAQUE, true);
+
+    assertThat(response.shareToken()).isEqualTo(saved);
+    assertThat(response.reused()).isFalse();
+  }
+
+  @Test
+  void shouldNotLookForReusableTokenByDefault() {
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("pooled-token");
+
+    generateToken.execute("12345678900", 15);
+
+    verify(tokenGateway, never()).findReusable(any(), any());
+    verify(tokenGateway, never()).saveWithinLimit(any(), any(), anyInt());
+  }
+
+  @Test
+  void shouldThrowShareTokenLimitExceededExceptionWhenCapReached() {
+    final var cappedGenerateToken =
+        new GenerateToken(
+            tokenGateway, patientGateway, signedTokenGateway, accessTokenPoolGateway, 3);
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("pooled-token");
+    when(tokenGateway.saveWithinLimit(any(), eq(1L), eq(3))).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> cappedGenerateToken.execute("12345678900", 15))
+        .isInstanceOf(ShareTokenLimitExceededException.class)
+        .hasMessage(
+            "Patient with identifier=[12345678900] already has the maximum of [3] active tokens.");
+
+    verify(tokenGateway, never()).save(any(), any());
+  }
+
+  @Test
+  void shouldCreateTokenWhenBelowCap() {
+    final var cappedGenerateToken =
+        new GenerateToken(
+            tokenGateway, patientGateway, signedTokenGateway, accessTokenPoolGateway, 3);
+    final var patient = new Patient(1L, "John Doe", "12345678900", LocalDate.of(1990, 1, 1), null);
+
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.of(patient));
+    final var saved = new ShareToken(11L, "pooled-token", 15, LocalDateTime.now(), 1L);
+
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("pooled-token");
+    when(tokenGateway.saveWithinLimit(any(), eq(1L), eq(3))).thenReturn(Optional.of(saved));
+
+    assertThat(cappedGenerateToken.execute("12345678900", 15)).isEqualTo(saved);
+
+    verify(tokenGateway, never()).save(any(), any());
+  }
+
   @Test
   void shouldThrowInvalidTokenExpirationExceptionWhenNonPositive() {
     assertThatThrownBy(() -> generateToken.execute("12345678900", 0))
         .isInstanceOf(InvalidTokenExpirationException.class)
         .hasMessage("Expiration time must be greater than zero.");
 
-    verifyNoInteractions(patientGateway, tokenGateway);
+    verifyNoInteractions(patientGateway, tokenGateway, signedTokenGateway);
   }
 
   @Test
   void shouldThrowPatientNotFoundExceptionWhenPatientMissing() {
-    when(patientGateway.findByCpf("12345678900")).thenReturn(Optional.empty());
+    when(patientGateway.findSummaryByCpf("12345678900")).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> generateToken.execute("12345678900", 10))
         .isInstanceOf(PatientNotFoundException.class)
         .hasMessage("Patient with identifier=[12345678900] not found.");
 
-    verify(patientGateway).findByCpf("12345678900");
+    verify(patientGateway).findSummaryByCpf("12345678900");
     verifyNoMoreInteractions(tokenGateway);
   }
 }
@@ -0,0 +1,70 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.AccessTokenPoolGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidTokenExpirationException;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class GenerateTokensTest {
+
+  private final ShareTokenGateway tokenGateway = mock(ShareTokenGateway.class);
+  private final PatientGateway patientGateway = mock(PatientGateway.class);
+  private final AccessTokenPoolGateway accessTokenPoolGateway = mock(AccessTokenPoolGateway.class);
+  private final GenerateTokens generateTokens =
+      new GenerateTokens(tokenGateway, patientGateway, accessTokenPoolGateway);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldGenerateOneTokenPerDistinctPatient() {
+    final ArgumentCaptor<List<ShareToken>> tokensCaptor = ArgumentCaptor.forClass(List.class);
+
+    when(patientGateway.findIdsByCpf(Set.of("11111111111", "22222222222")))
+        .thenReturn(Map.of("11111111111", 1L, "22222222222", 2L));
+    when(accessTokenPoolGateway.nextAccessToken()).thenReturn("token-1", "token-2");
+    when(tokenGateway.saveAll(tokensCaptor.capture())).thenAnswer(it -> it.getArgument(0));
+
+    final var response =
+        generateTokens.execute(List.of("11111111111", "22222222222", "11111111111"), 30);
+
+    assertThat(response).hasSize(2);
+
+    final var tokens = tokensCaptor.getValue();
+    assertThat(tokens).extracting(ShareToken::getPatientId).containsExactly(1L, 2L);
+    assertThat(tokens).extracting(ShareToken::getAccessToken).containsExactly("token-1", "token-2");
+    assertThat(tokens).extracting(ShareToken::getExpiresInMinutes).containsOnly(30);
+    assertThat(tokens.get(0).getCreatedAt()).isEqualTo(tokens.get(1).getCreatedAt());
+  }
+
+  @Test
+  void shouldThrowPatientNotFoundExceptionListingMissingCpfs() {
+    when(patientGateway.findIdsByCpf(Set.of("11111111111", "22222222222", "33333333333")))
+        .thenReturn(Map.of("22222222222", 2L));
+
+    assertThatThrownBy(
+            () -> generateTokens.execute(List.of("11111111111", "22222222222", "33333333333"), 30))
+        .isInstanceOf(PatientNotFoundException.class)
+        .hasMessage("Patient with identifier=[11111111111,33333333333] not found.");
+
+    verify(tokenGateway, never()).saveAll(anyList());
+  }
+
+  @Test
+  void shouldThrowInvalidTokenExpirationExceptionWhenNonPositive() {
+    assertThatThrownBy(() -> generateTokens.execute(List.of("11111111111"), 0))
+        .isInstanceOf(InvalidTokenExpirationException.class);
+
+    verifyNoInteractions(patientGateway, tokenGateway, accessTokenPoolGateway);
+  }
+}
@@ -0,0 +1,156 @@
+package com.api.mysushistory.core.usecase.patient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.Patient;
+import com.api.mysushistory.core.domain.valueobject.PatientImportReport;
+import com.api.mysushistory.core.domain.valueobject.PatientImportRow;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ImportPatientsTest {
+
+  private final PatientGateway gateway = mock(PatientGateway.class);
+  private final ImportPatients importPatients = new ImportPatients(gateway);
+  private final List<PatientImportReport> progress = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    when(gateway.findExistingCpfs(anyCollection())).thenReturn(Set.of());
+    when(gateway.saveAll(anyList())).thenAnswer(it -> it.<List<Patient>>getArgument(0).size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldInsertValidRowsInBatches() {
+    final var rows =
+        LongStream.rangeClosed(1, 5)
+            .mapToObj(i -> PatientImportRow.of(i, "Patient " + i, cpf(i), "1990-01-01"));
+
+    final var report = importPatients.execute(rows, 2, progress::add);
+
+    final var batches = ArgumentCaptor.forClass(List.class);
+    verify(gateway, times(3)).saveAll(batches.capture());
+    assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+    assertThat(progress).extracting(PatientImportReport::imported).containsExactly(2L, 4L);
+    assertThat(report.rows()).isEqualTo(5);
+    assertThat(report.imported()).isEqualTo(5);
+    assertThat(report.rejected()).isZero();
+    assertThat(report.elapsed()).isPositive();
+  }
+
+  @Test
+  void shouldSkipCpfsAlreadyStoredOrRepeatedInFile() {
+    when(gateway.findExistingCpfs(anyCollection())).thenReturn(Set.of(cpf(1)));
+
+    final var rows =
+        Stream.of(
+            PatientImportRow.of(1, "Stored", cpf(1), "1990-01-01"),
+            PatientImportRow.of(2, "New", cpf(2), "1990-01-01"),
+            PatientImportRow.of(3, "Repeated", cpf(2), "1990-01-01"));
+
+    final var report = importPatients.execute(rows, 100, progress::add);
+
+    verify(gateway).findExistingCpfs(List.of(cpf(1), cpf(2)));
+    verify(gateway).saveAll(argThat(it -> it.size() == 1 && it.get(0).getCpf().equals(cpf(2))));
+    assertThat(report.imported()).isEqualTo(1);
+    assertThat(report.duplicates()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectInvalidRowsWithLineAndReason() {
+    final var rows =
+        Stream.of(
+            PatientImportRow.of(2, "Bad CPF", "123", "1990-01-01"),
+            PatientImportRow.of(3, "Bad date", cpf(3), "01/01/1990"),
+            PatientImportRow.malformed(4, "Row has [2] columns, expected [3]"),
+            PatientImportRow.of(5, "Valid", cpf(5), "1990-01-01"));
+
+    final var report = importPatients.execute(rows, 100, progress::add);
+
+    assertThat(report.imported()).isEqualTo(1);
+    assertThat(report.rejected()).isEqualTo(3);
+    assertThat(report.rejections())
+        .satisfiesExactly(
+            it -> {
+              assertThat(it.line()).isEqualTo(2);
+              assertThat(it.cpf()).isEqualTo("123");
+              assertThat(it.reason()).contains("cpf");
+            },
+            it ->
+                assertThat(it.reason())
+                    .isEqualTo("Field=[birthDate] has an invalid date=[01/01/1990]"),
+            it -> assertThat(it.reason()).isEqualTo("Row has [2] columns, expected [3]"));
+  }
+
+  @Test
+  void shouldCapReportedRejections() {
+    final var rows =
+        LongStream.rangeClosed(1, 150).mapToObj(i -> PatientImportRow.of(i, "", cpf(i), ""));
+
+    final var report = importPatients.execute(rows, 100, progress::add);
+
+    assertThat(report.rejected()).isEqualTo(150);
+    assertThat(report.rejections()).hasSize(100);
+    verify(gateway, never()).saveAll(anyList());
+  }
+
+  @Test
+  void shouldRetryBatchOneByOneAndRejectCpfsRegisteredConcurrently() {
+    when(gateway.saveAll(anyList()))
+        .thenAnswer(
+            it -> {
+              final List<Patient> patients = it.getArgument(0);
+
+              if (patients.size() > 1 || patients.get(0).getCpf().equals(cpf(2))) {
+                throw new IllegalStateException("duplicate key");
+              }
+              return 1;
+            });
+    when(gateway.findExistingCpfs(List.of(cpf(2)))).thenReturn(Set.of(cpf(2)));
+
+    final var rows =
+        LongStream.rangeClosed(1, 3)
+            .mapToObj(i -> PatientImportRow.of(i + 1, "Patient " + i, cpf(i), "1990-01-01"));
+
+    final var report = importPatients.execute(rows, 100, progress::add);
+
+    assertThat(report.imported()).isEqualTo(2);
+    assertThat(report.rejected()).isEqualTo(1);
+    assertThat(report.rejections())
+        .singleElement()
+        .satisfies(
+            it -> {
+              assertThat(it.line()).isEqualTo(3);
+              assertThat(it.cpf()).isEqualTo(cpf(2));
+              assertThat(it.reason())
+                  .isEqualTo("Patient with CPF=[00000000002] was registered while importing");
+            });
+  }
+
+  @Test
+  void shouldAbortWhenSingleRowFailsForAnotherReason() {
+    when(gateway.saveAll(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+
+    final var rows = Stream.of(PatientImportRow.of(2, "Patient", cpf(1), "1990-01-01"));
+
+    assertThatThrownBy(() -> importPatients.execute(rows, 100, progress::add))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("database unavailable");
+  }
+
+  private static String cpf(final long i) {
+    return String.format("%011d", i);
+  }
+}
@@ -5,9 +5,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
-import com.api.mysushistory.core.domain.Patient;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
 import com.api.mysushistory.core.gateway.MedicalRecordGateway;
-import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryCursorException;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryPeriodException;
 import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,47 +21,111 @@ import org.junit.jupiter.api.Test;
 
 class SearchPatientHistoryTest {
 
-  private final PatientGateway patientGateway = mock(PatientGateway.class);
   private final MedicalRecordGateway recordGateway = mock(MedicalRecordGateway.class);
-  private final SearchPatientHistory searchPatientHistory =
-      new SearchPatientHistory(patientGateway, recordGateway);
+  private final SearchPatientHistory searchPatientHistory = new SearchPatientHistory(recordGateway);
 
   @Test
   void shouldReturnMedicalRecordsWhenPatientExists() {
     final var cpf = "12345678900";
-    final var patient = new Patient(1L, "John Doe", cpf, LocalDate.of(1990, 1, 1), null);
     final var gatewayResponse =
-        List.of(
-            new MedicalRecord(
-                1L,
-                LocalDateTime.of(2022, 1, 1, 0, 0),
-                "UBS Jardim das Flores",
-                "Dra. Mariana Silva",
-                "Hipertensão arterial",
-                "Uso contínuo de losartana 50mg",
-                "Paciente será reavaliado em 30 dias"));
+        HistoryPage.of(
+            List.of(
+                new MedicalRecord(
+                    1L,
+                    LocalDateTime.of(2022, 1, 1, 0, 0),
+                    "UBS Jardim das Flores",
+                    "Dra. Mariana Silva",
+                    "Hipertensão arterial",
+                    "Uso contínuo de losartana 50mg",
+                    "Paciente será reavaliado em 30 dias")),
+            50);
 
-    when(patientGateway.findByCpf(cpf)).thenReturn(Optional.of(patient));
-    when(recordGateway.findByPatientCpf(cpf)).thenReturn(gatewayResponse);
+    when(recordGateway.findPageByPatientCpf(cpf, HistoryPeriod.UNBOUNDED, null, 50))
+        .thenReturn(Optional.of(gatewayResponse));
 
-    final var response = searchPatientHistory.execute(cpf);
+    final var response = searchPatientHistory.execute(cpf, null, null, null, 50);
 
     assertThat(response).isSameAs(gatewayResponse);
-    verify(patientGateway).findByCpf(cpf);
-    verify(recordGateway).findByPatientCpf(cpf);
+    verify(recordGateway).findPageByPatientCpf(cpf, HistoryPeriod.UNBOUNDED, null, 50);
+    verifyNoMoreInteractions(recordGateway);
+  }
+
+  @Test
+  void shouldContinueFromCursor() {
+    final var cpf = "12345678900";
+    final var cursor = new HistoryCursor(LocalDateTime.of(2022, 1, 1, 0, 0), 9L);
+    final var gatewayResponse = new HistoryPage(List.of(), null);
+
+    when(recordGateway.findPageByPatientCpf(cpf, HistoryPeriod.UNBOUNDED, cursor, 20))
+        .thenReturn(Optional.of(gatewayResponse));
+
+    final var response = searchPatientHistory.execute(cpf, null, null, cursor.format(), 20);
+
+    assertThat(response).isSameAs(gatewayResponse);
+  }
+
+  @Test
+  void shouldThrowInvalidHistoryCursorExceptionWhenCursorIsMalformed() {
+    assertThatThrownBy(() -> searchPatientHistory.execute("12345678900", null, null, "???", 20))
+        .isInstanceOf(InvalidHistoryCursorException.class)
+        .hasMessage("Cursor=[???] is not valid.");
+
+    verifyNoInteractions(recordGateway);
+  }
+
+  @Test
+  void shouldPassPeriodToGateway() {
+    final var cpf = "12345678900";
+    final var from = LocalDate.of(2023, 6, 1);
+    final var to = LocalDate.of(2024, 5, 31);
+    final var gatewayResponse = new HistoryPage(List.of(), null);
+
+    when(recordGateway.findPageByPatientCpf(cpf, new HistoryPeriod(from, to), null, 50))
+        .thenReturn(Optional.of(gatewayResponse));
+
+    assertThat(searchPatientHistory.execute(cpf, from, to, null, 50)).isSameAs(gatewayResponse);
+  }
+
+  @Test
+  void shouldThrowInvalidHistoryPeriodExceptionWhenFromIsAfterTo() {
+    assertThatThrownBy(
+            () ->
+                searchPatientHistory.execute(
+                    "12345678900", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null, 50))
+        .isInstanceOf(InvalidHistoryPeriodException.class)
+        .hasMessage("Period from=[2024-02-01] to=[2024-01-01] is not valid.");
+
+    verifyNoInteractions(recordGateway);
+  }
+
+  @Test
+  void shouldReturnHistoryVersion() {
+    final var version = new HistoryVersion(1L, 3L);
+
+    when(recordGateway.findVersionByPatientCpf("12345678900")).thenReturn(Optional.of(version));
+
+    assertThat(searchPatientHistory.version("12345678900")).isEqualTo(version);
+  }
+
+  @Test
+  void shouldThrowPatientNotFoundExceptionWhenVersionMissing() {
+    when(recordGateway.findVersionByPatientCpf("12345678900")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> searchPatientHistory.version("12345678900"))
+        .isInstanceOf(PatientNotFoundException.class);
   }
 
   @Test
   void shouldThrowPatientNotFoundExceptionWhenPatientMissing() {
     final var cpf = "12345678900";
 
-    when(patientGateway.findByCpf(cpf)).thenReturn(Optional.empty());
+    when(recordGateway.findPageByPatientCpf(cpf, HistoryPeriod.UNBOUNDED, null, 50))
+        .thenReturn(Optional.empty());
 
-    assertThatThrownBy(() -> searchPatientHistory.execute(cpf))
+    assertThatThrownBy(() -> searchPatientHistory.execute(cpf, null, null, null, 50))
         .isInstanceOf(PatientNotFoundException.class)
         .hasMessage("Patient with identifier=[12345678900] not found.");
 
-    verify(patientGateway).findByCpf(cpf);
-    verifyNoInteractions(recordGateway);
+    verify(recordGateway).findPageByPatientCpf(cpf, HistoryPeriod.UNBOUNDED, null, 50);
   }
 }
@@ -0,0 +1,54 @@
+package com.api.mysushistory.core.usecase.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import java.time.LocalDate;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class BackfillDiagnosisRollupsTest {
+
+  private final DiagnosisReportGateway diagnosisReportGateway = mock(DiagnosisReportGateway.class);
+  private final BackfillDiagnosisRollups backfillDiagnosisRollups =
+      new BackfillDiagnosisRollups(diagnosisReportGateway);
+
+  @BeforeEach
+  void setUp() {
+    when(diagnosisReportGateway.blockingBackdatedIncrements(any()))
+        .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(0).getAsLong());
+  }
+
+  @Test
+  void shouldStageClosedDaysInIdChunksAndReplaceThemWhileBlockingBackdatedIncrements() {
+    final var today = LocalDate.now();
+
+    when(diagnosisReportGateway.findLastRecordId()).thenReturn(250L);
+    when(diagnosisReportGateway.stage(anyLong(), anyLong(), any())).thenReturn(100L, 100L, 50L);
+
+    assertThat(backfillDiagnosisRollups.execute(100)).isEqualTo(250L);
+
+    final InOrder order = inOrder(diagnosisReportGateway);
+    order.verify(diagnosisReportGateway).blockingBackdatedIncrements(any());
+    order.verify(diagnosisReportGateway).findLastRecordId();
+    order.verify(diagnosisReportGateway).clearStaging();
+    order.verify(diagnosisReportGateway).stage(eq(0L), eq(100L), any());
+    order.verify(diagnosisReportGateway).stage(eq(100L), eq(200L), any());
+    order.verify(diagnosisReportGateway).stage(eq(200L), eq(300L), any());
+    order.verify(diagnosisReportGateway).replaceBefore(argThat(it -> !it.isAfter(today)));
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  void shouldOnlyReplaceWhenThereAreNoRecords() {
+    when(diagnosisReportGateway.findLastRecordId()).thenReturn(0L);
+
+    assertThat(backfillDiagnosisRollups.execute(100)).isZero();
+
+    verify(diagnosisReportGateway, never()).stage(anyLong(), anyLong(), any());
+    verify(diagnosisReportGateway).replaceBefore(any());
+  }
+}
@@ -0,0 +1,53 @@
+package com.api.mysushistory.core.usecase.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import com.api.mysushistory.core.usecase.exception.InvalidReportPeriodException;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GetDiagnosisReportTest {
+
+  private final DiagnosisReportGateway diagnosisReportGateway = mock(DiagnosisReportGateway.class);
+  private final GetDiagnosisReport getDiagnosisReport =
+      new GetDiagnosisReport(diagnosisReportGateway);
+
+  @Test
+  void shouldReturnCountsOfPeriod() {
+    final var from = LocalDate.of(2024, 1, 1);
+    final var to = LocalDate.of(2024, 12, 31);
+    final var counts = List.of(new DiagnosisCount("UBS", from, "Gripe", 3L));
+
+    when(diagnosisReportGateway.findCounts(from, to, "UBS")).thenReturn(counts);
+
+    assertThat(getDiagnosisReport.execute(from, to, "UBS")).isSameAs(counts);
+  }
+
+  @Test
+  void shouldRejectPeriodEndingBeforeItStarts() {
+    assertThatThrownBy(
+            () ->
+                getDiagnosisReport.execute(
+                    LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1), null))
+        .isInstanceOf(InvalidReportPeriodException.class);
+
+    verifyNoInteractions(diagnosisReportGateway);
+  }
+
+  @Test
+  void shouldRejectPeriodLongerThanAYear() {
+    assertThatThrownBy(
+            () ->
+                getDiagnosisReport.execute(
+                    LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 2), null))
+        .isInstanceOf(InvalidReportPeriodException.class)
+        .hasMessage(
+            "Report period from=[2023-01-01] to=[2024-01-02] is not valid, it must span at most"
+                + " 366 days.");
+  }
+}
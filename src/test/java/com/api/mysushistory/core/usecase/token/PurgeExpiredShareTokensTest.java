@@ -0,0 +1,38 @@
+package com.api.mysushistory.core.usecase.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import org.junit.jupiter.api.Test;
+
+class PurgeExpiredShareTokensTest {
+
+  private final ShareTokenGateway shareTokenGateway = mock(ShareTokenGateway.class);
+  private final PurgeExpiredShareTokens purgeExpiredShareTokens =
+      new PurgeExpiredShareTokens(shareTokenGateway);
+
+  @Test
+  void shouldDeleteInBatchesUntilAPartialBatch() {
+    when(shareTokenGateway.deleteExpired(any(), eq(100))).thenReturn(100, 100, 42);
+
+    final var deleted = purgeExpiredShareTokens.execute(100);
+
+    assertThat(deleted).isEqualTo(242);
+
+    verify(shareTokenGateway, times(3)).deleteExpired(any(), eq(100));
+  }
+
+  @Test
+  void shouldStopWhenNothingIsExpired() {
+    when(shareTokenGateway.deleteExpired(any(), eq(100))).thenReturn(0);
+
+    final var deleted = purgeExpiredShareTokens.execute(100);
+
+    assertThat(deleted).isZero();
+
+    verify(shareTokenGateway, times(1)).deleteExpired(any(), eq(100));
+  }
+}
@@ -0,0 +1,85 @@
+package com.api.mysushistory.core.usecase.token;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.MedicalRecordStreamGateway;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class RevokeShareTokenTest {
+
+  private static final String CPF = "12345678900";
+
+  private final PatientGateway patientGateway = mock(PatientGateway.class);
+  private final ShareTokenGateway shareTokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final MedicalRecordStreamGateway streamGateway = mock(MedicalRecordStreamGateway.class);
+  private final RevokeShareToken revokeShareToken =
+      new RevokeShareToken(patientGateway, shareTokenGateway, signedTokenGateway, streamGateway);
+
+  @Test
+  void shouldRevokeSignedToken() {
+    final var token = "st.k1.payload.sig";
+    final var shareToken = new ShareToken(null, token, 30, LocalDateTime.now(), 7L);
+
+    when(patientGateway.findIdByCpf(CPF)).thenReturn(Optional.of(7L));
+    when(signedTokenGateway.isSigned(token)).thenReturn(true);
+    when(signedTokenGateway.verify(token)).thenReturn(Optional.of(shareToken));
+
+    revokeShareToken.execute(CPF, token);
+
+    verify(signedTokenGateway).revoke(shareToken);
+    verify(streamGateway).close(shareToken);
+    verifyNoInteractions(shareTokenGateway);
+  }
+
+  @Test
+  void shouldDeleteOpaqueToken() {
+    final var shareToken = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 7L);
+
+    when(patientGateway.findIdByCpf(CPF)).thenReturn(Optional.of(7L));
+    when(shareTokenGateway.findByAccessToken("abc")).thenReturn(Optional.of(shareToken));
+
+    revokeShareToken.execute(CPF, "abc");
+
+    verify(shareTokenGateway).deleteByAccessToken("abc");
+    verify(streamGateway).close(shareToken);
+    verify(patientGateway, never()).findByCpf(any());
+    verify(signedTokenGateway, never()).revoke(any());
+  }
+
+  @Test
+  void shouldNotRevokeTokenOfAnotherPatient() {
+    final var shareToken = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 99L);
+
+    when(patientGateway.findIdByCpf(CPF)).thenReturn(Optional.of(7L));
+    when(shareTokenGateway.findByAccessToken("abc")).thenReturn(Optional.of(shareToken));
+
+    assertThatThrownBy(() -> revokeShareToken.execute(CPF, "abc"))
+        .isInstanceOf(ShareTokenNotFoundException.class)
+        .hasMessage("Share token [abc] not found.");
+
+    verify(shareTokenGateway, never()).deleteByAccessToken(any());
+    verifyNoInteractions(streamGateway);
+  }
+
+  @Test
+  void shouldThrowPatientNotFoundWhenPatientMissing() {
+    when(patientGateway.findIdByCpf(CPF)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> revokeShareToken.execute(CPF, "abc"))
+        .isInstanceOf(PatientNotFoundException.class)
+        .hasMessage("Patient with identifier=[12345678900] not found.");
+
+    verifyNoInteractions(shareTokenGateway, signedTokenGateway);
+  }
+}
@@ -0,0 +1,72 @@
+package com.api.mysushistory.core.usecase.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.gateway.ShareTokenGateway;
+import com.api.mysushistory.core.gateway.SignedTokenGateway;
+import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenNotFoundException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ValidateShareTokenTest {
+
+  private final ShareTokenGateway shareTokenGateway = mock(ShareTokenGateway.class);
+  private final SignedTokenGateway signedTokenGateway = mock(SignedTokenGateway.class);
+  private final ValidateShareToken validateShareToken =
+      new ValidateShareToken(shareTokenGateway, signedTokenGateway);
+
+  @Test
+  void shouldValidateOpaqueTokenThroughShareTokenGateway() {
+    final var shareToken = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 7L);
+
+    when(signedTokenGateway.isSigned("abc")).thenReturn(false);
+    when(shareTokenGateway.findByAccessToken("abc")).thenReturn(Optional.of(shareToken));
+
+    assertThat(validateShareToken.execute("abc")).isEqualTo(shareToken);
+
+    verify(signedTokenGateway, never()).verify("abc");
+  }
+
+  @Test
+  void shouldValidateSignedTokenWithoutShareTokenGateway() {
+    final var token = "st.k1.payload.sig";
+    final var shareToken = new ShareToken(null, token, 30, LocalDateTime.now(), 7L);
+
+    when(signedTokenGateway.isSigned(token)).thenReturn(true);
+    when(signedTokenGateway.verify(token)).thenReturn(Optional.of(shareToken));
+
+    assertThat(validateShareToken.execute(token)).isEqualTo(shareToken);
+
+    verifyNoInteractions(shareTokenGateway);
+  }
+
+  @Test
+  void shouldThrowNotFoundWhenSignatureIsInvalid() {
+    final var token = "st.k1.payload.bad";
+
+    when(signedTokenGateway.isSigned(token)).thenReturn(true);
+    when(signedTokenGateway.verify(token)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> validateShareToken.execute(token))
+        .isInstanceOf(ShareTokenNotFoundException.class)
+        .hasMessage("Share token [" + token + "] not found.");
+  }
+
+  @Test
+  void shouldThrowExpiredWhenSignedTokenIsExpired() {
+    final var token = "st.k1.payload.sig";
+    final var shareToken = new ShareToken(null, token, 1, LocalDateTime.now().minusMinutes(5), 7L);
+
+    when(signedTokenGateway.isSigned(token)).thenReturn(true);
+    when(signedTokenGateway.verify(token)).thenReturn(Optional.of(shareToken));
+
+    assertThatThrownBy(() -> validateShareToken.execute(token))
+        .isInstanceOf(ShareTokenExpiredException.class)
+        .hasMessage("Share token [" + token + "] has expired.");
+  }
+}
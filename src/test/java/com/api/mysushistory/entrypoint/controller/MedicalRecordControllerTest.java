@@ -1,27 +1,59 @@
 package com.api.mysushistory.entrypoint.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscription;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.usecase.exception.InvalidSearchQueryException;
+import com.api.mysushistory.core.usecase.exception.RecordRegistrationNotFoundException;
+import com.api.mysushistory.core.usecase.exception.ShareTokenExpiredException;
+import com.api.mysushistory.core.usecase.medical.AcceptMedicalRecordByToken;
 import com.api.mysushistory.core.usecase.medical.AccessHistoryByToken;
+import com.api.mysushistory.core.usecase.medical.GetHistoryFeedByToken;
+import com.api.mysushistory.core.usecase.medical.GetRecordRegistration;
 import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordByToken;
+import com.api.mysushistory.core.usecase.medical.RegisterMedicalRecordsByToken;
+import com.api.mysushistory.core.usecase.medical.SearchHistoryByToken;
+import com.api.mysushistory.core.usecase.medical.SubscribeHistoryByToken;
+import com.api.mysushistory.infra.gateway.exception.SearchIndexLoadingException;
 import com.api.mysushistory.presenter.request.RegisterMedicalRecordRequest;
+import com.api.mysushistory.presenter.request.RegisterMedicalRecordsRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -40,6 +72,12 @@ class MedicalRecordControllerTest {
 
   @MockitoBean private AccessHistoryByToken accessHistoryByToken;
   @MockitoBean private RegisterMedicalRecordByToken registerMedicalRecordByToken;
+  @MockitoBean private RegisterMedicalRecordsByToken registerMedicalRecordsByToken;
+  @MockitoBean private SearchHistoryByToken searchHistoryByToken;
+  @MockitoBean private GetHistoryFeedByToken getHistoryFeedByToken;
+  @MockitoBean private SubscribeHistoryByToken subscribeHistoryByToken;
+  @MockitoBean private AcceptMedicalRecordByToken acceptMedicalRecordByToken;
+  @MockitoBean private GetRecordRegistration getRecordRegistration;
 
   @Test
   void shouldReturnRecordsWhenTokenValid() throws Exception {
@@ -54,18 +92,201 @@ class MedicalRecordControllerTest {
             "Repouso e hidratação",
             "Revisar em 5 dias");
 
-    when(accessHistoryByToken.execute(token)).thenReturn(List.of(medicalRecord));
+    when(accessHistoryByToken.version(token)).thenReturn(new HistoryVersion(1L, 3L));
+    when(accessHistoryByToken.execute(token, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(medicalRecord), null));
 
     mockMvc
         .perform(get(BASE_URL).param("token", token).contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].id").value(medicalRecord.getId()))
-        .andExpect(jsonPath("$[0].date", startsWith(medicalRecord.getDate().toString())))
-        .andExpect(jsonPath("$[0].unit").value(medicalRecord.getUnit()))
-        .andExpect(jsonPath("$[0].professionalName").value(medicalRecord.getProfessionalName()))
-        .andExpect(jsonPath("$[0].diagnosis").value(medicalRecord.getDiagnosis()))
-        .andExpect(jsonPath("$[0].treatment").value(medicalRecord.getTreatment()))
-        .andExpect(jsonPath("$[0].notes").value(medicalRecord.getNotes()));
+        .andExpect(jsonPath("$.records[0].id").value(medicalRecord.getId()))
+        .andExpect(jsonPath("$.records[0].date", startsWith(medicalRecord.getDate().toString())))
+        .andExpect(jsonPath("$.records[0].unit").value(medicalRecord.getUnit()))
+        .andExpect(
+            jsonPath("$.records[0].professionalName").value(medicalRecord.getProfessionalName()))
+        .andExpect(jsonPath("$.records[0].diagnosis").value(medicalRecord.getDiagnosis()))
+        .andExpect(jsonPath("$.records[0].treatment").value(medicalRecord.getTreatment()))
+        .andExpect(jsonPath("$.records[0].notes").value(medicalRecord.getNotes()));
+  }
+
+  @Test
+  void shouldReturnNextCursorWhenMoreRecordsExist() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var cursor = new HistoryCursor(LocalDateTime.of(2024, 6, 1, 10, 0), 20L);
+    final var nextCursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 19L);
+
+    when(accessHistoryByToken.version(token)).thenReturn(new HistoryVersion(1L, 3L));
+    when(accessHistoryByToken.execute(token, null, null, cursor.format(), 1))
+        .thenReturn(new HistoryPage(List.of(), nextCursor));
+
+    mockMvc
+        .perform(
+            get(BASE_URL)
+                .param("token", token)
+                .param("cursor", cursor.format())
+                .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextCursor").value(nextCursor.format()));
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(accessHistoryByToken.version(token)).thenReturn(new HistoryVersion(1L, 3L));
+
+    mockMvc
+        .perform(get(BASE_URL).param("token", token).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+
+    verify(accessHistoryByToken, never()).execute(any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void shouldReturnPlainJsonWhenGzipIsRefused() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(accessHistoryByToken.version(token)).thenReturn(new HistoryVersion(1L, 3L));
+    when(accessHistoryByToken.execute(token, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(), null));
+
+    mockMvc
+        .perform(
+            get(BASE_URL).param("token", token).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(jsonPath("$.records").isEmpty());
+  }
+
+  @Test
+  void shouldStreamRegisteredRecordsUntilSubscriptionCloses() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var subscriber = ArgumentCaptor.forClass(HistorySubscriber.class);
+    final var subscription = mock(HistorySubscription.class);
+    final var medicalRecord =
+        new MedicalRecord(
+            43L,
+            LocalDateTime.of(2024, 6, 1, 10, 0),
+            "UBS Central",
+            "Dra. Ana Lima",
+            "Gripe",
+            "Repouso",
+            "Revisar em 5 dias");
+
+    when(subscribeHistoryByToken.execute(eq(token), subscriber.capture())).thenReturn(subscription);
+
+    final var result =
+        mockMvc
+            .perform(get(BASE_URL + "/stream").param("token", token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    subscriber.getValue().onRecord(medicalRecord);
+    subscriber.getValue().onHeartbeat();
+    subscriber.getValue().onClose();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/event-stream")))
+        .andExpect(content().string(containsString("id:43\nevent:medical-record\ndata:{")))
+        .andExpect(content().string(containsString("\"diagnosis\":\"Gripe\"")))
+        .andExpect(content().string(containsString(":heartbeat\n\n")));
+
+    verify(subscription).cancel();
+  }
+
+  @Test
+  void shouldNotStreamWhenTokenExpired() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(subscribeHistoryByToken.execute(eq(token), any()))
+        .thenThrow(new ShareTokenExpiredException(token));
+
+    mockMvc
+        .perform(get(BASE_URL + "/stream").param("token", token))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void shouldReturnFeedAfterCursorWhenTokenValid() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(getHistoryFeedByToken.execute(token, 20L, 100))
+        .thenReturn(new HistoryFeed(List.of(), 20L, false));
+
+    mockMvc
+        .perform(get(BASE_URL + "/feed").param("token", token).param("cursor", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.records").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").value(20))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  void shouldSearchHistoryByToken() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var medicalRecord =
+        new MedicalRecord(
+            3L,
+            LocalDateTime.of(2024, 2, 10, 9, 0),
+            "UBS Central",
+            "Dra. Ana Lima",
+            "Dengue",
+            "Hidratação",
+            "Retornar se houver sangramento");
+
+    when(searchHistoryByToken.execute(token, "dengue", 0, 1))
+        .thenReturn(new HistorySearchPage(List.of(medicalRecord), 2, 1));
+
+    mockMvc
+        .perform(
+            get(BASE_URL + "/search")
+                .param("token", token)
+                .param("q", "dengue")
+                .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.records[0].id").value(3))
+        .andExpect(jsonPath("$.records[0].diagnosis").value("Dengue"))
+        .andExpect(jsonPath("$.total").value(2))
+        .andExpect(jsonPath("$.nextOffset").value(1));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenSearchQueryIsInvalid() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(searchHistoryByToken.execute(token, " ", 0, 20))
+        .thenThrow(new InvalidSearchQueryException(" "));
+
+    mockMvc
+        .perform(get(BASE_URL + "/search").param("token", token).param("q", " "))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("invalid_query"));
+  }
+
+  @Test
+  void shouldAskToRetrySearchWhileTheIndexIsLoading() throws Exception {
+    final var token = UUID.randomUUID().toString();
+
+    when(searchHistoryByToken.execute(token, "dengue", 0, 20))
+        .thenThrow(new SearchIndexLoadingException());
+
+    mockMvc
+        .perform(get(BASE_URL + "/search").param("token", token).param("q", "dengue"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+        .andExpect(jsonPath("$.error").value("search_index_loading"));
+  }
+
+  @Test
+  void shouldRejectLimitOutOfRange() throws Exception {
+    mockMvc
+        .perform(get(BASE_URL).param("token", UUID.randomUUID().toString()).param("limit", "0"))
+        .andExpect(status().isBadRequest());
   }
 
   @Test
@@ -108,4 +329,219 @@ class MedicalRecordControllerTest {
         .andExpect(jsonPath("$.treatment").value(medicalRecord.getTreatment()))
         .andExpect(jsonPath("$.notes").value(medicalRecord.getNotes()));
   }
+
+  @Test
+  void shouldReplayRegistrationRetriedWithSameIdempotencyKey() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var idempotencyKey = UUID.randomUUID().toString();
+    final var request =
+        new RegisterMedicalRecordRequest(
+            "UBS Central", "Dra. Ana Lima", "Gripe", "Repouso e hidratação", "Revisar em 5 dias");
+    final var medicalRecord =
+        new MedicalRecord(
+            1L,
+            LocalDateTime.of(2024, 6, 1, 10, 0),
+            request.unit(),
+            request.professionalName(),
+            request.diagnosis(),
+            request.treatment(),
+            request.notes());
+
+    when(registerMedicalRecordByToken.execute(
+            token,
+            request.unit(),
+            request.professionalName(),
+            request.diagnosis(),
+            request.treatment(),
+            request.notes()))
+        .thenReturn(medicalRecord);
+
+    final var post =
+        post(BASE_URL)
+            .param("token", token)
+            .header("Idempotency-Key", idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request));
+
+    mockMvc
+        .perform(post)
+        .andExpect(status().isCreated())
+        .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    mockMvc
+        .perform(post)
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Idempotent-Replayed", "true"))
+        .andExpect(jsonPath("$.id").value(medicalRecord.getId()));
+
+    verify(registerMedicalRecordByToken)
+        .execute(
+            token,
+            request.unit(),
+            request.professionalName(),
+            request.diagnosis(),
+            request.treatment(),
+            request.notes());
+  }
+
+  @Test
+  void shouldRejectIdempotencyKeyReusedWithAnotherRecord() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var idempotencyKey = UUID.randomUUID().toString();
+    final var first =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", "Gripe", "Repouso", "-");
+    final var second =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", "Dengue", "Repouso", "-");
+
+    when(registerMedicalRecordByToken.execute(eq(token), any(), any(), any(), any(), any()))
+        .thenReturn(
+            new MedicalRecord(
+                1L,
+                LocalDateTime.of(2024, 6, 1, 10, 0),
+                "UBS Central",
+                "Dra. Ana Lima",
+                "Gripe",
+                "Repouso",
+                "-"));
+
+    mockMvc
+        .perform(
+            post(BASE_URL)
+                .param("token", token)
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first)))
+        .andExpect(status().isCreated());
+    mockMvc
+        .perform(
+            post(BASE_URL)
+                .param("token", token)
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second)))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.error").value("idempotency_key_reused"));
+  }
+
+  @Test
+  void shouldAcceptRecordWhenAsyncIsPreferred() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var request =
+        new RegisterMedicalRecordRequest(
+            "UBS Central", "Dra. Ana Lima", "Gripe", "Repouso e hidratação", "Revisar em 5 dias");
+    final var registration =
+        RecordRegistration.accepted(UUID.randomUUID(), LocalDateTime.of(2024, 6, 1, 10, 0));
+
+    when(acceptMedicalRecordByToken.execute(
+            token,
+            request.unit(),
+            request.professionalName(),
+            request.diagnosis(),
+            request.treatment(),
+            request.notes()))
+        .thenReturn(registration);
+
+    mockMvc
+        .perform(
+            post(BASE_URL)
+                .param("token", token)
+                .header("Prefer", "respond-async, wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isAccepted())
+        .andExpect(
+            header()
+                .string(
+                    HttpHeaders.LOCATION, BASE_URL + "/registrations/" + registration.trackingId()))
+        .andExpect(header().string("Preference-Applied", "respond-async"))
+        .andExpect(jsonPath("$.trackingId").value(registration.trackingId().toString()))
+        .andExpect(jsonPath("$.status").value("ACCEPTED"));
+
+    verify(registerMedicalRecordByToken, never()).execute(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void shouldReturnRegistrationStatus() throws Exception {
+    final var trackingId = UUID.randomUUID();
+    final var registration =
+        RecordRegistration.accepted(trackingId, LocalDateTime.of(2024, 6, 1, 10, 0))
+            .saved(42L, LocalDateTime.of(2024, 6, 1, 10, 1));
+
+    when(getRecordRegistration.execute(trackingId)).thenReturn(registration);
+
+    mockMvc
+        .perform(get(BASE_URL + "/registrations/" + trackingId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("SAVED"))
+        .andExpect(jsonPath("$.medicalRecordId").value(42));
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenRegistrationIsUnknown() throws Exception {
+    final var trackingId = UUID.randomUUID();
+
+    when(getRecordRegistration.execute(trackingId))
+        .thenThrow(new RecordRegistrationNotFoundException(trackingId));
+
+    mockMvc
+        .perform(get(BASE_URL + "/registrations/" + trackingId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("record_registration_not_found"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldRegisterAllRecordsWhenTokenValid() throws Exception {
+    final var token = UUID.randomUUID().toString();
+    final var first =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", "Gripe", "Repouso", "-");
+    final var second =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", "Asma", "Bombinha", "-");
+    final var date = LocalDateTime.of(2024, 6, 1, 10, 0);
+    final ArgumentCaptor<List<MedicalRecord>> records = ArgumentCaptor.forClass(List.class);
+
+    when(registerMedicalRecordsByToken.execute(eq(token), records.capture()))
+        .thenReturn(
+            List.of(
+                new MedicalRecord(
+                    1L, date, "UBS Central", "Dra. Ana Lima", "Gripe", "Repouso", "-"),
+                new MedicalRecord(
+                    2L, date, "UBS Central", "Dra. Ana Lima", "Asma", "Bombinha", "-")));
+
+    mockMvc
+        .perform(
+            post(BASE_URL + "/bulk")
+                .param("token", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new RegisterMedicalRecordsRequest(List.of(first, second)))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[1].diagnosis").value("Asma"));
+
+    assertThat(records.getValue())
+        .extracting(MedicalRecord::getDiagnosis)
+        .containsExactly("Gripe", "Asma");
+  }
+
+  @Test
+  void shouldRejectBulkWhenAnyRecordIsInvalid() throws Exception {
+    final var valid =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", "Gripe", "Repouso", "-");
+    final var invalid =
+        new RegisterMedicalRecordRequest("UBS Central", "Dra. Ana Lima", " ", "Repouso", "-");
+
+    mockMvc
+        .perform(
+            post(BASE_URL + "/bulk")
+                .param("token", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new RegisterMedicalRecordsRequest(List.of(valid, invalid)))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.violations[0].fieldName").value("records[1].diagnosis"));
+
+    verify(registerMedicalRecordsByToken, never()).execute(any(), any());
+  }
 }
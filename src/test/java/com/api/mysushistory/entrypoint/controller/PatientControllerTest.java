@@ -1,29 +1,56 @@
 package com.api.mysushistory.entrypoint.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
 import com.api.mysushistory.core.domain.Patient;
 import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.TokenMode;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryExport;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.domain.valueobject.IssuedShareToken;
+import com.api.mysushistory.core.usecase.exception.InvalidHistoryPeriodException;
+import com.api.mysushistory.core.usecase.exception.PatientNotFoundException;
 import com.api.mysushistory.core.usecase.patient.CreatePatient;
+import com.api.mysushistory.core.usecase.patient.ExportPatientHistory;
 import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import com.api.mysushistory.core.usecase.patient.GenerateTokens;
 import com.api.mysushistory.core.usecase.patient.SearchPatientHistory;
+import com.api.mysushistory.core.usecase.token.RevokeShareToken;
+import com.api.mysushistory.presenter.request.GenerateTokensRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -37,14 +64,20 @@ class PatientControllerTest {
 
   private static final String BASE_URL = "/api/patients";
   private static final String BASE_URL_CPF_TOKEN = BASE_URL + "/%s/token";
+  private static final String BASE_URL_TOKENS = BASE_URL + "/tokens";
   private static final String BASE_URL_CPF_HISTORY = BASE_URL + "/%s/history";
+  private static final String BASE_URL_CPF_HISTORY_EXPORT = BASE_URL_CPF_HISTORY + "/export";
+  private static final HistoryVersion VERSION = new HistoryVersion(1L, 3L);
 
   @Autowired private MockMvc mockMvc;
   @Autowired private ObjectMapper objectMapper;
 
   @MockitoBean private CreatePatient createPatient;
   @MockitoBean private GenerateToken generateToken;
+  @MockitoBean private GenerateTokens generateTokens;
   @MockitoBean private SearchPatientHistory searchPatientHistory;
+  @MockitoBean private ExportPatientHistory exportPatientHistory;
+  @MockitoBean private RevokeShareToken revokeShareToken;
 
   @Test
   void shouldCreatePatientSuccessfully() throws Exception {
@@ -75,7 +108,8 @@ class PatientControllerTest {
         new ShareToken(
             1L, UUID.randomUUID().toString(), 15, LocalDateTime.of(2024, 1, 1, 10, 0), 1L);
 
-    when(this.generateToken.execute(cpf, 15)).thenReturn(token);
+    when(this.generateToken.execute(cpf, 15, TokenMode.OPAQUE, false))
+        .thenReturn(IssuedShareToken.created(token));
 
     mockMvc
         .perform(
@@ -90,6 +124,95 @@ class PatientControllerTest {
         .andExpect(jsonPath("$.patientId").value(token.getPatientId()));
   }
 
+  @Test
+  void shouldGenerateSignedTokenWhenRequested() throws Exception {
+    final var cpf = "12345678900";
+    final var token =
+        new ShareToken(null, "st.k1.payload.sig", 15, LocalDateTime.of(2024, 1, 1, 10, 0), 1L);
+
+    when(this.generateToken.execute(cpf, 15, TokenMode.SIGNED, false))
+        .thenReturn(IssuedShareToken.created(token));
+
+    mockMvc
+        .perform(
+            post(String.format(BASE_URL_CPF_TOKEN, cpf))
+                .param("expiresInMinutes", "15")
+                .param("mode", "SIGNED")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.accessToken").value(token.getAccessToken()));
+  }
+
+  @Test
+  void shouldReuseTokenWhenRequested() throws Exception {
+    final var cpf = "12345678900";
+    final var token =
+        new ShareToken(
+            1L, UUID.randomUUID().toString(), 60, LocalDateTime.of(2024, 1, 1, 10, 0), 1L);
+
+    when(this.generateToken.execute(cpf, 15, TokenMode.OPAQUE, true))
+        .thenReturn(IssuedShareToken.reused(token));
+
+    mockMvc
+        .perform(
+            post(String.format(BASE_URL_CPF_TOKEN, cpf))
+                .param("expiresInMinutes", "15")
+                .param("reuse", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accessToken").value(token.getAccessToken()))
+        .andExpect(jsonPath("$.expiresInMinutes").value(60));
+  }
+
+  @Test
+  void shouldGenerateTokensInBulkSuccessfully() throws Exception {
+    final var cpfs = List.of("11111111111", "22222222222");
+    final var createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+    final var tokens =
+        List.of(
+            new ShareToken(1L, UUID.randomUUID().toString(), 30, createdAt, 1L),
+            new ShareToken(2L, UUID.randomUUID().toString(), 30, createdAt, 2L));
+    final var request = GenerateTokensRequest.builder().cpfs(cpfs).expiresInMinutes(30).build();
+
+    when(this.generateTokens.execute(cpfs, 30)).thenReturn(tokens);
+
+    mockMvc
+        .perform(
+            post(BASE_URL_TOKENS)
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$[0].accessToken").value(tokens.get(0).getAccessToken()))
+        .andExpect(jsonPath("$[0].patientId").value(1))
+        .andExpect(jsonPath("$[1].accessToken").value(tokens.get(1).getAccessToken()))
+        .andExpect(jsonPath("$[1].patientId").value(2));
+  }
+
+  @Test
+  void shouldRejectBulkTokenRequestWithoutCpfs() throws Exception {
+    final var request =
+        GenerateTokensRequest.builder().cpfs(List.of()).expiresInMinutes(30).build();
+
+    mockMvc
+        .perform(
+            post(BASE_URL_TOKENS)
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.violations[0].fieldName").value("cpfs"));
+  }
+
+  @Test
+  void shouldRevokeTokenSuccessfully() throws Exception {
+    final var cpf = "12345678900";
+
+    mockMvc
+        .perform(delete(String.format(BASE_URL_CPF_TOKEN, cpf)).param("token", "abc"))
+        .andExpect(status().isNoContent());
+
+    verify(this.revokeShareToken).execute(cpf, "abc");
+  }
+
   @Test
   void shouldReturnHistorySuccessfully() throws Exception {
     final var cpf = "12345678900";
@@ -103,18 +226,214 @@ class PatientControllerTest {
             "Repouso e hidratação",
             "Revisar em 5 dias");
 
-    when(this.searchPatientHistory.execute(cpf)).thenReturn(List.of(medicalRecord));
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(medicalRecord), null));
 
     mockMvc
         .perform(
             get(String.format(BASE_URL_CPF_HISTORY, cpf)).contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].id").value(medicalRecord.getId()))
-        .andExpect(jsonPath("$[0].date", startsWith(medicalRecord.getDate().toString())))
-        .andExpect(jsonPath("$[0].unit").value(medicalRecord.getUnit()))
-        .andExpect(jsonPath("$[0].professionalName").value(medicalRecord.getProfessionalName()))
-        .andExpect(jsonPath("$[0].diagnosis").value(medicalRecord.getDiagnosis()))
-        .andExpect(jsonPath("$[0].treatment").value(medicalRecord.getTreatment()))
-        .andExpect(jsonPath("$[0].notes").value(medicalRecord.getNotes()));
+        .andExpect(jsonPath("$.records[0].id").value(medicalRecord.getId()))
+        .andExpect(jsonPath("$.records[0].date", startsWith(medicalRecord.getDate().toString())))
+        .andExpect(jsonPath("$.records[0].unit").value(medicalRecord.getUnit()))
+        .andExpect(
+            jsonPath("$.records[0].professionalName").value(medicalRecord.getProfessionalName()))
+        .andExpect(jsonPath("$.records[0].diagnosis").value(medicalRecord.getDiagnosis()))
+        .andExpect(jsonPath("$.records[0].treatment").value(medicalRecord.getTreatment()))
+        .andExpect(jsonPath("$.records[0].notes").value(medicalRecord.getNotes()));
+  }
+
+  @Test
+  void shouldReturnHistoryWithVersionEtag() throws Exception {
+    final var cpf = "12345678900";
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(), null));
+
+    mockMvc
+        .perform(get(String.format(BASE_URL_CPF_HISTORY, cpf)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  @Test
+  void shouldReturnNotModifiedWithoutLoadingHistoryWhenEtagMatches() throws Exception {
+    final var cpf = "12345678900";
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+
+    mockMvc
+        .perform(
+            get(String.format(BASE_URL_CPF_HISTORY, cpf))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(content().string(""));
+
+    verify(this.searchPatientHistory, never()).execute(any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void shouldReturnHistoryWhenEtagIsOutdated() throws Exception {
+    final var cpf = "12345678900";
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(), null));
+
+    mockMvc
+        .perform(
+            get(String.format(BASE_URL_CPF_HISTORY, cpf))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""));
+  }
+
+  @Test
+  void shouldServeGzippedHistoryFromCacheWhenClientAcceptsGzip() throws Exception {
+    final var cpf = "12345678900";
+    final var medicalRecord =
+        new MedicalRecord(
+            1L,
+            LocalDateTime.of(2024, 6, 1, 10, 0),
+            "UBS Central",
+            "Dra. Ana",
+            "Gripe",
+            "Repouso",
+            "Revisar em 5 dias");
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(new HistoryVersion(9L, 1L));
+    when(this.searchPatientHistory.execute(cpf, null, null, null, 50))
+        .thenReturn(new HistoryPage(List.of(medicalRecord), null));
+
+    for (int i = 0; i < 2; i++) {
+      final var result =
+          mockMvc
+              .perform(
+                  get(String.format(BASE_URL_CPF_HISTORY, cpf))
+                      .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+              .andExpect(status().isOk())
+              .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+              .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+              .andExpect(header().string(HttpHeaders.ETAG, "W/\"9-1\""))
+              .andReturn();
+
+      try (final var body =
+          new GZIPInputStream(
+              new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+        assertThat(this.objectMapper.readTree(body).at("/records/0/unit").asText())
+            .isEqualTo("UBS Central");
+      }
+    }
+
+    verify(this.searchPatientHistory, times(1)).execute(cpf, null, null, null, 50);
+  }
+
+  @Test
+  void shouldFilterHistoryByPeriod() throws Exception {
+    final var cpf = "12345678900";
+    final var from = LocalDate.of(2023, 6, 1);
+    final var to = LocalDate.of(2024, 5, 31);
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, from, to, null, 50))
+        .thenReturn(new HistoryPage(List.of(), null));
+
+    mockMvc
+        .perform(
+            get(String.format(BASE_URL_CPF_HISTORY, cpf))
+                .param("from", "2023-06-01")
+                .param("to", "2024-05-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.records").isEmpty());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPeriodIsInvalid() throws Exception {
+    final var cpf = "12345678900";
+    final var period = new HistoryPeriod(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1));
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, period.from(), period.to(), null, 50))
+        .thenThrow(new InvalidHistoryPeriodException(period));
+
+    mockMvc
+        .perform(
+            get(String.format(BASE_URL_CPF_HISTORY, cpf))
+                .param("from", "2024-02-01")
+                .param("to", "2024-01-01"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("invalid_period"));
+  }
+
+  @Test
+  void shouldReturnHistoryPageWithNextCursor() throws Exception {
+    final var cpf = "12345678900";
+    final var nextCursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 19L);
+
+    when(this.searchPatientHistory.version(cpf)).thenReturn(VERSION);
+    when(this.searchPatientHistory.execute(cpf, null, null, null, 10))
+        .thenReturn(new HistoryPage(List.of(), nextCursor));
+
+    mockMvc
+        .perform(get(String.format(BASE_URL_CPF_HISTORY, cpf)).param("limit", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.records").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").value(nextCursor.format()));
+  }
+
+  @Test
+  void shouldExportHistoryAsNdjson() throws Exception {
+    final var cpf = "12345678900";
+    final var first =
+        new MedicalRecord(
+            2L, LocalDateTime.of(2024, 6, 1, 10, 0), "UBS Central", "Dra. Ana", "Gripe", "R", "N");
+    final var second =
+        new MedicalRecord(
+            1L, LocalDateTime.of(2024, 5, 1, 10, 0), "UBS Norte", "Dr. Beto", "Tosse", "X", "Y");
+    final HistoryExport export =
+        consumer -> {
+          consumer.accept(first);
+          consumer.accept(second);
+          return 2;
+        };
+
+    when(this.exportPatientHistory.execute(cpf)).thenReturn(export);
+
+    final var result =
+        mockMvc
+            .perform(get(String.format(BASE_URL_CPF_HISTORY_EXPORT, cpf)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    final var body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final var lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(2L);
+    assertThat(objectMapper.readTree(lines[1]).get("unit").asText()).isEqualTo("UBS Norte");
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenExportingUnknownPatient() throws Exception {
+    final var cpf = "12345678900";
+
+    when(this.exportPatientHistory.execute(cpf)).thenThrow(new PatientNotFoundException(cpf));
+
+    mockMvc
+        .perform(get(String.format(BASE_URL_CPF_HISTORY_EXPORT, cpf)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("not_found"));
   }
 }
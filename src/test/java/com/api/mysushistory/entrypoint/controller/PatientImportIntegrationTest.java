@@ -0,0 +1,100 @@
+package com.api.mysushistory.entrypoint.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PatientImportIntegrationTest {
+
+  private static final String URL = "/api/patients/import";
+  private static final String CPF_PREFIX = "777";
+  private static final int ROWS = 2_500;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from patients where cpf like ?", CPF_PREFIX + "%");
+  }
+
+  @Test
+  void shouldImportCsvInBatchesAndSkipRowsAlreadyImported() throws Exception {
+    final var csv =
+        "name,cpf,birthDate\n"
+            + IntStream.range(0, ROWS)
+                .mapToObj(i -> "Patient " + i + "," + cpf(i) + ",1990-01-01")
+                .collect(Collectors.joining("\n"))
+            + "\nInvalid,123,1990-01-01\n";
+
+    mockMvc
+        .perform(
+            post(URL)
+                .param("batchSize", "1000")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows").value(ROWS + 1))
+        .andExpect(jsonPath("$.imported").value(ROWS))
+        .andExpect(jsonPath("$.duplicates").value(0))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.rejections[0].line").value(ROWS + 2));
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from patients where cpf like ?", Long.class, CPF_PREFIX + "%"))
+        .isEqualTo(ROWS);
+
+    mockMvc
+        .perform(post(URL).contentType(MediaType.parseMediaType("text/csv")).content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(0))
+        .andExpect(jsonPath("$.duplicates").value(ROWS));
+  }
+
+  @Test
+  void shouldImportNdjson() throws Exception {
+    final var ndjson =
+        """
+        {"name":"Maria","cpf":"%s","birthDate":"1990-09-15"}
+        {"name":"João","cpf":"%s","birthDate":"1985-01-01"}
+        """
+            .formatted(cpf(1), cpf(2));
+
+    mockMvc
+        .perform(post(URL).contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2));
+  }
+
+  @Test
+  void shouldRejectCsvWithoutHeader() throws Exception {
+    mockMvc
+        .perform(
+            post(URL)
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .content("Maria,77700000001,1990-09-15\n"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("invalid_patient_import"));
+  }
+
+  private static String cpf(final int i) {
+    return CPF_PREFIX + String.format("%08d", i);
+  }
+}
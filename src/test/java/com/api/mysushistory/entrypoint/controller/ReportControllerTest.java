@@ -0,0 +1,71 @@
+package com.api.mysushistory.entrypoint.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.core.usecase.exception.InvalidReportPeriodException;
+import com.api.mysushistory.core.usecase.report.GetDiagnosisReport;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportControllerTest {
+
+  private static final String BASE_URL = "/api/reports/diagnoses";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private GetDiagnosisReport getDiagnosisReport;
+
+  @Test
+  void shouldReturnDiagnosisCountsOfPeriod() throws Exception {
+    final var from = LocalDate.of(2024, 1, 1);
+    final var to = LocalDate.of(2024, 1, 31);
+
+    when(getDiagnosisReport.execute(from, to, "UBS Central"))
+        .thenReturn(List.of(new DiagnosisCount("UBS Central", from, "Gripe", 12L)));
+
+    mockMvc
+        .perform(
+            get(BASE_URL)
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .param("unit", "UBS Central"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].unit").value("UBS Central"))
+        .andExpect(jsonPath("$[0].date").value("2024-01-01"))
+        .andExpect(jsonPath("$[0].diagnosis").value("Gripe"))
+        .andExpect(jsonPath("$[0].total").value(12));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPeriodIsInvalid() throws Exception {
+    final var from = LocalDate.of(2024, 2, 1);
+    final var to = LocalDate.of(2024, 1, 1);
+
+    when(getDiagnosisReport.execute(from, to, null))
+        .thenThrow(new InvalidReportPeriodException(from, to, 366));
+
+    mockMvc
+        .perform(get(BASE_URL).param("from", "2024-02-01").param("to", "2024-01-01"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("invalid_period"));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPeriodIsMissing() throws Exception {
+    mockMvc.perform(get(BASE_URL).param("from", "2024-02-01")).andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,61 @@
+package com.api.mysushistory.entrypoint.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.usecase.medical.GetUnitRecordFeed;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UnitControllerTest {
+
+  private static final String BASE_URL_UNIT_FEED = "/api/units/%s/medical-records/feed";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private GetUnitRecordFeed getUnitRecordFeed;
+
+  @Test
+  void shouldReturnUnitFeedAfterCursor() throws Exception {
+    final var medicalRecord =
+        new MedicalRecord(
+            43L,
+            LocalDateTime.of(2024, 6, 1, 10, 0),
+            "UBS Central",
+            "Dra. Ana Lima",
+            "Gripe",
+            "Repouso",
+            "Revisar em 5 dias");
+
+    when(getUnitRecordFeed.execute("UBS Central", 42L, 100))
+        .thenReturn(new HistoryFeed(List.of(medicalRecord), 43L, false));
+
+    mockMvc
+        .perform(get(String.format(BASE_URL_UNIT_FEED, "UBS Central")).param("cursor", "42"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.records[0].id").value(43))
+        .andExpect(jsonPath("$.nextCursor").value(43))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  void shouldRejectNegativeCursor() throws Exception {
+    mockMvc
+        .perform(get(String.format(BASE_URL_UNIT_FEED, "UBS Central")).param("cursor", "-1"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,23 @@
+package com.api.mysushistory.entrypoint.job;
+
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.usecase.report.BackfillDiagnosisRollups;
+import org.junit.jupiter.api.Test;
+
+class DiagnosisRollupBackfillJobTest {
+
+  private final BackfillDiagnosisRollups backfillDiagnosisRollups =
+      mock(BackfillDiagnosisRollups.class);
+  private final DiagnosisRollupBackfillJob job =
+      new DiagnosisRollupBackfillJob(backfillDiagnosisRollups, 5000);
+
+  @Test
+  void shouldBackfillWithConfiguredBatchSize() {
+    when(backfillDiagnosisRollups.execute(5000)).thenReturn(42L);
+
+    job.backfill();
+
+    verify(backfillDiagnosisRollups).execute(5000);
+  }
+}
@@ -0,0 +1,23 @@
+package com.api.mysushistory.entrypoint.job;
+
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.usecase.medical.DrainMedicalRecordJournal;
+import org.junit.jupiter.api.Test;
+
+class MedicalRecordJournalJobTest {
+
+  private final DrainMedicalRecordJournal drainMedicalRecordJournal =
+      mock(DrainMedicalRecordJournal.class);
+  private final MedicalRecordJournalJob job =
+      new MedicalRecordJournalJob(drainMedicalRecordJournal, 50);
+
+  @Test
+  void shouldDrainUntilBatchComesBackShort() {
+    when(drainMedicalRecordJournal.execute(50)).thenReturn(50, 50, 3);
+
+    job.drain();
+
+    verify(drainMedicalRecordJournal, times(3)).execute(50);
+  }
+}
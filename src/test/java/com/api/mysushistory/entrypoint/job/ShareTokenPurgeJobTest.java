@@ -0,0 +1,22 @@
+package com.api.mysushistory.entrypoint.job;
+
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.usecase.token.PurgeExpiredShareTokens;
+import org.junit.jupiter.api.Test;
+
+class ShareTokenPurgeJobTest {
+
+  private final PurgeExpiredShareTokens purgeExpiredShareTokens =
+      mock(PurgeExpiredShareTokens.class);
+  private final ShareTokenPurgeJob job = new ShareTokenPurgeJob(purgeExpiredShareTokens, 250);
+
+  @Test
+  void shouldPurgeWithConfiguredBatchSize() {
+    when(purgeExpiredShareTokens.execute(250)).thenReturn(3L);
+
+    job.purge();
+
+    verify(purgeExpiredShareTokens).execute(250);
+  }
+}
@@ -0,0 +1,38 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenCodecTest {
+
+  @Test
+  void shouldRoundTripUuidToken() {
+    final var token = UUID.randomUUID().toString();
+
+    final var binary = AccessTokenCodec.toBinary(token);
+
+    assertThat(binary).isPresent();
+    assertThat(binary.get()).hasSize(16);
+    assertThat(AccessTokenCodec.toToken(binary.get())).isEqualTo(token);
+  }
+
+  @Test
+  void shouldAcceptUppercaseToken() {
+    final var token = "A374D8F4-F9A3-4DAD-9B74-CB0F3D1558AD";
+
+    final var binary = AccessTokenCodec.toBinary(token).orElseThrow();
+
+    assertThat(AccessTokenCodec.toToken(binary)).isEqualTo(token.toLowerCase());
+  }
+
+  @Test
+  void shouldRejectNonCanonicalTokens() {
+    assertThat(AccessTokenCodec.toBinary(null)).isEmpty();
+    assertThat(AccessTokenCodec.toBinary("abc")).isEmpty();
+    assertThat(AccessTokenCodec.toBinary("1-1-1-1-1")).isEmpty();
+    assertThat(AccessTokenCodec.toBinary("a374d8f4-f9a3-4dad-9b74-cb0f3d1558az")).isEmpty();
+    assertThat(AccessTokenCodec.toBinary("st.key.payload.signature-that-is-long")).isEmpty();
+  }
+}
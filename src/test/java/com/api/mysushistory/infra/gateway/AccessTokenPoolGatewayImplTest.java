@@ -0,0 +1,51 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenPoolGatewayImplTest {
+
+  @Test
+  void shouldRefillPoolUpToCapacity() {
+    final var pool = new AccessTokenPoolGatewayImpl(1000);
+
+    pool.refill();
+
+    assertThat(pool.getAvailable()).isEqualTo(1000);
+  }
+
+  @Test
+  void shouldServeDistinctVersion4UuidsFromPool() {
+    final var pool = new AccessTokenPoolGatewayImpl(500);
+    final var tokens = new HashSet<String>();
+
+    pool.refill();
+
+    for (int i = 0; i < 500; i++) {
+      final var token = pool.nextAccessToken();
+
+      assertThat(UUID.fromString(token).version()).isEqualTo(4);
+      assertThat(UUID.fromString(token).variant()).isEqualTo(2);
+      assertThat(AccessTokenCodec.toBinary(token)).isPresent();
+
+      tokens.add(token);
+    }
+
+    assertThat(tokens).hasSize(500);
+    assertThat(pool.getAvailable()).isZero();
+    assertThat(pool.getFallbackCount()).isZero();
+  }
+
+  @Test
+  void shouldGenerateInlineWhenPoolIsEmpty() {
+    final var pool = new AccessTokenPoolGatewayImpl(10);
+
+    final var token = pool.nextAccessToken();
+
+    assertThat(UUID.fromString(token).version()).isEqualTo(4);
+    assertThat(pool.getFallbackCount()).isEqualTo(1);
+  }
+}
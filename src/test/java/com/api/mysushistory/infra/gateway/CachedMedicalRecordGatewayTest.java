@@ -0,0 +1,260 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryFeed;
+import com.api.mysushistory.core.domain.valueobject.HistoryPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistorySearchPage;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.gateway.PatientGateway;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class CachedMedicalRecordGatewayTest {
+
+  private static final int FIRST_PAGE = 3;
+
+  private final MedicalRecordGatewayImpl delegate = mock(MedicalRecordGatewayImpl.class);
+  private final PatientGateway patientGateway = mock(PatientGateway.class);
+  private final CachedMedicalRecordGateway gateway =
+      new CachedMedicalRecordGateway(
+          delegate, patientGateway, Optional.empty(), 10, 100, FIRST_PAGE, 10);
+
+  private final List<MedicalRecord> history =
+      List.of(
+          record(4L, LocalDateTime.of(2024, 6, 1, 10, 0)),
+          record(3L, LocalDateTime.of(2024, 3, 1, 10, 0)),
+          record(2L, LocalDateTime.of(2023, 12, 31, 23, 0)),
+          record(1L, LocalDateTime.of(2023, 6, 1, 10, 0)));
+
+  @Test
+  void shouldServeFirstPagesOfAnyLimitFromOneCachedRead() {
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE))
+        .thenReturn(HistoryPage.of(history, FIRST_PAGE));
+
+    final var first = gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, 2);
+    final var full = gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, 3);
+
+    assertThat(first.records()).extracting(MedicalRecord::getId).containsExactly(4L, 3L);
+    assertThat(first.nextCursor())
+        .isEqualTo(new HistoryCursor(LocalDateTime.of(2024, 3, 1, 10, 0), 3L));
+    assertThat(full.records()).extracting(MedicalRecord::getId).containsExactly(4L, 3L, 2L);
+    assertThat(full.nextCursor())
+        .isEqualTo(new HistoryCursor(LocalDateTime.of(2023, 12, 31, 23, 0), 2L));
+    assertThat(gateway.getHitCount()).isEqualTo(1);
+    assertThat(gateway.getMissCount()).isEqualTo(1);
+    assertThat(gateway.getHitRatio()).isEqualTo(0.5);
+    assertThat(gateway.getSize()).isEqualTo(1);
+    assertThat(gateway.getCachedRecords()).isEqualTo(3);
+
+    verify(delegate, times(1)).findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+  }
+
+  @Test
+  void shouldReturnWholeCachedHistoryWhenShorterThanLimit() {
+    final var shortHistory = history.subList(0, 2);
+
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE))
+        .thenReturn(HistoryPage.of(shortHistory, FIRST_PAGE));
+
+    final var page = gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, 2);
+
+    assertThat(page.records()).extracting(MedicalRecord::getId).containsExactly(4L, 3L);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void shouldReadLaterPagesFromDatabaseWithoutCaching() {
+    final var cursor = new HistoryCursor(LocalDateTime.of(2024, 3, 1, 10, 0), 3L);
+    final var page = HistoryPage.of(history.subList(2, 4), 2);
+
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, cursor, 2)).thenReturn(page);
+
+    assertThat(gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, cursor, 2)).isSameAs(page);
+    assertThat(gateway.getSize()).isZero();
+  }
+
+  @Test
+  void shouldReadFilteredPagesFromDatabaseWithoutCaching() {
+    final var period = new HistoryPeriod(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 3, 1));
+    final var page = HistoryPage.of(history.subList(1, 3), 10);
+
+    when(delegate.findPageByPatientId(7L, period, null, 10)).thenReturn(page);
+
+    assertThat(gateway.findPageByPatientId(7L, period, null, 10)).isSameAs(page);
+    assertThat(gateway.getSize()).isZero();
+  }
+
+  @Test
+  void shouldReadPagesLargerThanCachedPageFromDatabase() {
+    final var page = HistoryPage.of(history, 10);
+
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, 10)).thenReturn(page);
+
+    assertThat(gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, 10)).isSameAs(page);
+    assertThat(gateway.getSize()).isZero();
+  }
+
+  @Test
+  void shouldResolveCpfOnceAndReuseCachedHistory() {
+    when(patientGateway.findIdByCpf("11111111111")).thenReturn(Optional.of(7L));
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE))
+        .thenReturn(HistoryPage.of(history, FIRST_PAGE));
+
+    gateway.findPageByPatientCpf("11111111111", HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+    final var page =
+        gateway.findPageByPatientCpf("11111111111", HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+
+    assertThat(page).isPresent();
+    assertThat(page.get().records()).hasSize(3);
+
+    verify(patientGateway, times(1)).findIdByCpf("11111111111");
+    verify(delegate, times(1)).findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+  }
+
+  @Test
+  void shouldReturnEmptyForUnknownCpfWithoutCachingIt() {
+    when(patientGateway.findIdByCpf("00000000000")).thenReturn(Optional.empty());
+
+    assertThat(gateway.findPageByPatientCpf("00000000000", HistoryPeriod.UNBOUNDED, null, 10))
+        .isEmpty();
+    assertThat(gateway.findPageByPatientCpf("00000000000", HistoryPeriod.UNBOUNDED, null, 10))
+        .isEmpty();
+
+    verify(patientGateway, times(2)).findIdByCpf("00000000000");
+    verifyNoInteractions(delegate);
+  }
+
+  @Test
+  void shouldInvalidatePatientHistoryOnSave() {
+    final var newRecord = record(5L, LocalDateTime.of(2024, 7, 1, 10, 0));
+    final var updated =
+        List.of(newRecord, history.get(0), history.get(1), history.get(2), history.get(3));
+
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE))
+        .thenReturn(HistoryPage.of(history, FIRST_PAGE), HistoryPage.of(updated, FIRST_PAGE));
+    when(delegate.save(newRecord, 7L)).thenReturn(newRecord);
+
+    gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+    gateway.save(newRecord, 7L);
+    final var page = gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+
+    assertThat(page.records()).first().isSameAs(newRecord);
+
+    verify(delegate, times(2)).findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+  }
+
+  @Test
+  void shouldSaveThroughGroupCommitWriterWhenEnabled() {
+    final var writer = mock(MedicalRecordGroupCommitWriter.class);
+    final var groupCommitGateway =
+        new CachedMedicalRecordGateway(
+            delegate, patientGateway, Optional.of(writer), 10, 100, FIRST_PAGE, 10);
+    final var newRecord = record(5L, LocalDateTime.of(2024, 7, 1, 10, 0));
+
+    when(writer.save(newRecord, 7L)).thenReturn(newRecord);
+
+    assertThat(groupCommitGateway.save(newRecord, 7L)).isSameAs(newRecord);
+
+    verify(delegate, never()).save(any(), any());
+  }
+
+  @Test
+  void shouldInvalidatePatientHistoryOnSaveAll() {
+    final var newRecord = record(5L, LocalDateTime.of(2024, 7, 1, 10, 0));
+
+    when(delegate.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE))
+        .thenReturn(HistoryPage.of(history, FIRST_PAGE));
+    when(delegate.saveAll(List.of(newRecord), 7L)).thenReturn(List.of(newRecord));
+
+    gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+    gateway.saveAll(List.of(newRecord), 7L);
+    gateway.findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+
+    verify(delegate, times(2)).findPageByPatientId(7L, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+  }
+
+  @Test
+  void shouldEvictHistoriesBeyondMaximumRecords() {
+    when(delegate.findPageByPatientId(anyLong(), any(), isNull(), eq(FIRST_PAGE)))
+        .thenReturn(HistoryPage.of(history, FIRST_PAGE));
+
+    for (long patientId = 1; patientId <= 5; patientId++) {
+      gateway.findPageByPatientId(patientId, HistoryPeriod.UNBOUNDED, null, FIRST_PAGE);
+    }
+
+    assertThat(gateway.getCachedRecords()).isLessThanOrEqualTo(10);
+    assertThat(gateway.getEvictionCount()).isPositive();
+  }
+
+  @Test
+  void shouldCacheHistoryVersionUntilSave() {
+    final var newRecord = record(5L, LocalDateTime.of(2024, 7, 1, 10, 0));
+
+    when(delegate.findVersionByPatientId(7L))
+        .thenReturn(new HistoryVersion(7L, 1L), new HistoryVersion(7L, 2L));
+
+    assertThat(gateway.findVersionByPatientId(7L).version()).isEqualTo(1L);
+    assertThat(gateway.findVersionByPatientId(7L).version()).isEqualTo(1L);
+
+    gateway.save(newRecord, 7L);
+
+    assertThat(gateway.findVersionByPatientId(7L).version()).isEqualTo(2L);
+
+    verify(delegate, times(2)).findVersionByPatientId(7L);
+  }
+
+  @Test
+  void shouldResolveVersionByCpfThroughAlias() {
+    when(delegate.findVersionByPatientCpf("11111111111"))
+        .thenReturn(Optional.of(new HistoryVersion(7L, 1L)));
+    when(delegate.findVersionByPatientId(7L)).thenReturn(new HistoryVersion(7L, 1L));
+
+    assertThat(gateway.findVersionByPatientCpf("11111111111")).contains(new HistoryVersion(7L, 1L));
+    assertThat(gateway.findVersionByPatientCpf("11111111111")).contains(new HistoryVersion(7L, 1L));
+    assertThat(gateway.findVersionByPatientCpf("11111111111")).contains(new HistoryVersion(7L, 1L));
+
+    verify(delegate, times(1)).findVersionByPatientCpf("11111111111");
+    verify(delegate, times(1)).findVersionByPatientId(7L);
+  }
+
+  @Test
+  void shouldDelegateFeedsWithoutCaching() {
+    final var feed = new HistoryFeed(List.of(), 0L, false);
+
+    when(delegate.findFeedByPatientId(7L, 0L, 100)).thenReturn(feed);
+    when(delegate.findFeedByUnit("UBS", 0L, 100)).thenReturn(feed);
+
+    assertThat(gateway.findFeedByPatientId(7L, 0L, 100)).isSameAs(feed);
+    assertThat(gateway.findFeedByUnit("UBS", 0L, 100)).isSameAs(feed);
+    assertThat(gateway.getSize()).isZero();
+  }
+
+  @Test
+  void shouldDelegateSearch() {
+    final var page = new HistorySearchPage(List.of(), 0, null);
+
+    when(delegate.searchByPatientId(7L, "dengue", 0, 20)).thenReturn(page);
+
+    assertThat(gateway.searchByPatientId(7L, "dengue", 0, 20)).isSameAs(page);
+  }
+
+  @Test
+  void shouldStreamWithoutCaching() {
+    gateway.streamByPatientId(7L, it -> {});
+
+    verify(delegate).streamByPatientId(eq(7L), any());
+    assertThat(gateway.getSize()).isZero();
+  }
+
+  private static MedicalRecord record(final Long id, final LocalDateTime date) {
+    return new MedicalRecord(id, date, "UBS Central", "Dra. Ana", "Gripe", "Repouso", "Notas");
+  }
+}
@@ -0,0 +1,129 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.ShareToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class CachedShareTokenGatewayTest {
+
+  private final ShareTokenGatewayImpl delegate = mock(ShareTokenGatewayImpl.class);
+  private final CachedShareTokenGateway gateway = new CachedShareTokenGateway(delegate, 100);
+
+  @Test
+  void shouldServeRepeatedLookupsFromCache() {
+    final var token = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 7L);
+
+    when(delegate.findByAccessToken("abc")).thenReturn(Optional.of(token));
+
+    final var first = gateway.findByAccessToken("abc");
+    final var second = gateway.findByAccessToken("abc");
+
+    assertThat(first).contains(token);
+    assertThat(second).contains(token);
+    assertThat(gateway.getMissCount()).isEqualTo(1);
+    assertThat(gateway.getHitCount()).isEqualTo(1);
+
+    verify(delegate, times(1)).findByAccessToken("abc");
+  }
+
+  @Test
+  void shouldCacheTokenOnSave() {
+    final var token = new ShareToken(null, "abc", 30, LocalDateTime.now(), 7L);
+    final var saved = new ShareToken(1L, "abc", 30, token.getCreatedAt(), 7L);
+
+    when(delegate.save(token, 7L)).thenReturn(saved);
+
+    gateway.save(token, 7L);
+
+    assertThat(gateway.findByAccessToken("abc")).contains(saved);
+    assertThat(gateway.getHitCount()).isEqualTo(1);
+
+    verify(delegate, never()).findByAccessToken("abc");
+  }
+
+  @Test
+  void shouldCacheTokenSavedWithinLimit() {
+    final var token = new ShareToken(null, "abc", 30, LocalDateTime.now(), 7L);
+    final var saved = new ShareToken(1L, "abc", 30, token.getCreatedAt(), 7L);
+
+    when(delegate.saveWithinLimit(token, 7L, 5)).thenReturn(Optional.of(saved));
+
+    gateway.saveWithinLimit(token, 7L, 5);
+
+    assertThat(gateway.findByAccessToken("abc")).contains(saved);
+    assertThat(gateway.getHitCount()).isEqualTo(1);
+
+    verify(delegate, never()).findByAccessToken("abc");
+  }
+
+  @Test
+  void shouldNotCacheTokenRejectedByLimit() {
+    final var token = new ShareToken(null, "abc", 30, LocalDateTime.now(), 7L);
+
+    when(delegate.saveWithinLimit(token, 7L, 5)).thenReturn(Optional.empty());
+
+    assertThat(gateway.saveWithinLimit(token, 7L, 5)).isEmpty();
+    assertThat(gateway.findByAccessToken("abc")).isEmpty();
+
+    verify(delegate).findByAccessToken("abc");
+  }
+
+  @Test
+  void shouldCacheTokensOnSaveAll() {
+    final var first = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 7L);
+    final var second = new ShareToken(2L, "def", 30, LocalDateTime.now(), 8L);
+
+    when(delegate.saveAll(List.of(first, second))).thenReturn(List.of(first, second));
+
+    gateway.saveAll(List.of(first, second));
+
+    assertThat(gateway.findByAccessToken("abc")).contains(first);
+    assertThat(gateway.findByAccessToken("def")).contains(second);
+
+    verify(delegate, never()).findByAccessToken(any());
+  }
+
+  @Test
+  void shouldNotCacheUnknownTokens() {
+    when(delegate.findByAccessToken("nope")).thenReturn(Optional.empty());
+
+    assertThat(gateway.findByAccessToken("nope")).isEmpty();
+    assertThat(gateway.findByAccessToken("nope")).isEmpty();
+
+    verify(delegate, times(2)).findByAccessToken("nope");
+  }
+
+  @Test
+  void shouldNotServeTokensPastTheirExpiration() {
+    final var expired = new ShareToken(1L, "old", 1, LocalDateTime.now().minusMinutes(5), 7L);
+
+    when(delegate.findByAccessToken("old")).thenReturn(Optional.of(expired));
+
+    gateway.findByAccessToken("old");
+    gateway.findByAccessToken("old");
+
+    assertThat(gateway.getHitCount()).isZero();
+
+    verify(delegate, times(2)).findByAccessToken("old");
+  }
+
+  @Test
+  void shouldEvictTokenWhenDeleted() {
+    final var token = new ShareToken(1L, "abc", 30, LocalDateTime.now(), 7L);
+
+    when(delegate.findByAccessToken("abc")).thenReturn(Optional.of(token), Optional.empty());
+
+    gateway.findByAccessToken("abc");
+    gateway.deleteByAccessToken("abc");
+
+    assertThat(gateway.findByAccessToken("abc")).isEmpty();
+
+    verify(delegate).deleteByAccessToken("abc");
+  }
+}
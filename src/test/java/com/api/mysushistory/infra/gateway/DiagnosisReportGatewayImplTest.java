@@ -0,0 +1,167 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.persistence.projection.DiagnosisCountView;
+import com.api.mysushistory.infra.persistence.repository.DiagnosisRollupRepository;
+import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class DiagnosisReportGatewayImplTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+  private final DiagnosisRollupRepository rollupRepository = mock(DiagnosisRollupRepository.class);
+  private final MedicalRecordRepository recordRepository = mock(MedicalRecordRepository.class);
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final DiagnosisReportGatewayImpl gateway =
+      new DiagnosisReportGatewayImpl(rollupRepository, recordRepository, jdbcTemplate);
+
+  @Test
+  void shouldUpsertRollupWithOnDuplicateKeyOnMySql() {
+    databaseIs("MySQL");
+
+    gateway.increment("UBS", DAY, "Gripe");
+    gateway.increment("UBS", DAY, "Dengue", 3L);
+
+    verify(jdbcTemplate)
+        .update(
+            contains("on duplicate key update total = total + ?"),
+            eq("UBS"),
+            eq(DAY),
+            eq("Gripe"),
+            eq(1L),
+            eq(1L));
+    verify(jdbcTemplate)
+        .update(
+            contains("on duplicate key update"), eq("UBS"), eq(DAY), eq("Dengue"), eq(3L), eq(3L));
+    verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+  }
+
+  @Test
+  void shouldUpsertRollupWithMergeOnOtherDatabases() {
+    databaseIs("H2");
+
+    gateway.increment("UBS", DAY, "Gripe");
+
+    verify(jdbcTemplate)
+        .update(
+            startsWith("merge into diagnosis_rollups"), eq("UBS"), eq(DAY), eq("Gripe"), eq(1L));
+    verify(jdbcTemplate, never()).update(contains("on duplicate key"), any(Object[].class));
+  }
+
+  @Test
+  void shouldFindCountsOfAllUnitsOrOfOneUnit() {
+    final var view = new DiagnosisCountView("UBS", DAY, "Gripe", 3L);
+
+    when(rollupRepository.findCounts(DAY, DAY)).thenReturn(List.of(view));
+    when(rollupRepository.findCountsByUnit(DAY, DAY, "UBS")).thenReturn(List.of(view));
+
+    assertThat(gateway.findCounts(DAY, DAY, null))
+        .containsExactly(new DiagnosisCount("UBS", DAY, "Gripe", 3L));
+    assertThat(gateway.findCounts(DAY, DAY, "UBS"))
+        .containsExactly(new DiagnosisCount("UBS", DAY, "Gripe", 3L));
+  }
+
+  @Test
+  void shouldStageChunkByAddingCounts() {
+    when(recordRepository.countDiagnoses(0L, 100L, DAY.plusDays(1).atStartOfDay()))
+        .thenReturn(
+            List.of(
+                new DiagnosisCountView("UBS", DAY, "Gripe", 3L),
+                new DiagnosisCountView("UBS", DAY, "Dengue", 2L)));
+    when(jdbcTemplate.update(startsWith("update diagnosis_rollups_staging"), any(Object[].class)))
+        .thenReturn(1, 0);
+
+    assertThat(gateway.stage(0L, 100L, DAY.plusDays(1))).isEqualTo(5L);
+
+    verify(jdbcTemplate)
+        .update(
+            startsWith("insert into diagnosis_rollups_staging"),
+            eq("UBS"),
+            eq(DAY),
+            eq("Dengue"),
+            eq(2L));
+    verify(jdbcTemplate, never()).update(startsWith("merge"), any(Object[].class));
+  }
+
+  @Test
+  void shouldReplaceClosedDaysWithStagedRollups() {
+    gateway.replaceBefore(DAY);
+
+    final var order = inOrder(rollupRepository, jdbcTemplate);
+    order.verify(rollupRepository).deleteBefore(DAY);
+    order.verify(jdbcTemplate).update(startsWith("insert into diagnosis_rollups "));
+    order.verify(jdbcTemplate).update("delete from diagnosis_rollups_staging");
+  }
+
+  @Test
+  void shouldHoldBackdatedIncrementsWhileRebuilding() throws Exception {
+    databaseIs("MySQL");
+    final var increment = new Thread(() -> gateway.increment("UBS", DAY, "Gripe"));
+
+    gateway.blockingBackdatedIncrements(
+        () -> {
+          increment.start();
+          await(increment);
+          verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+          return 0L;
+        });
+    increment.join(5000);
+
+    verify(jdbcTemplate).update(anyString(), eq("UBS"), eq(DAY), eq("Gripe"), eq(1L), eq(1L));
+  }
+
+  @Test
+  void shouldNotHoldTodaysIncrementsWhileRebuilding() {
+    final var today = LocalDate.now();
+    databaseIs("MySQL");
+
+    gateway.blockingBackdatedIncrements(
+        () -> {
+          gateway.increment("UBS", today, "Gripe");
+          return 0L;
+        });
+
+    verify(jdbcTemplate).update(anyString(), eq("UBS"), eq(today), eq("Gripe"), eq(1L), eq(1L));
+  }
+
+  @Test
+  void shouldReturnZeroAsLastRecordIdWhenTableIsEmpty() {
+    when(recordRepository.findMaxId()).thenReturn(null);
+
+    assertThat(gateway.findLastRecordId()).isZero();
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenFindCountsError() {
+    when(rollupRepository.findCounts(DAY, DAY)).thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.findCounts(DAY, DAY, null))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error finding diagnosis counts from=[2024-01-01] to=[2024-01-01].");
+  }
+
+  @SuppressWarnings("unchecked")
+  private void databaseIs(final String product) {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+  }
+
+  private static void await(final Thread thread) {
+    final var deadline = System.nanoTime() + 5_000_000_000L;
+
+    while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+
+    assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+  }
+}
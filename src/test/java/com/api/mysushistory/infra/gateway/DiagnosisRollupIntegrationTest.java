@@ -0,0 +1,131 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.DiagnosisCount;
+import com.api.mysushistory.core.gateway.DiagnosisReportGateway;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import com.api.mysushistory.core.usecase.report.BackfillDiagnosisRollups;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DiagnosisRollupIntegrationTest {
+
+  private static final String CPF = "55544433322";
+  private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+  private static final LocalDate SECOND_DAY = LocalDate.of(2024, 1, 2);
+
+  @Autowired private MedicalRecordGateway medicalRecordGateway;
+  @Autowired private DiagnosisReportGateway diagnosisReportGateway;
+  @Autowired private BackfillDiagnosisRollups backfillDiagnosisRollups;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update("delete from diagnosis_rollups");
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+
+    insert(FIRST_DAY.atTime(8, 0), "UBS Central", "Gripe");
+    insert(FIRST_DAY.atTime(9, 0), "UBS Central", "Gripe");
+    insert(FIRST_DAY.atTime(23, 59), "UBS Central", "Dengue");
+    insert(SECOND_DAY.atTime(0, 0), "UBS Central", "Gripe");
+    insert(SECOND_DAY.atTime(10, 0), "UBS Norte", "Gripe");
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from medical_records where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from patients where id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from diagnosis_rollups");
+    this.jdbcTemplate.update("delete from diagnosis_rollups_staging");
+  }
+
+  @Test
+  void shouldBackfillClosedDaysAcrossChunksIdempotently() {
+    assertThat(this.backfillDiagnosisRollups.execute(2)).isEqualTo(5);
+    assertThat(this.backfillDiagnosisRollups.execute(3)).isEqualTo(5);
+
+    assertThat(this.diagnosisReportGateway.findCounts(FIRST_DAY, SECOND_DAY, null))
+        .containsExactly(
+            new DiagnosisCount("UBS Central", FIRST_DAY, "Dengue", 1),
+            new DiagnosisCount("UBS Central", FIRST_DAY, "Gripe", 2),
+            new DiagnosisCount("UBS Central", SECOND_DAY, "Gripe", 1),
+            new DiagnosisCount("UBS Norte", SECOND_DAY, "Gripe", 1));
+    assertThat(this.diagnosisReportGateway.findCounts(SECOND_DAY, SECOND_DAY, "UBS Norte"))
+        .containsExactly(new DiagnosisCount("UBS Norte", SECOND_DAY, "Gripe", 1));
+  }
+
+  @Test
+  void shouldCountBackdatedSaveOnceWhenItArrivesDuringTheRebuild() throws Exception {
+    final var save =
+        new Thread(
+            () ->
+                this.medicalRecordGateway.save(
+                    MedicalRecord.createMedicalRecord(
+                        SECOND_DAY.atTime(12, 0), "UBS Norte", "Dr. José", "Gripe", "-", "-"),
+                    this.patientId));
+
+    this.diagnosisReportGateway.blockingBackdatedIncrements(
+        () -> {
+          save.start();
+          try {
+            save.join(300);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          assertThat(save.isAlive()).isTrue();
+
+          this.diagnosisReportGateway.clearStaging();
+          final var staged = this.diagnosisReportGateway.stage(0, Long.MAX_VALUE, LocalDate.now());
+          this.diagnosisReportGateway.replaceBefore(LocalDate.now());
+          return staged;
+        });
+    save.join(5000);
+
+    assertThat(this.diagnosisReportGateway.findCounts(SECOND_DAY, SECOND_DAY, "UBS Norte"))
+        .containsExactly(new DiagnosisCount("UBS Norte", SECOND_DAY, "Gripe", 2));
+  }
+
+  @Test
+  void shouldCountSavedRecordsInTheSaveTransaction() {
+    final var now = LocalDateTime.now();
+
+    for (int i = 0; i < 3; i++) {
+      this.medicalRecordGateway.save(
+          MedicalRecord.createMedicalRecord(now, "UBS Sul", "Dra. Ana", "Asma", "Bombinha", "-"),
+          this.patientId);
+    }
+
+    assertThat(this.diagnosisReportGateway.findCounts(now.toLocalDate(), now.toLocalDate(), null))
+        .containsExactly(new DiagnosisCount("UBS Sul", now.toLocalDate(), "Asma", 3));
+  }
+
+  private void insert(final LocalDateTime date, final String unit, final String diagnosis) {
+    this.jdbcTemplate.update(
+        "insert into medical_records"
+            + " (id, date, unit, professional_name, diagnosis, treatment, notes, patient_id)"
+            + " values (next value for medical_records_seq, ?, ?, 'Dr. José', ?, 'Descanso', 'Notas', ?)",
+        date,
+        unit,
+        diagnosis,
+        this.patientId);
+  }
+}
@@ -0,0 +1,87 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class MedicalRecordBulkSaveIntegrationTest {
+
+  private static final String CPF = "55566677788";
+  private static final String UNIT = "UBS Bulk";
+  private static final int RECORDS = 120;
+
+  @Autowired private MedicalRecordGateway medicalRecordGateway;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from medical_records where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from patients where id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from diagnosis_rollups where unit = ?", UNIT);
+  }
+
+  @Test
+  void shouldInsertAllRecordsInJdbcBatches() {
+    final var now = LocalDateTime.now();
+    final var records =
+        IntStream.range(0, RECORDS)
+            .mapToObj(
+                i ->
+                    MedicalRecord.createMedicalRecord(
+                        now, UNIT, "Dra. Ana", i % 2 == 0 ? "Gripe" : "Asma", "Repouso", "#" + i))
+            .toList();
+    final var statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    final var saved = this.medicalRecordGateway.saveAll(records, this.patientId);
+
+    assertThat(saved).hasSize(RECORDS).extracting(MedicalRecord::getId).doesNotContainNull();
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(RECORDS);
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select count(*) from medical_records where patient_id = ?",
+                Long.class,
+                this.patientId))
+        .isEqualTo(RECORDS);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select history_version from patients where id = ?", Long.class, this.patientId))
+        .isEqualTo(1L);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select total from diagnosis_rollups where unit = ? and diagnosis = 'Gripe'",
+                Long.class,
+                UNIT))
+        .isEqualTo(RECORDS / 2);
+  }
+}
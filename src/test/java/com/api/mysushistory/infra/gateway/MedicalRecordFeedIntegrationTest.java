@@ -0,0 +1,94 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MedicalRecordFeedIntegrationTest {
+
+  private static final String CPF = "44433322211";
+  private static final String UNIT = "UBS Feed";
+
+  @Autowired private MedicalRecordGateway medicalRecordGateway;
+  @Autowired private RecordWatermark recordWatermark;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from medical_records where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from patients where id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from diagnosis_rollups where unit = ?", UNIT);
+  }
+
+  @Test
+  void shouldReturnOnlyRecordsAfterCursorInIdOrder() {
+    final var first = save("Gripe");
+    final var second = save("Dengue");
+    final var third = save("Asma");
+
+    final var page = this.medicalRecordGateway.findFeedByPatientId(this.patientId, 0L, 2);
+    final var next =
+        this.medicalRecordGateway.findFeedByPatientId(this.patientId, page.nextCursor(), 2);
+    final var unitFeed = this.medicalRecordGateway.findFeedByUnit(UNIT, first.getId(), 10);
+
+    assertThat(page.records())
+        .extracting(MedicalRecord::getId)
+        .containsExactly(first.getId(), second.getId());
+    assertThat(page.hasMore()).isTrue();
+    assertThat(next.records()).extracting(MedicalRecord::getId).containsExactly(third.getId());
+    assertThat(next.hasMore()).isFalse();
+    assertThat(unitFeed.records())
+        .extracting(MedicalRecord::getId)
+        .containsExactly(second.getId(), third.getId());
+  }
+
+  @Test
+  void shouldHoldBackRecordsBehindAnInFlightSave() {
+    final var before = save("Gripe");
+    final var floor = this.recordWatermark.reserve();
+    final var after = save("Dengue");
+
+    final var held = this.medicalRecordGateway.findFeedByPatientId(this.patientId, 0L, 10);
+
+    this.recordWatermark.release(floor);
+
+    final var released = this.medicalRecordGateway.findFeedByPatientId(this.patientId, 0L, 10);
+
+    assertThat(held.records()).extracting(MedicalRecord::getId).containsExactly(before.getId());
+    assertThat(released.records())
+        .extracting(MedicalRecord::getId)
+        .containsExactly(before.getId(), after.getId());
+  }
+
+  private MedicalRecord save(final String diagnosis) {
+    return this.medicalRecordGateway.save(
+        MedicalRecord.createMedicalRecord(
+            LocalDateTime.now(), UNIT, "Dra. Ana", diagnosis, "Repouso", "-"),
+        this.patientId);
+  }
+}
@@ -4,26 +4,54 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.HistoryCursor;
+import com.api.mysushistory.core.domain.valueobject.HistoryPeriod;
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.core.usecase.exception.InvalidMedicalRecordException;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.gateway.exception.SearchIndexLoadingException;
+import com.api.mysushistory.infra.gateway.search.MedicalRecordIndex;
 import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
 import com.api.mysushistory.infra.persistence.entity.PatientEntity;
+import com.api.mysushistory.infra.persistence.projection.HistoryVersionView;
+import com.api.mysushistory.infra.persistence.projection.MedicalRecordView;
 import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 class MedicalRecordGatewayImplTest {
 
+  private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+  private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
   private final MedicalRecordRepository recordRepository = mock(MedicalRecordRepository.class);
   private final PatientRepository patientRepository = mock(PatientRepository.class);
+  private final MedicalRecordIndex medicalRecordIndex = mock(MedicalRecordIndex.class);
+  private final DiagnosisReportGatewayImpl diagnosisReportGateway =
+      mock(DiagnosisReportGatewayImpl.class);
+  private final RecordWatermark recordWatermark = new RecordWatermark();
   private final MedicalRecordGatewayImpl gateway =
-      new MedicalRecordGatewayImpl(recordRepository, patientRepository);
+      new MedicalRecordGatewayImpl(
+          recordRepository,
+          patientRepository,
+          medicalRecordIndex,
+          diagnosisReportGateway,
+          recordWatermark);
 
   @Test
   void shouldSaveMedicalRecordSuccessfully() {
@@ -52,7 +80,8 @@ class MedicalRecordGatewayImplTest {
             .build();
 
     when(patientRepository.findById(patientId)).thenReturn(Optional.of(patientEntity));
-    when(recordRepository.save(medicalRecordEntityCaptor.capture())).thenReturn(entityResponse);
+    when(recordRepository.saveAndFlush(medicalRecordEntityCaptor.capture()))
+        .thenReturn(entityResponse);
 
     final var response = gateway.save(domainRecord, patientId);
 
@@ -69,6 +98,127 @@ class MedicalRecordGatewayImplTest {
     assertThat(captured.getTreatment()).isEqualTo(domainRecord.getTreatment());
     assertThat(captured.getNotes()).isEqualTo(domainRecord.getNotes());
     assertThat(captured.getPatient()).isEqualTo(patientEntity);
+
+    verify(patientRepository).incrementHistoryVersion(patientId);
+    verify(diagnosisReportGateway).increment("UBS A", LocalDate.of(2024, 1, 1), "Dx");
+    verify(medicalRecordIndex).add(patientId, 10L, "Dx", "Tx", "Notes");
+    assertThat(recordWatermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
+    assertThat(recordWatermark.reserve()).isEqualTo(11L);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldSaveAllMedicalRecordsOnceForPatient() {
+    final var patientId = 5L;
+    final var patientEntity = PatientEntity.builder().id(patientId).cpf("12345678900").build();
+    final var date = LocalDateTime.of(2024, 1, 1, 9, 0);
+    final var records =
+        List.of(
+            MedicalRecord.createMedicalRecord(date, "UBS A", "Dr. Teste", "Dx", "Tx", "N1"),
+            MedicalRecord.createMedicalRecord(date, "UBS A", "Dr. Teste", "Dx", "Tx", "N2"),
+            MedicalRecord.createMedicalRecord(date, "UBS A", "Dr. Teste", "Other", "Tx", "N3"));
+    final ArgumentCaptor<List<MedicalRecordEntity>> captor = ArgumentCaptor.forClass(List.class);
+
+    when(patientRepository.findById(patientId)).thenReturn(Optional.of(patientEntity));
+    when(recordRepository.saveAll(captor.capture()))
+        .thenAnswer(
+            invocation -> {
+              final List<MedicalRecordEntity> entities = invocation.getArgument(0);
+              for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).setId(20L + i);
+              }
+              return entities;
+            });
+
+    final var response = gateway.saveAll(records, patientId);
+
+    assertThat(response).extracting(MedicalRecord::getId).containsExactly(20L, 21L, 22L);
+    assertThat(captor.getValue())
+        .allSatisfy(it -> assertThat(it.getPatient()).isEqualTo(patientEntity))
+        .extracting(MedicalRecordEntity::getNotes)
+        .containsExactly("N1", "N2", "N3");
+
+    verify(patientRepository).findById(patientId);
+    verify(patientRepository).incrementHistoryVersion(patientId);
+    verify(diagnosisReportGateway).increment("UBS A", LocalDate.of(2024, 1, 1), "Dx", 2L);
+    verify(diagnosisReportGateway).increment("UBS A", LocalDate.of(2024, 1, 1), "Other", 1L);
+    verify(medicalRecordIndex).add(patientId, 22L, "Other", "Tx", "N3");
+    assertThat(recordWatermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
+    assertThat(recordWatermark.reserve()).isEqualTo(23L);
+  }
+
+  @Test
+  void shouldSaveBatchOfSeveralPatientsInOrder() {
+    final var first = PatientEntity.builder().id(1L).cpf("11111111111").build();
+    final var second = PatientEntity.builder().id(2L).cpf("22222222222").build();
+    final var date = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    when(patientRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+    when(recordRepository.saveAll(any()))
+        .thenAnswer(
+            invocation -> {
+              final List<MedicalRecordEntity> entities = invocation.getArgument(0);
+              for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).setId(30L + i);
+              }
+              return entities;
+            });
+
+    final var response =
+        gateway.saveBatch(
+            List.of(
+                new PatientMedicalRecord(
+                    2L, MedicalRecord.createMedicalRecord(date, "UBS A", "Dr.", "Dx", "Tx", "A")),
+                new PatientMedicalRecord(
+                    1L, MedicalRecord.createMedicalRecord(date, "UBS A", "Dr.", "Dx", "Tx", "B")),
+                new PatientMedicalRecord(
+                    2L, MedicalRecord.createMedicalRecord(date, "UBS A", "Dr.", "Dx", "Tx", "C"))));
+
+    assertThat(response).extracting(MedicalRecord::getNotes).containsExactly("A", "B", "C");
+
+    verify(patientRepository).incrementHistoryVersion(1L);
+    verify(patientRepository).incrementHistoryVersion(2L);
+    verify(diagnosisReportGateway).increment("UBS A", LocalDate.of(2024, 1, 1), "Dx", 3L);
+    verify(medicalRecordIndex).add(2L, 30L, "Dx", "Tx", "A");
+    verify(medicalRecordIndex).add(1L, 31L, "Dx", "Tx", "B");
+    assertThat(recordWatermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenBatchPatientNotFound() {
+    when(patientRepository.findAllById(List.of(9L))).thenReturn(List.of());
+
+    assertThatThrownBy(
+            () ->
+                gateway.saveBatch(
+                    List.of(
+                        new PatientMedicalRecord(
+                            9L,
+                            MedicalRecord.createMedicalRecord(
+                                LocalDateTime.now(), "UBS A", "Dr.", "Dx", "Tx", "A")))))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("PatientEntity with id=[9] not found.");
+
+    verifyNoInteractions(recordRepository);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenSaveAllError() {
+    final var patientEntity = PatientEntity.builder().id(5L).cpf("12345678900").build();
+    final var records =
+        List.of(
+            MedicalRecord.createMedicalRecord(
+                LocalDateTime.now(), "UBS A", "Dr. Teste", "Dx", "Tx", "N1"));
+
+    when(patientRepository.findById(5L)).thenReturn(Optional.of(patientEntity));
+    when(recordRepository.saveAll(any())).thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.saveAll(records, 5L))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error saving [1] medical records for patientId=[5].");
+
+    verifyNoInteractions(diagnosisReportGateway, medicalRecordIndex);
+    assertThat(recordWatermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
   }
 
   @Test
@@ -92,7 +242,7 @@ class MedicalRecordGatewayImplTest {
     final var patientEntity = PatientEntity.builder().id(patientId).build();
 
     when(patientRepository.findById(patientId)).thenReturn(Optional.of(patientEntity));
-    when(recordRepository.save(any())).thenThrow(new IllegalArgumentException());
+    when(recordRepository.saveAndFlush(any())).thenThrow(new IllegalArgumentException());
 
     assertThatThrownBy(
             () ->
@@ -101,79 +251,276 @@ class MedicalRecordGatewayImplTest {
                     patientId))
         .isInstanceOf(GatewayException.class)
         .hasMessage("Error saving medical record for patientId=[5].");
+
+    assertThat(recordWatermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
   }
 
   @Test
-  void shouldFindByPatientCpfSuccessfully() {
-    final var cpf = "123";
-    final var entity =
-        MedicalRecordEntity.builder()
-            .id(1L)
-            .date(LocalDateTime.now())
-            .unit("u")
-            .professionalName("p")
-            .diagnosis("d")
-            .treatment("t")
-            .notes("n")
-            .build();
+  void shouldRejectRecordTheDatabaseCanNeverStore() {
+    final var patientId = 5L;
 
-    when(recordRepository.findByPatientCpf(cpf)).thenReturn(List.of(entity));
+    when(patientRepository.findById(patientId))
+        .thenReturn(Optional.of(PatientEntity.builder().id(patientId).build()));
+    when(recordRepository.saveAndFlush(any()))
+        .thenThrow(new DataIntegrityViolationException("Value too long for column notes"));
 
-    final var response = gateway.findByPatientCpf(cpf);
+    assertThatThrownBy(
+            () ->
+                gateway.save(
+                    MedicalRecord.createMedicalRecord(LocalDateTime.now(), "u", "p", "d", "t", "n"),
+                    patientId))
+        .isInstanceOf(InvalidMedicalRecordException.class)
+        .hasMessage(
+            "Medical record for patientId=[5] was rejected by the database:"
+                + " Value too long for column notes");
+  }
 
-    assertThat(response).hasSize(1);
-    assertThat(response.get(0).getId()).isEqualTo(entity.getId());
-    assertThat(response.get(0).getDate()).isEqualTo(entity.getDate());
-    assertThat(response.get(0).getUnit()).isEqualTo(entity.getUnit());
-    assertThat(response.get(0).getProfessionalName()).isEqualTo(entity.getProfessionalName());
-    assertThat(response.get(0).getDiagnosis()).isEqualTo(entity.getDiagnosis());
-    assertThat(response.get(0).getTreatment()).isEqualTo(entity.getTreatment());
-    assertThat(response.get(0).getNotes()).isEqualTo(entity.getNotes());
+  @Test
+  void shouldKeepConnectionFailuresRetryable() {
+    final var patientId = 5L;
+
+    when(patientRepository.findById(patientId))
+        .thenReturn(Optional.of(PatientEntity.builder().id(patientId).build()));
+    when(recordRepository.saveAndFlush(any()))
+        .thenThrow(new DataAccessResourceFailureException("Communications link failure"));
+
+    assertThatThrownBy(
+            () ->
+                gateway.save(
+                    MedicalRecord.createMedicalRecord(LocalDateTime.now(), "u", "p", "d", "t", "n"),
+                    patientId))
+        .isInstanceOf(DataAccessResourceFailureException.class);
   }
 
   @Test
-  void shouldThrowGatewayExceptionWhenFindByCpfError() {
-    when(recordRepository.findByPatientCpf("x")).thenThrow(new IllegalArgumentException());
+  void shouldFindFirstPageByPatientId() {
+    final var patientId = 7L;
+    final var view = new MedicalRecordView(2L, LocalDateTime.now(), "u", "p", "d", "t", "n");
 
-    assertThatThrownBy(() -> gateway.findByPatientCpf("x"))
-        .isInstanceOf(GatewayException.class)
-        .hasMessage("Error finding medical records for cpf=[x].");
+    when(recordRepository.findPageByPatientId(patientId, EARLIEST, LATEST, Limit.of(3)))
+        .thenReturn(List.of(view));
+
+    final var response = gateway.findPageByPatientId(patientId, HistoryPeriod.UNBOUNDED, null, 2);
+
+    assertThat(response.nextCursor()).isNull();
+    assertThat(response.records()).hasSize(1);
+
+    final var record = response.records().get(0);
+    assertThat(record.getId()).isEqualTo(view.id());
+    assertThat(record.getDate()).isEqualTo(view.date());
+    assertThat(record.getUnit()).isEqualTo(view.unit());
+    assertThat(record.getProfessionalName()).isEqualTo(view.professionalName());
+    assertThat(record.getDiagnosis()).isEqualTo(view.diagnosis());
+    assertThat(record.getTreatment()).isEqualTo(view.treatment());
+    assertThat(record.getNotes()).isEqualTo(view.notes());
   }
 
   @Test
-  void shouldFindByPatientIdSuccessfully() {
+  void shouldFindPageAfterCursorAndReturnNextCursor() {
     final var patientId = 7L;
-    final var entity =
-        MedicalRecordEntity.builder()
-            .id(2L)
-            .date(LocalDateTime.now())
-            .unit("u")
-            .professionalName("p")
-            .diagnosis("d")
-            .treatment("t")
-            .notes("n")
-            .build();
+    final var cursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 30L);
+    final var views =
+        List.of(
+            view(29L, LocalDateTime.of(2024, 5, 1, 10, 0)),
+            view(12L, LocalDateTime.of(2024, 4, 1, 10, 0)),
+            view(11L, LocalDateTime.of(2024, 3, 1, 10, 0)));
 
-    when(recordRepository.findByPatientId(patientId)).thenReturn(List.of(entity));
+    when(recordRepository.findPageByPatientIdBefore(
+            patientId, EARLIEST, LATEST, cursor.date(), cursor.id(), Limit.of(3)))
+        .thenReturn(views);
 
-    final var response = gateway.findByPatientId(patientId);
+    final var response = gateway.findPageByPatientId(patientId, HistoryPeriod.UNBOUNDED, cursor, 2);
 
-    assertThat(response).hasSize(1);
-    assertThat(response.get(0).getId()).isEqualTo(entity.getId());
-    assertThat(response.get(0).getDate()).isEqualTo(entity.getDate());
-    assertThat(response.get(0).getUnit()).isEqualTo(entity.getUnit());
-    assertThat(response.get(0).getProfessionalName()).isEqualTo(entity.getProfessionalName());
-    assertThat(response.get(0).getDiagnosis()).isEqualTo(entity.getDiagnosis());
-    assertThat(response.get(0).getTreatment()).isEqualTo(entity.getTreatment());
-    assertThat(response.get(0).getNotes()).isEqualTo(entity.getNotes());
+    assertThat(response.records()).extracting(MedicalRecord::getId).containsExactly(29L, 12L);
+    assertThat(response.nextCursor())
+        .isEqualTo(new HistoryCursor(LocalDateTime.of(2024, 4, 1, 10, 0), 12L));
   }
 
   @Test
-  void shouldThrowGatewayExceptionWhenFindByIdError() {
-    when(recordRepository.findByPatientId(8L)).thenThrow(new IllegalArgumentException());
+  void shouldBoundPageByWholeDaysOfPeriod() {
+    final var period = new HistoryPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+    when(recordRepository.findPageByPatientId(
+            7L,
+            LocalDateTime.of(2024, 1, 1, 0, 0),
+            LocalDateTime.of(2025, 1, 1, 0, 0),
+            Limit.of(11)))
+        .thenReturn(List.of(view(3L, LocalDateTime.of(2024, 12, 31, 23, 59))));
 
-    assertThatThrownBy(() -> gateway.findByPatientId(8L))
+    final var response = gateway.findPageByPatientId(7L, period, null, 10);
+
+    assertThat(response.records()).extracting(MedicalRecord::getId).containsExactly(3L);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenFindPageError() {
+    when(recordRepository.findPageByPatientId(any(), any(), any(), any()))
+        .thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.findPageByPatientId(8L, HistoryPeriod.UNBOUNDED, null, 10))
         .isInstanceOf(GatewayException.class)
         .hasMessage("Error finding medical records for patientId=[8].");
   }
+
+  @Test
+  void shouldFindPageByPatientCpf() {
+    final var cursor = new HistoryCursor(LocalDateTime.of(2024, 6, 1, 10, 0), 40L);
+
+    when(recordRepository.findPageByPatientCpfBefore(
+            "11111111111", EARLIEST, LATEST, cursor.date(), cursor.id(), Limit.of(3)))
+        .thenReturn(List.of(view(29L, LocalDateTime.of(2024, 5, 1, 10, 0))));
+
+    final var response =
+        gateway.findPageByPatientCpf("11111111111", HistoryPeriod.UNBOUNDED, cursor, 2);
+
+    assertThat(response).isPresent();
+    assertThat(response.get().records()).extracting(MedicalRecord::getId).containsExactly(29L);
+    assertThat(response.get().nextCursor()).isNull();
+  }
+
+  @Test
+  void shouldReturnEmptyPageWhenPatientHasNoRecords() {
+    when(recordRepository.findPageByPatientCpf("11111111111", EARLIEST, LATEST, Limit.of(51)))
+        .thenReturn(List.of(new MedicalRecordView(null, null, null, null, null, null, null)));
+
+    final var response =
+        gateway.findPageByPatientCpf("11111111111", HistoryPeriod.UNBOUNDED, null, 50);
+
+    assertThat(response).isPresent();
+    assertThat(response.get().records()).isEmpty();
+    assertThat(response.get().nextCursor()).isNull();
+  }
+
+  @Test
+  void shouldReturnEmptyWhenPatientCpfIsUnknown() {
+    when(recordRepository.findPageByPatientCpf("11111111111", EARLIEST, LATEST, Limit.of(51)))
+        .thenReturn(List.of());
+
+    assertThat(gateway.findPageByPatientCpf("11111111111", HistoryPeriod.UNBOUNDED, null, 50))
+        .isEmpty();
+  }
+
+  @Test
+  void shouldFindFeedByPatientIdBelowInFlightSaves() {
+    final var floor = recordWatermark.reserve();
+
+    when(recordRepository.findFeedByPatientId(7L, 10L, floor, Limit.of(3)))
+        .thenReturn(
+            List.of(
+                view(11L, LocalDateTime.now()),
+                view(12L, LocalDateTime.now()),
+                view(13L, LocalDateTime.now())));
+
+    final var feed = gateway.findFeedByPatientId(7L, 10L, 2);
+
+    assertThat(feed.records()).extracting(MedicalRecord::getId).containsExactly(11L, 12L);
+    assertThat(feed.nextCursor()).isEqualTo(12L);
+    assertThat(feed.hasMore()).isTrue();
+  }
+
+  @Test
+  void shouldFindFeedByUnit() {
+    when(recordRepository.findFeedByUnit("UBS", 0L, Long.MAX_VALUE, Limit.of(11)))
+        .thenReturn(List.of(view(3L, LocalDateTime.now())));
+
+    final var feed = gateway.findFeedByUnit("UBS", 0L, 10);
+
+    assertThat(feed.records()).extracting(MedicalRecord::getId).containsExactly(3L);
+    assertThat(feed.nextCursor()).isEqualTo(3L);
+    assertThat(feed.hasMore()).isFalse();
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenFindFeedByUnitError() {
+    when(recordRepository.findFeedByUnit("UBS", 0L, Long.MAX_VALUE, Limit.of(11)))
+        .thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.findFeedByUnit("UBS", 0L, 10))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error finding medical records for unit=[UBS].");
+  }
+
+  @Test
+  void shouldSearchRankedPageByPatientId() {
+    when(medicalRecordIndex.isReady()).thenReturn(true);
+    when(medicalRecordIndex.search(7L, "dengue")).thenReturn(List.of(4L, 9L, 2L, 5L));
+    when(recordRepository.findAllByPatientIdAndIdIn(7L, List.of(9L, 2L)))
+        .thenReturn(List.of(view(2L, LocalDateTime.now()), view(9L, LocalDateTime.now())));
+
+    final var page = gateway.searchByPatientId(7L, "dengue", 1, 2);
+
+    assertThat(page.records()).extracting(MedicalRecord::getId).containsExactly(9L, 2L);
+    assertThat(page.total()).isEqualTo(4);
+    assertThat(page.nextOffset()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldReturnEmptySearchPageBeyondLastHit() {
+    when(medicalRecordIndex.isReady()).thenReturn(true);
+    when(medicalRecordIndex.search(7L, "dengue")).thenReturn(List.of(4L));
+
+    final var page = gateway.searchByPatientId(7L, "dengue", 5, 2);
+
+    assertThat(page.records()).isEmpty();
+    assertThat(page.total()).isEqualTo(1);
+    assertThat(page.nextOffset()).isNull();
+    verifyNoInteractions(recordRepository);
+  }
+
+  @Test
+  void shouldThrowSearchIndexLoadingExceptionWhenSearchIndexIsLoading() {
+    assertThatThrownBy(() -> gateway.searchByPatientId(7L, "dengue", 0, 20))
+        .isInstanceOf(SearchIndexLoadingException.class)
+        .hasMessage("Medical record search index is still loading.");
+  }
+
+  @Test
+  void shouldFindHistoryVersionByPatientId() {
+    when(patientRepository.findHistoryVersionById(7L))
+        .thenReturn(Optional.of(new HistoryVersionView(7L, 4L)));
+
+    assertThat(gateway.findVersionByPatientId(7L)).isEqualTo(new HistoryVersion(7L, 4L));
+  }
+
+  @Test
+  void shouldDefaultHistoryVersionToZeroWhenPatientIsMissing() {
+    when(patientRepository.findHistoryVersionById(7L)).thenReturn(Optional.empty());
+
+    assertThat(gateway.findVersionByPatientId(7L)).isEqualTo(new HistoryVersion(7L, 0L));
+  }
+
+  @Test
+  void shouldFindHistoryVersionByPatientCpf() {
+    when(patientRepository.findHistoryVersionByCpf("11111111111"))
+        .thenReturn(Optional.of(new HistoryVersionView(7L, 4L)));
+
+    assertThat(gateway.findVersionByPatientCpf("11111111111")).contains(new HistoryVersion(7L, 4L));
+  }
+
+  @Test
+  void shouldStreamRecords() {
+    final var first = view(2L, LocalDateTime.of(2024, 2, 1, 10, 0));
+    final var second = view(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+    final var consumed = new ArrayList<MedicalRecord>();
+
+    when(recordRepository.streamByPatientId(7L)).thenReturn(Stream.of(first, second));
+
+    final var count = gateway.streamByPatientId(7L, consumed::add);
+
+    assertThat(count).isEqualTo(2);
+    assertThat(consumed).extracting(MedicalRecord::getId).containsExactly(2L, 1L);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenStreamError() {
+    when(recordRepository.streamByPatientId(8L)).thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.streamByPatientId(8L, it -> {}))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error finding medical records for patientId=[8].");
+  }
+
+  private static MedicalRecordView view(final Long id, final LocalDateTime date) {
+    return new MedicalRecordView(id, date, "u", "p", "d", "t", "n");
+  }
 }
@@ -0,0 +1,107 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    properties = {
+      "mysushistory.medical-record.group-commit.enabled=true",
+      "mysushistory.medical-record.group-commit.window=20ms"
+    })
+@ActiveProfiles("test")
+class MedicalRecordGroupCommitIntegrationTest {
+
+  private static final String UNIT = "UBS Group Commit";
+  private static final int SAVES = 40;
+
+  @Autowired private MedicalRecordGateway medicalRecordGateway;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long firstPatientId;
+  private Long secondPatientId;
+
+  @BeforeEach
+  void setUp() {
+    this.firstPatientId = insertPatient("10120230344");
+    this.secondPatientId = insertPatient("20230340455");
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from medical_records where unit = ?", UNIT);
+    this.jdbcTemplate.update(
+        "delete from patients where id in (?, ?)", this.firstPatientId, this.secondPatientId);
+    this.jdbcTemplate.update("delete from diagnosis_rollups where unit = ?", UNIT);
+  }
+
+  @Test
+  void shouldCommitConcurrentSavesOfSeveralPatientsTogether() {
+    final var callers = Executors.newFixedThreadPool(SAVES);
+
+    try {
+      final var saves =
+          IntStream.range(0, SAVES)
+              .mapToObj(
+                  i ->
+                      CompletableFuture.supplyAsync(
+                          () ->
+                              this.medicalRecordGateway.save(
+                                  MedicalRecord.createMedicalRecord(
+                                      LocalDateTime.now(),
+                                      UNIT,
+                                      "Dra. Ana",
+                                      "Gripe",
+                                      "Repouso",
+                                      "#" + i),
+                                  i % 2 == 0 ? this.firstPatientId : this.secondPatientId),
+                          callers))
+              .toList();
+
+      assertThat(saves)
+          .extracting(CompletableFuture::join)
+          .extracting(MedicalRecord::getId)
+          .doesNotContainNull()
+          .doesNotHaveDuplicates();
+    } finally {
+      callers.shutdown();
+    }
+
+    assertThat(this.meterRegistry.get("mysushistory.group-commit.batch.size").summary().count())
+        .isLessThan(SAVES);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select count(*) from medical_records where unit = ?", Long.class, UNIT))
+        .isEqualTo(SAVES);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select total from diagnosis_rollups where unit = ?", Long.class, UNIT))
+        .isEqualTo(SAVES);
+  }
+
+  private Long insertPatient(final String cpf) {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        cpf,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+
+    return this.jdbcTemplate.queryForObject(
+        "select id from patients where cpf = ?", Long.class, cpf);
+  }
+}
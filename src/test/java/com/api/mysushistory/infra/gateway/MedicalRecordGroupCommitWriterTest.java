@@ -0,0 +1,187 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MedicalRecordGroupCommitWriterTest {
+
+  private final MedicalRecordGatewayImpl delegate = mock(MedicalRecordGatewayImpl.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MedicalRecordGroupCommitWriter writer =
+      new MedicalRecordGroupCommitWriter(
+          delegate, 3, Duration.ofMillis(500), 100, Duration.ofSeconds(1), registry);
+  private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+  @BeforeEach
+  void setUp() {
+    writer.start();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    callers.shutdownNow();
+    writer.stop();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldCommitConcurrentSavesInOneBatch() {
+    when(delegate.saveBatch(anyList()))
+        .thenAnswer(
+            invocation ->
+                ((List<PatientMedicalRecord>) invocation.getArgument(0))
+                    .stream()
+                        .map(it -> saved(it.patientId() * 10, it.medicalRecord().getNotes()))
+                        .toList());
+
+    final var results =
+        IntStream.rangeClosed(1, 3)
+            .mapToObj(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> writer.save(draft("#" + i), (long) i), callers))
+            .toList();
+
+    assertThat(results)
+        .extracting(CompletableFuture::join)
+        .extracting(MedicalRecord::getId, MedicalRecord::getNotes)
+        .containsExactly(tuple(10L, "#1"), tuple(20L, "#2"), tuple(30L, "#3"));
+    verify(delegate).saveBatch(anyList());
+    assertThat(batchSizes().count()).isEqualTo(1);
+    assertThat(batchSizes().totalAmount()).isEqualTo(3);
+    assertThat(registry.get("mysushistory.group-commit.queue.wait").timer().count()).isEqualTo(3);
+    assertThat(
+            registry.get("mysushistory.group-commit.queue.wait").timer().max(TimeUnit.NANOSECONDS))
+        .isPositive();
+  }
+
+  @Test
+  void shouldSaveOneByOneWhenBatchFails() {
+    final var first = draft("#1");
+    final var second = draft("#2");
+
+    when(delegate.saveBatch(anyList())).thenThrow(new GatewayException("batch"));
+    when(delegate.save(first, 1L)).thenReturn(saved(10L, "#1"));
+    when(delegate.save(second, 2L)).thenThrow(new GatewayException("patient 2"));
+
+    final var saved = CompletableFuture.supplyAsync(() -> writer.save(first, 1L), callers);
+    final var failed = CompletableFuture.supplyAsync(() -> writer.save(second, 2L), callers);
+
+    assertThat(saved.join().getId()).isEqualTo(10L);
+    assertThatThrownBy(failed::join).hasCauseInstanceOf(GatewayException.class);
+    assertThat(batchSizes().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldJoinCallerTransaction() {
+    final var record = draft("#1");
+
+    when(delegate.save(record, 1L)).thenReturn(saved(10L, "#1"));
+
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      assertThat(writer.save(record, 1L).getId()).isEqualTo(10L);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    verify(delegate, never()).saveBatch(any());
+    assertThat(batchSizes().count()).isZero();
+  }
+
+  @Test
+  void shouldRejectSavesAfterStop() throws InterruptedException {
+    writer.stop();
+
+    assertThatThrownBy(() -> writer.save(draft("#1"), 1L))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Medical record group commit writer is stopped.");
+  }
+
+  @Test
+  void shouldTimeOutOnlyRecordsStillQueuedAndWaitForBatchesBeingWritten() throws Exception {
+    final var writing = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+
+    when(delegate.saveBatch(anyList()))
+        .thenAnswer(
+            invocation -> {
+              writing.countDown();
+              release.await();
+              return List.of(saved(10L, "#1"));
+            });
+
+    final var taken = CompletableFuture.supplyAsync(() -> writer.save(draft("#1"), 1L), callers);
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    try {
+      assertThatThrownBy(() -> writer.save(draft("#2"), 2L))
+          .isInstanceOf(GatewayException.class)
+          .hasMessage(
+              "Timed out after [1000] ms waiting to queue the group commit of patientId=[2].");
+      assertThat(taken).isNotDone();
+    } finally {
+      release.countDown();
+    }
+
+    assertThat(taken.get(5, TimeUnit.SECONDS).getId()).isEqualTo(10L);
+    verify(delegate).saveBatch(anyList());
+  }
+
+  @Test
+  void shouldStopAndFailQueuedSavesWhenWriterThreadDies() {
+    when(delegate.saveBatch(anyList())).thenThrow(new StackOverflowError());
+
+    assertThatThrownBy(() -> writer.save(draft("#1"), 1L))
+        .hasCauseInstanceOf(StackOverflowError.class);
+
+    assertThatThrownBy(() -> writer.save(draft("#2"), 2L))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Medical record group commit writer is stopped.");
+  }
+
+  @Test
+  void shouldPublishQueueSizeAndRunningState() throws InterruptedException {
+    assertThat(registry.get("mysushistory.group-commit.queue.size").gauge().value()).isZero();
+    assertThat(registry.get("mysushistory.group-commit.running").gauge().value()).isEqualTo(1);
+
+    writer.stop();
+
+    assertThat(registry.get("mysushistory.group-commit.running").gauge().value()).isZero();
+  }
+
+  private DistributionSummary batchSizes() {
+    return registry.get("mysushistory.group-commit.batch.size").summary();
+  }
+
+  private static MedicalRecord draft(final String notes) {
+    return MedicalRecord.createMedicalRecord(
+        LocalDateTime.now(), "UBS", "Dr.", "Gripe", "Repouso", notes);
+  }
+
+  private static MedicalRecord saved(final Long id, final String notes) {
+    return new MedicalRecord(id, LocalDateTime.now(), "UBS", "Dr.", "Gripe", "Repouso", notes);
+  }
+}
@@ -0,0 +1,199 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.valueobject.RegistrationState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MedicalRecordJournalGatewayImplTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @TempDir private Path directory;
+
+  private MedicalRecordJournalGatewayImpl journal;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  @Test
+  void shouldKeepAppendedRecordPendingUntilSaved() {
+    journal = open(Duration.ZERO, Duration.ofHours(1), 1_000);
+
+    final var registration = journal.append(7L, record("Gripe"));
+
+    assertThat(registration.state()).isEqualTo(RegistrationState.ACCEPTED);
+    assertThat(journal.pending(10))
+        .singleElement()
+        .satisfies(
+            it -> {
+              assertThat(it.trackingId()).isEqualTo(registration.trackingId());
+              assertThat(it.patientId()).isEqualTo(7L);
+              assertThat(it.medicalRecord().getDiagnosis()).isEqualTo("Gripe");
+            });
+
+    journal.markSaved(registration.trackingId(), 42L);
+
+    assertThat(journal.pending(10)).isEmpty();
+    assertThat(journal.findByTrackingId(registration.trackingId()))
+        .hasValueSatisfying(
+            it -> {
+              assertThat(it.state()).isEqualTo(RegistrationState.SAVED);
+              assertThat(it.medicalRecordId()).isEqualTo(42L);
+              assertThat(it.completedAt()).isNotNull();
+            });
+  }
+
+  @Test
+  void shouldReplayPendingRecordsAndStatusesAfterRestart() throws IOException {
+    journal = open(Duration.ZERO, Duration.ofHours(1), 1_000);
+    final var saved = journal.append(7L, record("Gripe"));
+    final var dengue = record("Dengue");
+    final var pending = journal.append(8L, dengue);
+    journal.markSaved(saved.trackingId(), 42L);
+    journal.close();
+
+    journal = open(Duration.ZERO, Duration.ofHours(1), 1_000);
+
+    assertThat(journal.getPending()).isEqualTo(1);
+    assertThat(journal.pending(10))
+        .singleElement()
+        .satisfies(
+            it -> {
+              assertThat(it.trackingId()).isEqualTo(pending.trackingId());
+              assertThat(it.patientId()).isEqualTo(8L);
+              assertThat(it.medicalRecord().getDiagnosis()).isEqualTo("Dengue");
+              assertThat(it.medicalRecord().getDate()).isEqualTo(dengue.getDate());
+            });
+    assertThat(journal.findByTrackingId(saved.trackingId()))
+        .hasValueSatisfying(it -> assertThat(it.medicalRecordId()).isEqualTo(42L));
+  }
+
+  @Test
+  void shouldSkipTornLineOnReplay() throws IOException {
+    journal = open(Duration.ZERO, Duration.ofHours(1), 1_000);
+    final var registration = journal.append(7L, record("Gripe"));
+    journal.close();
+    Files.writeString(
+        path(),
+        "{\"state\":\"ACCEPTED\",\"tracking",
+        StandardCharsets.UTF_8,
+        StandardOpenOption.APPEND);
+
+    journal = open(Duration.ZERO, Duration.ofHours(1), 1_000);
+
+    assertThat(journal.pending(10))
+        .singleElement()
+        .satisfies(it -> assertThat(it.trackingId()).isEqualTo(registration.trackingId()));
+    assertThat(Files.readAllLines(path())).hasSize(1);
+  }
+
+  @Test
+  void shouldBackOffWithoutGivingUpOnRetryableFailures() {
+    journal = open(Duration.ofHours(1), Duration.ofHours(1), 1_000);
+    final var registration = journal.append(7L, record("Gripe"));
+
+    for (int i = 0; i < 50; i++) {
+      journal.retryLater(registration.trackingId(), "database unavailable");
+    }
+
+    assertThat(journal.pending(10)).isEmpty();
+    assertThat(journal.getPending()).isEqualTo(1);
+    assertThat(journal.findByTrackingId(registration.trackingId()))
+        .hasValueSatisfying(it -> assertThat(it.state()).isEqualTo(RegistrationState.ACCEPTED));
+  }
+
+  @Test
+  void shouldFailAtOnceWhenRecordCannotBeSaved() {
+    journal = open(Duration.ofHours(1), Duration.ofHours(1), 1_000);
+    final var registration = journal.append(7L, record("Gripe"));
+
+    journal.markFailed(registration.trackingId(), "patient not found");
+
+    assertThat(journal.getPending()).isZero();
+    assertThat(journal.findByTrackingId(registration.trackingId()))
+        .hasValueSatisfying(
+            it -> {
+              assertThat(it.state()).isEqualTo(RegistrationState.FAILED);
+              assertThat(it.failure()).isEqualTo("patient not found");
+            });
+  }
+
+  @Test
+  void shouldCompactOnlyAfterLinesBeyondLiveRegistrations() throws IOException {
+    journal = open(Duration.ZERO, Duration.ofHours(1), 2);
+    final var first = journal.append(7L, record("Gripe"));
+    final var second = journal.append(8L, record("Dengue"));
+    final var third = journal.append(9L, record("Asma"));
+
+    journal.markSaved(first.trackingId(), 41L);
+
+    assertThat(Files.readAllLines(path())).hasSize(4);
+
+    journal.markSaved(second.trackingId(), 42L);
+
+    assertThat(Files.readAllLines(path())).hasSize(3);
+
+    journal.markSaved(third.trackingId(), 43L);
+
+    assertThat(Files.readAllLines(path())).hasSize(4);
+  }
+
+  @Test
+  void shouldCompactExpiredStatusesAndKeepPendingRecords() throws IOException {
+    journal = open(Duration.ZERO, Duration.ZERO, 1);
+    final var saved = journal.append(7L, record("Gripe"));
+    final var pending = journal.append(8L, record("Dengue"));
+
+    journal.markSaved(saved.trackingId(), 42L);
+
+    assertThat(journal.findByTrackingId(saved.trackingId())).isEmpty();
+    assertThat(journal.findByTrackingId(pending.trackingId())).isPresent();
+    assertThat(Files.readAllLines(path())).hasSize(1).allMatch(it -> it.contains("Dengue"));
+
+    journal.close();
+    journal = open(Duration.ZERO, Duration.ZERO, 1);
+
+    assertThat(journal.pending(10))
+        .singleElement()
+        .satisfies(it -> assertThat(it.trackingId()).isEqualTo(pending.trackingId()));
+  }
+
+  private MedicalRecordJournalGatewayImpl open(
+      final Duration retryDelay, final Duration statusRetention, final long compactAfterLines) {
+    final var gateway =
+        new MedicalRecordJournalGatewayImpl(
+            path(),
+            objectMapper,
+            retryDelay,
+            Duration.ofHours(1),
+            statusRetention,
+            compactAfterLines);
+    gateway.replay();
+    return gateway;
+  }
+
+  private Path path() {
+    return directory.resolve("journal").resolve("medical-records.log");
+  }
+
+  private static MedicalRecord record(final String diagnosis) {
+    return MedicalRecord.createMedicalRecord(
+        LocalDateTime.now(), "UBS Central", "Dra. Ana Lima", diagnosis, "Repouso", "-");
+  }
+}
@@ -0,0 +1,118 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.valueobject.RecordRegistration;
+import com.api.mysushistory.core.domain.valueobject.RegistrationState;
+import com.api.mysushistory.core.usecase.medical.AcceptMedicalRecordByToken;
+import com.api.mysushistory.core.usecase.medical.GetRecordRegistration;
+import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    properties = {
+      "mysushistory.medical-record.journal.path=" + MedicalRecordJournalIntegrationTest.JOURNAL,
+      "mysushistory.medical-record.journal.poll-interval=20"
+    })
+@ActiveProfiles("test")
+class MedicalRecordJournalIntegrationTest {
+
+  static final String JOURNAL = "target/medical-record-journal-it.log";
+
+  private static final String CPF = "55566677788";
+  private static final String UNIT = "UBS Journal";
+
+  @Autowired private AcceptMedicalRecordByToken acceptMedicalRecordByToken;
+  @Autowired private GetRecordRegistration getRecordRegistration;
+  @Autowired private GenerateToken generateToken;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Joana",
+        LocalDate.of(1985, 5, 5));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from medical_records where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from share_tokens where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from patients where id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from diagnosis_rollups where unit = ?", UNIT);
+  }
+
+  @AfterAll
+  static void deleteJournal() throws IOException {
+    Files.deleteIfExists(Path.of(JOURNAL));
+  }
+
+  @Test
+  void shouldSaveAcceptedRecordInTheBackground() throws InterruptedException {
+    final var token = this.generateToken.execute(CPF, 60).getAccessToken();
+
+    final var accepted =
+        this.acceptMedicalRecordByToken.execute(
+            token, UNIT, "Dra. Ana Lima", "Gripe", "Repouso", "Reavaliar em 3 dias");
+
+    assertThat(accepted.state()).isEqualTo(RegistrationState.ACCEPTED);
+    assertThat(Files.exists(Path.of(JOURNAL))).isTrue();
+
+    final var saved = awaitCompletion(accepted.trackingId());
+
+    assertThat(saved.state()).isEqualTo(RegistrationState.SAVED);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select diagnosis from medical_records where id = ? and patient_id = ?",
+                String.class,
+                saved.medicalRecordId(),
+                this.patientId))
+        .isEqualTo("Gripe");
+  }
+
+  @Test
+  void shouldFailRecordTheDatabaseRejectsInsteadOfRetryingIt() throws InterruptedException {
+    final var token = this.generateToken.execute(CPF, 60).getAccessToken();
+
+    final var accepted =
+        this.acceptMedicalRecordByToken.execute(
+            token, UNIT, "Dra. Ana Lima", "Gripe", "Repouso", "x".repeat(300));
+
+    final var failed = awaitCompletion(accepted.trackingId());
+
+    assertThat(failed.state()).isEqualTo(RegistrationState.FAILED);
+    assertThat(failed.failure()).startsWith("Medical record for patientId=[" + this.patientId);
+  }
+
+  private RecordRegistration awaitCompletion(final UUID trackingId) throws InterruptedException {
+    for (int i = 0; i < 250; i++) {
+      final var registration = this.getRecordRegistration.execute(trackingId);
+
+      if (registration.state() != RegistrationState.ACCEPTED) {
+        return registration;
+      }
+
+      Thread.sleep(20);
+    }
+
+    return this.getRecordRegistration.execute(trackingId);
+  }
+}
@@ -0,0 +1,88 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.gateway.MedicalRecordGateway;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:medical-records-sequence-seed;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+      "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+    })
+@ActiveProfiles("test")
+class MedicalRecordSequenceSeedIntegrationTest {
+
+  private static final String CPF = "44455566677";
+  private static final int EXISTING_RECORDS = 120;
+
+  @Autowired private MedicalRecordGateway medicalRecordGateway;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+  }
+
+  @Test
+  void shouldNotReuseExistingIdsAfterSeedingTheSequenceTable() {
+    IntStream.rangeClosed(1, EXISTING_RECORDS)
+        .forEach(
+            id ->
+                this.jdbcTemplate.update(
+                    "insert into medical_records"
+                        + " (id, date, unit, professional_name, diagnosis, treatment, notes, patient_id)"
+                        + " values (?, ?, 'UBS Legada', 'Dr. José', 'Gripe', 'Repouso', '-', ?)",
+                    id,
+                    LocalDateTime.of(2020, 1, 1, 8, 0),
+                    this.patientId));
+    this.jdbcTemplate.execute("drop table medical_records_seq");
+    new ResourceDatabasePopulator(new ClassPathResource("db/mysql/medical_records_sequence.sql"))
+        .execute(this.dataSource);
+
+    final var now = LocalDateTime.now();
+    final var saved =
+        this.medicalRecordGateway.saveAll(
+            IntStream.range(0, 60)
+                .mapToObj(
+                    i ->
+                        MedicalRecord.createMedicalRecord(
+                            now, "UBS Nova", "Dra. Ana", "Asma", "Bombinha", "#" + i))
+                .toList(),
+            this.patientId);
+    final var single =
+        this.medicalRecordGateway.save(
+            MedicalRecord.createMedicalRecord(now, "UBS Nova", "Dra. Ana", "Asma", "-", "-"),
+            this.patientId);
+
+    assertThat(saved).extracting(MedicalRecord::getId).allMatch(id -> id > EXISTING_RECORDS);
+    assertThat(single.getId()).isGreaterThan(EXISTING_RECORDS);
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select count(distinct id) from medical_records where patient_id = ?",
+                Long.class,
+                this.patientId))
+        .isEqualTo(EXISTING_RECORDS + 61L);
+  }
+}
@@ -0,0 +1,166 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.core.domain.MedicalRecord;
+import com.api.mysushistory.core.domain.ShareToken;
+import com.api.mysushistory.core.domain.valueobject.HistorySubscriber;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MedicalRecordStreamGatewayImplTest {
+
+  private static final long TIMEOUT = 2_000;
+
+  private final MedicalRecordStreamGatewayImpl gateway =
+      new MedicalRecordStreamGatewayImpl(2, 1, Duration.ofMinutes(5));
+
+  @AfterEach
+  void tearDown() {
+    gateway.shutdown();
+  }
+
+  @Test
+  void shouldDeliverRecordsInOrderOnlyToSubscribersOfPatient() {
+    final var subscriber = mock(HistorySubscriber.class);
+    final var other = mock(HistorySubscriber.class);
+    final var first = record(1L);
+    final var second = record(2L);
+
+    gateway.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), subscriber);
+    gateway.subscribe(token(8L, LocalDateTime.now().plusMinutes(5)), other);
+
+    gateway.publish(7L, first);
+    gateway.publish(7L, second);
+
+    final var inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber, timeout(TIMEOUT)).onRecord(first);
+    inOrder.verify(subscriber, timeout(TIMEOUT)).onRecord(second);
+    verifyNoInteractions(other);
+  }
+
+  @Test
+  void shouldCloseSubscriptionWhenTokenExpires() {
+    final var subscriber = mock(HistorySubscriber.class);
+
+    gateway.subscribe(token(7L, LocalDateTime.now().plusNanos(50_000_000)), subscriber);
+
+    verify(subscriber, timeout(TIMEOUT)).onClose();
+    assertThat(gateway.getSubscribers()).isZero();
+
+    gateway.publish(7L, record(1L));
+
+    verify(subscriber, never()).onRecord(any());
+  }
+
+  @Test
+  void shouldCloseSlowSubscriberWhenBufferIsFull() throws InterruptedException {
+    final var blocked = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var subscriber = mock(HistorySubscriber.class);
+
+    doAnswer(
+            invocation -> {
+              blocked.countDown();
+              release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+              return null;
+            })
+        .when(subscriber)
+        .onRecord(any());
+
+    gateway.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), subscriber);
+    gateway.publish(7L, record(1L));
+    assertThat(blocked.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+
+    gateway.publish(7L, record(2L));
+    gateway.publish(7L, record(3L));
+    gateway.publish(7L, record(4L));
+    release.countDown();
+
+    verify(subscriber, timeout(TIMEOUT)).onClose();
+    assertThat(gateway.getOverflows()).isEqualTo(1);
+    assertThat(gateway.getSubscribers()).isZero();
+  }
+
+  @Test
+  void shouldStopDeliveringAfterCancel() {
+    final var subscriber = mock(HistorySubscriber.class);
+    final var subscription =
+        gateway.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), subscriber);
+
+    subscription.cancel();
+    gateway.publish(7L, record(1L));
+
+    assertThat(gateway.getSubscribers()).isZero();
+    verifyNoInteractions(subscriber);
+  }
+
+  @Test
+  void shouldDropSubscriberWhoseDeliveryFails() {
+    final var subscriber = mock(HistorySubscriber.class);
+
+    doThrow(new IllegalStateException()).when(subscriber).onRecord(any());
+
+    gateway.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), subscriber);
+    gateway.publish(7L, record(1L));
+
+    verify(subscriber, timeout(TIMEOUT)).onRecord(any());
+    verify(subscriber, timeout(TIMEOUT).times(0)).onClose();
+
+    gateway.publish(7L, record(2L));
+
+    verify(subscriber, after(100).times(1)).onRecord(any());
+    assertThat(gateway.getSubscribers()).isZero();
+  }
+
+  @Test
+  void shouldSendHeartbeatsUntilTheClientIsGone() {
+    final var heartbeats = new MedicalRecordStreamGatewayImpl(2, 1, Duration.ofMillis(20));
+    final var subscriber = mock(HistorySubscriber.class);
+
+    doNothing().doThrow(new IllegalStateException()).when(subscriber).onHeartbeat();
+
+    try {
+      heartbeats.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), subscriber);
+
+      verify(subscriber, timeout(TIMEOUT).times(2)).onHeartbeat();
+      verify(subscriber, after(100).times(2)).onHeartbeat();
+      assertThat(heartbeats.getSubscribers()).isZero();
+    } finally {
+      heartbeats.shutdown();
+    }
+  }
+
+  @Test
+  void shouldCloseOnlySubscriptionsOfTheRevokedToken() {
+    final var revoked = mock(HistorySubscriber.class);
+    final var other = mock(HistorySubscriber.class);
+    final var shareToken = token(7L, LocalDateTime.now().plusMinutes(5));
+
+    gateway.subscribe(shareToken, revoked);
+    gateway.subscribe(token(7L, LocalDateTime.now().plusMinutes(5)), other);
+
+    gateway.close(shareToken);
+    gateway.publish(7L, record(1L));
+
+    verify(revoked).onClose();
+    verify(revoked, never()).onRecord(any());
+    verify(other, timeout(TIMEOUT)).onRecord(any());
+    assertThat(gateway.getSubscribers()).isEqualTo(1);
+  }
+
+  private static ShareToken token(final Long patientId, final LocalDateTime expiresAt) {
+    return new ShareToken(
+        null, UUID.randomUUID().toString(), 1, expiresAt.minusMinutes(1), patientId);
+  }
+
+  private static MedicalRecord record(final Long id) {
+    return new MedicalRecord(id, LocalDateTime.now(), "UBS", "Dr.", "D", "T", "N");
+  }
+}
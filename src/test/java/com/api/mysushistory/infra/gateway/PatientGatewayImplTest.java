@@ -8,6 +8,7 @@ import com.api.mysushistory.core.domain.Patient;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
 import com.api.mysushistory.infra.persistence.entity.MedicalRecordEntity;
 import com.api.mysushistory.infra.persistence.entity.PatientEntity;
+import com.api.mysushistory.infra.persistence.projection.PatientSummaryView;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,11 +16,16 @@ import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 
 class PatientGatewayImplTest {
 
   private final PatientRepository patientRepository = mock(PatientRepository.class);
-  private final PatientGatewayImpl gateway = new PatientGatewayImpl(patientRepository);
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final PatientGatewayImpl gateway =
+      new PatientGatewayImpl(patientRepository, jdbcTemplate);
 
   @Test
   void shouldSavePatientSuccessfully() {
@@ -130,4 +136,103 @@ class PatientGatewayImplTest {
         .isInstanceOf(GatewayException.class)
         .hasMessage("Patient with CPF=[00011122233] not found.");
   }
+
+  @Test
+  void shouldFindSummaryByCpfWithoutMedicalRecords() {
+    final var birthDate = LocalDate.of(1990, 1, 1);
+
+    when(patientRepository.findSummaryByCpf("11111111111"))
+        .thenReturn(Optional.of(new PatientSummaryView(1L, "Maria", "11111111111", birthDate)));
+
+    final var response = gateway.findSummaryByCpf("11111111111");
+
+    assertThat(response).isPresent();
+    assertThat(response.get().getId()).isEqualTo(1L);
+    assertThat(response.get().getName()).isEqualTo("Maria");
+    assertThat(response.get().getBirthDate()).isEqualTo(birthDate);
+    assertThat(response.get().getMedicalRecords()).isEmpty();
+    verify(patientRepository, never()).findByCpf(any());
+  }
+
+  @Test
+  void shouldFindIdByCpf() {
+    when(patientRepository.findIdByCpf("11111111111")).thenReturn(Optional.of(1L));
+
+    assertThat(gateway.findIdByCpf("11111111111")).contains(1L);
+  }
+
+  @Test
+  void shouldCheckWhetherPatientExistsById() {
+    when(patientRepository.existsById(1L)).thenReturn(true);
+
+    assertThat(gateway.existsById(1L)).isTrue();
+    assertThat(gateway.existsById(2L)).isFalse();
+  }
+
+  @Test
+  void shouldFindIdsByCpf() {
+    final var cpfs = List.of("11111111111", "22222222222");
+
+    when(patientRepository.findByCpfIn(cpfs))
+        .thenReturn(
+            List.of(
+                PatientEntity.builder().id(1L).cpf("11111111111").build(),
+                PatientEntity.builder().id(2L).cpf("22222222222").build()));
+
+    final var response = gateway.findIdsByCpf(cpfs);
+
+    assertThat(response).containsEntry("11111111111", 1L).containsEntry("22222222222", 2L);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenFindIdsByCpfError() {
+    when(patientRepository.findByCpfIn(any())).thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.findIdsByCpf(List.of("11111111111")))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error finding [1] patients by CPF.");
+  }
+
+  @Test
+  void shouldFindExistingCpfs() {
+    final var cpfs = List.of("12345678901", "98765432100");
+
+    when(patientRepository.findCpfsByCpfIn(cpfs)).thenReturn(List.of("12345678901"));
+
+    assertThat(gateway.findExistingCpfs(cpfs)).containsExactly("12345678901");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldInsertPatientsInOneJdbcBatch() {
+    final var patients =
+        List.of(
+            Patient.createPatient("John Doe", "12345678901", LocalDate.of(1990, 1, 1)),
+            Patient.createPatient("Jane Doe", "98765432100", LocalDate.of(1991, 2, 2)));
+
+    final var saved = gateway.saveAll(patients);
+
+    assertThat(saved).isEqualTo(2);
+    verify(jdbcTemplate)
+        .batchUpdate(
+            eq("insert into patients (cpf, name, birth_date, history_version) values (?, ?, ?, 0)"),
+            eq(patients),
+            eq(2),
+            any(ParameterizedPreparedStatementSetter.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldThrowGatewayExceptionWhenBatchViolatesUniqueCpf() {
+    final var patients =
+        List.of(Patient.createPatient("John Doe", "12345678901", LocalDate.of(1990, 1, 1)));
+
+    when(jdbcTemplate.batchUpdate(
+            anyString(), eq(patients), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+        .thenThrow(new DuplicateKeyException("duplicate cpf"));
+
+    assertThatThrownBy(() -> gateway.saveAll(patients))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error saving batch of [1] patients.");
+  }
 }
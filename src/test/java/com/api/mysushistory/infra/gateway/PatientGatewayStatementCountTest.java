@@ -0,0 +1,97 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.mysushistory.core.gateway.PatientGateway;
+import com.api.mysushistory.core.usecase.exception.PatientAlreadyExistsException;
+import com.api.mysushistory.core.usecase.patient.CreatePatient;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PatientGatewayStatementCountTest {
+
+  private static final String CPF = "98765432100";
+
+  @Autowired private PatientGateway patientGateway;
+  @Autowired private CreatePatient createPatient;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    final var patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+
+    for (int i = 0; i < 3; i++) {
+      this.jdbcTemplate.update(
+          "insert into medical_records"
+              + " (id, date, unit, professional_name, diagnosis, treatment, notes, patient_id)"
+              + " values (next value for medical_records_seq, ?, 'UBS', 'Dr. José', 'Gripe', 'Descanso', 'Notas', ?)",
+          LocalDateTime.of(2024, 1, 1 + i, 10, 0),
+          patientId);
+    }
+
+    this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    this.statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update(
+        "delete from medical_records where patient_id in"
+            + " (select id from patients where cpf = ?)",
+        CPF);
+    this.jdbcTemplate.update("delete from patients where cpf = ?", CPF);
+  }
+
+  @Test
+  void shouldFindSummaryWithOneStatementAndNoCollectionLoad() {
+    final var patient = this.patientGateway.findSummaryByCpf(CPF);
+
+    assertThat(patient).isPresent();
+    assertThat(patient.get().getMedicalRecords()).isEmpty();
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(this.statistics.getCollectionLoadCount()).isZero();
+  }
+
+  @Test
+  void shouldLoadMedicalRecordsOnlyOnFullLookup() {
+    final var patient = this.transactionTemplate.execute(it -> this.patientGateway.findByCpf(CPF));
+
+    assertThat(patient).isPresent();
+    assertThat(patient.get().getMedicalRecords()).hasSize(3);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(this.statistics.getCollectionLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCheckDuplicatePatientWithOneStatement() {
+    assertThatThrownBy(() -> this.createPatient.execute("Maria", CPF, LocalDate.of(1990, 1, 1)))
+        .isInstanceOf(PatientAlreadyExistsException.class);
+
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(this.statistics.getCollectionLoadCount()).isZero();
+  }
+}
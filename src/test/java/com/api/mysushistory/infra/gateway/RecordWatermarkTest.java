@@ -0,0 +1,49 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RecordWatermarkTest {
+
+  private final RecordWatermark watermark = new RecordWatermark();
+
+  @Test
+  void shouldExposeEverythingWhenNoSaveIsInFlight() {
+    assertThat(watermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void shouldHideIdsFromLowestInFlightSaveUntilItCompletes() {
+    watermark.observe(10L);
+
+    final var first = watermark.reserve();
+    watermark.observe(11L);
+    final var second = watermark.reserve();
+    watermark.observe(12L);
+
+    assertThat(first).isEqualTo(11L);
+    assertThat(second).isEqualTo(12L);
+    assertThat(watermark.visibleBefore()).isEqualTo(11L);
+
+    watermark.release(first);
+
+    assertThat(watermark.visibleBefore()).isEqualTo(12L);
+
+    watermark.release(second);
+
+    assertThat(watermark.visibleBefore()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void shouldKeepFloorWhileAnySaveSharingItIsInFlight() {
+    final var first = watermark.reserve();
+    final var second = watermark.reserve();
+
+    assertThat(first).isEqualTo(second);
+
+    watermark.release(first);
+
+    assertThat(watermark.visibleBefore()).isEqualTo(second);
+  }
+}
@@ -3,16 +3,21 @@ package com.api.mysushistory.infra.gateway;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.api.mysushistory.core.domain.ShareToken;
 import com.api.mysushistory.infra.gateway.exception.GatewayException;
+import com.api.mysushistory.infra.gateway.filter.AccessTokenFilter;
 import com.api.mysushistory.infra.persistence.entity.PatientEntity;
 import com.api.mysushistory.infra.persistence.entity.ShareTokenEntity;
 import com.api.mysushistory.infra.persistence.repository.PatientRepository;
 import com.api.mysushistory.infra.persistence.repository.ShareTokenRepository;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -20,10 +25,14 @@ import org.mockito.ArgumentCaptor;
 
 class ShareTokenGatewayImplTest {
 
+  private static final String TOKEN = "a374d8f4-f9a3-4dad-9b74-cb0f3d1558ad";
+  private static final byte[] TOKEN_BINARY = AccessTokenCodec.toBinary(TOKEN).orElseThrow();
+
   private final PatientRepository patientRepository = mock(PatientRepository.class);
   private final ShareTokenRepository shareTokenRepository = mock(ShareTokenRepository.class);
+  private final AccessTokenFilter accessTokenFilter = mock(AccessTokenFilter.class);
   private final ShareTokenGatewayImpl gateway =
-      new ShareTokenGatewayImpl(patientRepository, shareTokenRepository);
+      new ShareTokenGatewayImpl(patientRepository, shareTokenRepository, accessTokenFilter);
 
   @Test
   void shouldSaveShareTokenSuccessfully() {
@@ -41,7 +50,7 @@ class ShareTokenGatewayImplTest {
     final var entityResponse =
         ShareTokenEntity.builder()
             .id(100L)
-            .accessToken(tokenValue)
+            .accessToken(AccessTokenCodec.toBinary(tokenValue).orElseThrow())
             .expiresInMinutes(30)
             .createdAt(now)
             .patient(patientEntity)
@@ -61,10 +70,13 @@ class ShareTokenGatewayImplTest {
 
     final var captured = captor.getValue();
     assertThat(captured.getId()).isNull();
-    assertThat(captured.getAccessToken()).isEqualTo(tokenValue);
+    assertThat(AccessTokenCodec.toToken(captured.getAccessToken())).isEqualTo(tokenValue);
     assertThat(captured.getExpiresInMinutes()).isEqualTo(30);
     assertThat(captured.getCreatedAt()).isEqualTo(now);
+    assertThat(captured.getExpiresAt()).isEqualTo(now.plusMinutes(30));
     assertThat(captured.getPatient()).isEqualTo(patientEntity);
+
+    verify(accessTokenFilter).add(tokenValue);
   }
 
   @Test
@@ -92,26 +104,94 @@ class ShareTokenGatewayImplTest {
     assertThatThrownBy(
             () ->
                 gateway.save(
-                    new ShareToken(null, "t", 10, LocalDateTime.now(), patientId), patientId))
+                    new ShareToken(null, TOKEN, 10, LocalDateTime.now(), patientId), patientId))
         .isInstanceOf(GatewayException.class)
         .hasMessage("Error saving token for patient_id=[1].");
   }
 
+  @Test
+  void shouldThrowGatewayExceptionWhenTokenIsNotAUuid() {
+    final var patientId = 1L;
+    final var patientEntity = PatientEntity.builder().id(patientId).build();
+
+    when(patientRepository.findById(patientId)).thenReturn(Optional.of(patientEntity));
+
+    assertThatThrownBy(
+            () ->
+                gateway.save(
+                    new ShareToken(null, "t", 10, LocalDateTime.now(), patientId), patientId))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Token=[t] is not a valid access token.");
+
+    verify(shareTokenRepository, never()).save(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldSaveAllShareTokensWithPatientReferences() {
+    final var patientEntity = PatientEntity.builder().id(1L).build();
+    final var now = LocalDateTime.now();
+    final var otherToken = UUID.randomUUID().toString();
+    final ArgumentCaptor<List<ShareTokenEntity>> captor = ArgumentCaptor.forClass(List.class);
+
+    when(patientRepository.getReferenceById(1L)).thenReturn(patientEntity);
+    when(shareTokenRepository.saveAll(captor.capture()))
+        .thenAnswer(
+            it -> {
+              final List<ShareTokenEntity> entities = it.getArgument(0);
+              entities.get(0).setId(10L);
+              entities.get(1).setId(11L);
+              return entities;
+            });
+
+    final var response =
+        gateway.saveAll(
+            List.of(
+                ShareToken.createShareToken(TOKEN, 30, now, 1L),
+                ShareToken.createShareToken(otherToken, 30, now, 1L)));
+
+    assertThat(response).extracting(ShareToken::getId).containsExactly(10L, 11L);
+    assertThat(response).extracting(ShareToken::getAccessToken).containsExactly(TOKEN, otherToken);
+    assertThat(captor.getValue().get(0).getAccessToken()).isEqualTo(TOKEN_BINARY);
+    assertThat(captor.getValue())
+        .extracting(ShareTokenEntity::getPatient)
+        .containsOnly(patientEntity);
+
+    verify(patientRepository, never()).findById(any());
+    verify(accessTokenFilter).add(TOKEN);
+    verify(accessTokenFilter).add(otherToken);
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenSaveAllError() {
+    when(patientRepository.getReferenceById(1L)).thenReturn(PatientEntity.builder().id(1L).build());
+    when(shareTokenRepository.saveAll(any())).thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(
+            () ->
+                gateway.saveAll(
+                    List.of(ShareToken.createShareToken(TOKEN, 30, LocalDateTime.now(), 1L))))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error saving [1] share tokens.");
+  }
+
   @Test
   void shouldFindByAccessTokenSuccessfully() {
-    final var tokenValue = "abc";
+    final var tokenValue = TOKEN;
     final var patientEntity = PatientEntity.builder().id(3L).build();
     final var now = LocalDateTime.now();
     final var entity =
         ShareTokenEntity.builder()
             .id(200L)
-            .accessToken(tokenValue)
+            .accessToken(TOKEN_BINARY)
             .expiresInMinutes(20)
             .createdAt(now)
             .patient(patientEntity)
             .build();
 
-    when(shareTokenRepository.findByAccessToken(tokenValue)).thenReturn(Optional.of(entity));
+    when(accessTokenFilter.mightContain(tokenValue)).thenReturn(true);
+    when(shareTokenRepository.findByAccessTokenAndExpiresAtAfter(eq(TOKEN_BINARY), any()))
+        .thenReturn(Optional.of(entity));
 
     final var response = gateway.findByAccessToken(tokenValue);
 
@@ -127,19 +207,157 @@ class ShareTokenGatewayImplTest {
 
   @Test
   void shouldReturnEmptyWhenFindByAccessTokenNotFound() {
-    when(shareTokenRepository.findByAccessToken("nope")).thenReturn(Optional.empty());
+    when(accessTokenFilter.mightContain(TOKEN)).thenReturn(true);
+    when(shareTokenRepository.findByAccessTokenAndExpiresAtAfter(eq(TOKEN_BINARY), any()))
+        .thenReturn(Optional.empty());
 
-    final var response = gateway.findByAccessToken("nope");
+    final var response = gateway.findByAccessToken(TOKEN);
 
     assertThat(response).isEmpty();
   }
 
   @Test
   void shouldThrowGatewayExceptionWhenFindByAccessTokenError() {
-    when(shareTokenRepository.findByAccessToken("err")).thenThrow(new IllegalArgumentException());
+    when(accessTokenFilter.mightContain(TOKEN)).thenReturn(true);
+    when(shareTokenRepository.findByAccessTokenAndExpiresAtAfter(eq(TOKEN_BINARY), any()))
+        .thenThrow(new IllegalArgumentException());
 
-    assertThatThrownBy(() -> gateway.findByAccessToken("err"))
+    assertThatThrownBy(() -> gateway.findByAccessToken(TOKEN))
         .isInstanceOf(GatewayException.class)
-        .hasMessage("Error finding token=[err].");
+        .hasMessage("Error finding token=[" + TOKEN + "].");
+  }
+
+  @Test
+  void shouldRejectTokenUnknownToFilterWithoutQueryingRepository() {
+    when(accessTokenFilter.mightContain(TOKEN)).thenReturn(false);
+
+    final var response = gateway.findByAccessToken(TOKEN);
+
+    assertThat(response).isEmpty();
+
+    verify(shareTokenRepository, never()).findByAccessTokenAndExpiresAtAfter(any(), any());
+  }
+
+  @Test
+  void shouldRejectMalformedTokenWithoutQueryingRepository() {
+    final var response = gateway.findByAccessToken("not-a-uuid");
+
+    assertThat(response).isEmpty();
+
+    verify(shareTokenRepository, never()).findByAccessTokenAndExpiresAtAfter(any(), any());
+  }
+
+  @Test
+  void shouldFindReusableToken() {
+    final var minExpiresAt = LocalDateTime.now().plusMinutes(15);
+    final var entity =
+        ShareTokenEntity.builder()
+            .id(300L)
+            .accessToken(TOKEN_BINARY)
+            .expiresInMinutes(60)
+            .createdAt(LocalDateTime.now())
+            .patient(PatientEntity.builder().id(3L).build())
+            .build();
+
+    when(shareTokenRepository.findFirstByPatientIdAndExpiresAtGreaterThanEqualOrderByExpiresAtDesc(
+            3L, minExpiresAt))
+        .thenReturn(Optional.of(entity));
+
+    final var response = gateway.findReusable(3L, minExpiresAt);
+
+    assertThat(response).isPresent();
+    assertThat(response.get().getId()).isEqualTo(300L);
+    assertThat(response.get().getAccessToken()).isEqualTo(TOKEN);
+  }
+
+  @Test
+  void shouldSaveWithinLimitWhileHoldingPatientLock() {
+    final var patient = PatientEntity.builder().id(3L).build();
+    final var now = LocalDateTime.now();
+    final var token = new ShareToken(null, TOKEN, 30, now, 3L);
+
+    when(patientRepository.findForUpdateById(3L)).thenReturn(Optional.of(patient));
+    when(shareTokenRepository.countByPatientIdAndExpiresAtAfter(3L, now)).thenReturn(2L);
+    when(shareTokenRepository.save(any()))
+        .thenAnswer(
+            it -> {
+              final ShareTokenEntity entity = it.getArgument(0);
+              entity.setId(301L);
+              return entity;
+            });
+
+    final var response = gateway.saveWithinLimit(token, 3L, 3);
+
+    assertThat(response).isPresent();
+    assertThat(response.get().getId()).isEqualTo(301L);
+    verify(accessTokenFilter).add(TOKEN);
+  }
+
+  @Test
+  void shouldNotSaveWhenPatientAlreadyHasMaximumActiveTokens() {
+    final var now = LocalDateTime.now();
+
+    when(patientRepository.findForUpdateById(3L))
+        .thenReturn(Optional.of(PatientEntity.builder().id(3L).build()));
+    when(shareTokenRepository.countByPatientIdAndExpiresAtAfter(3L, now)).thenReturn(3L);
+
+    assertThat(gateway.saveWithinLimit(new ShareToken(null, TOKEN, 30, now, 3L), 3L, 3)).isEmpty();
+    verify(shareTokenRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenPatientNotFoundOnSaveWithinLimit() {
+    when(patientRepository.findForUpdateById(3L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(
+            () ->
+                gateway.saveWithinLimit(
+                    new ShareToken(null, TOKEN, 30, LocalDateTime.now(), 3L), 3L, 3))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Patient with ID=[3] not found.");
+  }
+
+  @Test
+  void shouldDeleteExpiredTokensInBatch() {
+    final var now = LocalDateTime.now();
+
+    when(shareTokenRepository.findExpiredIds(eq(now), any())).thenReturn(List.of(1L, 2L));
+    when(shareTokenRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+    final var deleted = gateway.deleteExpired(now, 2);
+
+    assertThat(deleted).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotDeleteWhenNoTokenIsExpired() {
+    final var now = LocalDateTime.now();
+
+    when(shareTokenRepository.findExpiredIds(eq(now), any())).thenReturn(List.of());
+
+    final var deleted = gateway.deleteExpired(now, 10);
+
+    assertThat(deleted).isZero();
+
+    verify(shareTokenRepository, never()).deleteByIdIn(any());
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenDeleteExpiredError() {
+    final var now = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    when(shareTokenRepository.findExpiredIds(eq(now), any()))
+        .thenThrow(new IllegalArgumentException());
+
+    assertThatThrownBy(() -> gateway.deleteExpired(now, 10))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error deleting share tokens expired before=[2024-01-01T10:00].");
+  }
+
+  @Test
+  void shouldDeleteByAccessToken() {
+    gateway.deleteByAccessToken(TOKEN);
+
+    verify(shareTokenRepository).deleteByAccessToken(TOKEN_BINARY);
   }
 }
@@ -0,0 +1,88 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.usecase.exception.ShareTokenLimitExceededException;
+import com.api.mysushistory.core.usecase.patient.GenerateToken;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "mysushistory.share-token.max-active-per-patient=3")
+@ActiveProfiles("test")
+class ShareTokenLimitIntegrationTest {
+
+  private static final String CPF = "30340450566";
+  private static final int REQUESTS = 12;
+
+  @Autowired private GenerateToken generateToken;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long patientId;
+
+  @BeforeEach
+  void setUp() {
+    this.jdbcTemplate.update(
+        "insert into patients (cpf, name, birth_date) values (?, ?, ?)",
+        CPF,
+        "Maria",
+        LocalDate.of(1990, 1, 1));
+    this.patientId =
+        this.jdbcTemplate.queryForObject("select id from patients where cpf = ?", Long.class, CPF);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.jdbcTemplate.update("delete from share_tokens where patient_id = ?", this.patientId);
+    this.jdbcTemplate.update("delete from patients where id = ?", this.patientId);
+  }
+
+  @Test
+  void shouldNotExceedCapUnderConcurrentRequests() {
+    final var callers = Executors.newFixedThreadPool(REQUESTS);
+
+    try {
+      final var requests =
+          IntStream.range(0, REQUESTS)
+              .mapToObj(
+                  i ->
+                      CompletableFuture.runAsync(
+                          () -> this.generateToken.execute(CPF, 30), callers))
+              .toList();
+
+      final var rejected =
+          requests.stream()
+              .filter(
+                  it -> {
+                    try {
+                      it.join();
+                      return false;
+                    } catch (CompletionException e) {
+                      assertThat(e).hasCauseInstanceOf(ShareTokenLimitExceededException.class);
+                      return true;
+                    }
+                  })
+              .count();
+
+      assertThat(rejected).isEqualTo(REQUESTS - 3);
+    } finally {
+      callers.shutdown();
+    }
+
+    assertThat(
+            this.jdbcTemplate.queryForObject(
+                "select count(*) from share_tokens where patient_id = ?",
+                Long.class,
+                this.patientId))
+        .isEqualTo(3);
+  }
+}
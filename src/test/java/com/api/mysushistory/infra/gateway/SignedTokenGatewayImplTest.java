@@ -0,0 +1,115 @@
+package com.api.mysushistory.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.mysushistory.infra.config.ShareTokenSigningProperties;
+import com.api.mysushistory.infra.persistence.entity.RevokedShareTokenEntity;
+import com.api.mysushistory.infra.persistence.repository.RevokedShareTokenRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SignedTokenGatewayImplTest {
+
+  private static final String KEY_1 = "c2VjcmV0LWtleS1vbmUtZm9yLXRlc3RzLW9ubHktMzI=";
+  private static final String KEY_2 = "c2VjcmV0LWtleS10d28tZm9yLXRlc3RzLW9ubHktMzI=";
+
+  private final RevokedShareTokenRepository revokedRepository =
+      mock(RevokedShareTokenRepository.class);
+  private final SignedTokenGatewayImpl gateway =
+      new SignedTokenGatewayImpl(
+          revokedRepository, new ShareTokenSigningProperties("k1", Map.of("k1", KEY_1)));
+
+  @Test
+  void shouldIssueAndVerifyToken() {
+    final var now = LocalDateTime.of(2024, 1, 1, 10, 0, 30, 123);
+
+    final var issued = gateway.issue(42L, 15, now);
+    final var verified = gateway.verify(issued.getAccessToken());
+
+    assertThat(issued.getId()).isNull();
+    assertThat(issued.getAccessToken()).startsWith("st.k1.");
+    assertThat(gateway.isSigned(issued.getAccessToken())).isTrue();
+    assertThat(verified).isPresent();
+    assertThat(verified.get().getPatientId()).isEqualTo(42L);
+    assertThat(verified.get().getExpiresInMinutes()).isEqualTo(15);
+    assertThat(verified.get().getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 0, 30));
+
+    verifyNoInteractions(revokedRepository);
+  }
+
+  @Test
+  void shouldRejectTamperedToken() {
+    final var token = gateway.issue(42L, 15, LocalDateTime.now()).getAccessToken();
+    final var other = gateway.issue(43L, 15, LocalDateTime.now()).getAccessToken();
+    final var tampered =
+        token.substring(0, token.lastIndexOf('.')) + other.substring(other.lastIndexOf('.'));
+
+    assertThat(gateway.verify(tampered)).isEmpty();
+    assertThat(gateway.verify("st.k1.not-base64!.x")).isEmpty();
+    assertThat(gateway.verify("st.unknown.a.b")).isEmpty();
+  }
+
+  @Test
+  void shouldNotTreatOpaqueTokensAsSigned() {
+    assertThat(gateway.isSigned("a374d8f4-f9a3-4dad-9b74-cb0f3d1558ad")).isFalse();
+    assertThat(gateway.verify("a374d8f4-f9a3-4dad-9b74-cb0f3d1558ad")).isEmpty();
+  }
+
+  @Test
+  void shouldAcceptTokensSignedWithARotatedKey() {
+    final var rotated =
+        new SignedTokenGatewayImpl(
+            revokedRepository,
+            new ShareTokenSigningProperties("k2", Map.of("k1", KEY_1, "k2", KEY_2)));
+    final var oldToken = gateway.issue(42L, 15, LocalDateTime.now()).getAccessToken();
+
+    assertThat(rotated.verify(oldToken)).isPresent();
+    assertThat(rotated.issue(42L, 15, LocalDateTime.now()).getAccessToken()).startsWith("st.k2.");
+  }
+
+  @Test
+  void shouldRejectRevokedToken() {
+    final var issued = gateway.issue(42L, 15, LocalDateTime.now());
+
+    gateway.revoke(issued);
+
+    assertThat(gateway.verify(issued.getAccessToken())).isEmpty();
+
+    verify(revokedRepository).save(any(RevokedShareTokenEntity.class));
+  }
+
+  @Test
+  void shouldLoadPersistedRevocations() {
+    final var issued = gateway.issue(42L, 15, LocalDateTime.now());
+    final var restarted =
+        new SignedTokenGatewayImpl(
+            revokedRepository, new ShareTokenSigningProperties("k1", Map.of("k1", KEY_1)));
+
+    gateway.revoke(issued);
+
+    final var captor = ArgumentCaptor.forClass(RevokedShareTokenEntity.class);
+    verify(revokedRepository).save(captor.capture());
+    when(revokedRepository.findByExpiresAtAfter(any())).thenReturn(List.of(captor.getValue()));
+
+    restarted.loadRevocations();
+
+    assertThat(restarted.verify(issued.getAccessToken())).isEmpty();
+
+    verify(revokedRepository).deleteExpired(any());
+  }
+
+  @Test
+  void shouldFailWhenActiveKeyIsNotConfigured() {
+    final var properties = new ShareTokenSigningProperties("k9", Map.of("k1", KEY_1));
+
+    assertThatThrownBy(() -> new SignedTokenGatewayImpl(revokedRepository, properties))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Active signing key id=[k9] is not configured.");
+  }
+}
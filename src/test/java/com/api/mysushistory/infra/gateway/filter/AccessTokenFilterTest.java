@@ -0,0 +1,72 @@
+package com.api.mysushistory.infra.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.api.mysushistory.infra.gateway.AccessTokenCodec;
+import com.api.mysushistory.infra.persistence.repository.ShareTokenRepository;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenFilterTest {
+
+  private final ShareTokenRepository shareTokenRepository = mock(ShareTokenRepository.class);
+
+  @Test
+  void shouldAcceptEverythingUntilLoaded() {
+    final var filter = new AccessTokenFilter(shareTokenRepository, true, 1000, 0.01);
+
+    assertThat(filter.mightContain("anything")).isTrue();
+  }
+
+  @Test
+  void shouldContainLoadedAndAddedTokens() {
+    final var filter = new AccessTokenFilter(shareTokenRepository, true, 1000, 0.01);
+
+    final var first = UUID.randomUUID();
+    final var second = UUID.randomUUID();
+
+    when(shareTokenRepository.streamAllAccessTokens())
+        .thenReturn(Stream.of(toBinary(first), toBinary(second)));
+
+    filter.load();
+    filter.add("c");
+
+    assertThat(filter.mightContain(first.toString())).isTrue();
+    assertThat(filter.mightContain(second.toString())).isTrue();
+    assertThat(filter.mightContain("c")).isTrue();
+  }
+
+  @Test
+  void shouldRejectMostUnknownTokens() {
+    final var filter = new AccessTokenFilter(shareTokenRepository, true, 10_000, 0.01);
+    final var issued = IntStream.range(0, 10_000).mapToObj(i -> toBinary(UUID.randomUUID()));
+
+    when(shareTokenRepository.streamAllAccessTokens()).thenReturn(issued);
+
+    filter.load();
+
+    final var falsePositives =
+        IntStream.range(0, 10_000)
+            .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+            .count();
+
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  void shouldAcceptEverythingWhenDisabled() {
+    final var filter = new AccessTokenFilter(shareTokenRepository, false, 1000, 0.01);
+
+    filter.load();
+
+    assertThat(filter.mightContain("anything")).isTrue();
+  }
+
+  private static byte[] toBinary(final UUID uuid) {
+    return AccessTokenCodec.toBinary(uuid.toString()).orElseThrow();
+  }
+}
@@ -0,0 +1,89 @@
+package com.api.mysushistory.infra.gateway.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.api.mysushistory.infra.persistence.projection.MedicalRecordTextView;
+import com.api.mysushistory.infra.persistence.repository.MedicalRecordRepository;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class MedicalRecordIndexTest {
+
+  private final MedicalRecordRepository recordRepository = mock(MedicalRecordRepository.class);
+  private final MedicalRecordIndex index = new MedicalRecordIndex(recordRepository);
+
+  @Test
+  void shouldNotBeReadyUntilLoaded() {
+    when(recordRepository.streamAllTexts()).thenReturn(Stream.empty());
+
+    assertThat(index.isReady()).isFalse();
+
+    index.load();
+
+    assertThat(index.isReady()).isTrue();
+  }
+
+  @Test
+  void shouldFindLoadedAndAddedRecordsIgnoringAccentsAndCase() {
+    when(recordRepository.streamAllTexts())
+        .thenReturn(
+            Stream.of(
+                new MedicalRecordTextView(1L, 7L, "Dengue", "Hidratação", "Sem sangramento"),
+                new MedicalRecordTextView(2L, 7L, "Diabetes tipo 1", "Insulina NPH", null)));
+
+    index.load();
+    index.add(7L, 3L, "Gripe", "Repouso", "Retorno se febre persistir");
+
+    assertThat(index.search(7L, "DENGUE")).containsExactly(1L);
+    assertThat(index.search(7L, "insulina")).containsExactly(2L);
+    assertThat(index.search(7L, "hidratacao")).containsExactly(1L);
+    assertThat(index.search(7L, "febre")).containsExactly(3L);
+    assertThat(index.search(7L, "covid")).isEmpty();
+    assertThat(index.getRecords()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldRankRecordsMatchingMoreAndRarerTermsFirst() {
+    index.add(7L, 1L, "Dor de cabeça", "Dipirona", "Dor leve");
+    index.add(7L, 2L, "Dor lombar", "Alongamento", "Dor ao sentar");
+    index.add(7L, 3L, "Enxaqueca", "Repouso", "Dor de cabeça forte com náusea");
+    index.add(7L, 4L, "Hipertensão", "Losartana", "Pressão controlada");
+
+    assertThat(index.search(7L, "dor cabeça náusea")).containsExactly(3L, 1L, 2L);
+  }
+
+  @Test
+  void shouldBreakScoreTiesByNewestRecord() {
+    index.add(7L, 1L, "Dengue", "Hidratação", "Retorno");
+    index.add(7L, 2L, "Dengue", "Hidratação", "Retorno");
+
+    assertThat(index.search(7L, "dengue")).containsExactly(2L, 1L);
+  }
+
+  @Test
+  void shouldKeepPatientsIsolated() {
+    index.add(7L, 1L, "Dengue", "Hidratação", "Retorno");
+    index.add(8L, 2L, "Dengue", "Hidratação", "Retorno");
+
+    assertThat(index.search(7L, "dengue")).containsExactly(1L);
+    assertThat(index.search(9L, "dengue")).isEmpty();
+  }
+
+  @Test
+  void shouldIgnoreRecordsAddedTwice() {
+    index.add(7L, 1L, "Dengue", "Hidratação", "Retorno");
+    index.add(7L, 1L, "Dengue", "Hidratação", "Retorno");
+
+    assertThat(index.search(7L, "dengue")).containsExactly(1L);
+    assertThat(index.getRecords()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReturnNothingForQueriesWithoutTerms() {
+    index.add(7L, 1L, "Dengue", "Hidratação", "Retorno");
+
+    assertThat(index.search(7L, "de a o")).isEmpty();
+  }
+}
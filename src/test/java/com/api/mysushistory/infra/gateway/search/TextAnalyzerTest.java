@@ -0,0 +1,33 @@
+package com.api.mysushistory.infra.gateway.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TextAnalyzerTest {
+
+  @Test
+  void shouldFoldAccentsAndCase() {
+    assertThat(TextAnalyzer.terms("Hipertensão Arterial, uso contínuo de INSULINA"))
+        .containsExactly("hipertensao", "arterial", "uso", "continuo", "insulina");
+  }
+
+  @Test
+  void shouldFoldCedillaAndKeepDosages() {
+    assertThat(TextAnalyzer.terms("Infecção tratada com amoxicilina 500mg"))
+        .containsExactly("infeccao", "tratada", "amoxicilina", "500mg");
+  }
+
+  @Test
+  void shouldDropStopWordsAndSingleCharacters() {
+    assertThat(TextAnalyzer.terms("Dor na cabeça e febre há 3 dias"))
+        .containsExactly("dor", "cabeca", "febre", "ha", "dias");
+  }
+
+  @Test
+  void shouldReturnNoTermsForBlankText() {
+    assertThat(TextAnalyzer.terms(null)).isEmpty();
+    assertThat(TextAnalyzer.terms("  ")).isEmpty();
+    assertThat(TextAnalyzer.terms("de a o")).isEmpty();
+  }
+}
@@ -0,0 +1,106 @@
+package com.api.mysushistory.presenter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.mysushistory.core.domain.valueobject.HistoryVersion;
+import com.api.mysushistory.presenter.response.MedicalRecordPagePresenterResponse;
+import com.api.mysushistory.presenter.response.MedicalRecordPresenterResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class CompressedHistoryCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private final CompressedHistoryCache cache =
+      new CompressedHistoryCache(objectMapper, 1024 * 1024);
+
+  @Test
+  void shouldCompressPageOncePerHistoryVersion() throws IOException {
+    final var serializations = new AtomicInteger();
+    final var key =
+        new CompressedHistoryCache.Key(new HistoryVersion(7L, 1L), null, null, null, 50);
+
+    final var first =
+        cache.gzip(
+            key,
+            () -> {
+              serializations.incrementAndGet();
+              return page();
+            });
+    final var second = cache.gzip(key, () -> page());
+
+    assertThat(second).isSameAs(first);
+    assertThat(serializations).hasValue(1);
+    assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    assertThat(cache.getCachedBytes()).isEqualTo(first.length);
+
+    try (final var body = new GZIPInputStream(new ByteArrayInputStream(first))) {
+      assertThat(objectMapper.readTree(body).at("/records/0/unit").asText())
+          .isEqualTo("UBS Central");
+    }
+  }
+
+  @Test
+  void shouldCompressAgainWhenHistoryVersionChanges() {
+    final var serializations = new AtomicInteger();
+
+    for (long version = 1; version <= 3; version++) {
+      cache.gzip(
+          new CompressedHistoryCache.Key(new HistoryVersion(7L, version), null, null, null, 50),
+          () -> {
+            serializations.incrementAndGet();
+            return page();
+          });
+    }
+
+    assertThat(serializations).hasValue(3);
+    assertThat(cache.getSize()).isEqualTo(3);
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "gzip|true",
+        "gzip, deflate, br|true",
+        "br;q=1.0, GZIP;q=0.5|true",
+        "*|true",
+        "gzip;q=0|false",
+        "*, gzip;q=0|false",
+        "gzip;q=0.0, *|false",
+        "deflate, br|false",
+        "identity|false",
+        "''|false"
+      })
+  void shouldNegotiateGzip(final String acceptEncoding, final boolean expected) {
+    assertThat(CompressedHistoryCache.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+  }
+
+  @Test
+  void shouldNotAcceptGzipWithoutHeader() {
+    assertThat(CompressedHistoryCache.acceptsGzip(null)).isFalse();
+  }
+
+  private static MedicalRecordPagePresenterResponse page() {
+    return MedicalRecordPagePresenterResponse.builder()
+        .records(
+            List.of(
+                MedicalRecordPresenterResponse.builder()
+                    .id(1L)
+                    .date(LocalDateTime.of(2024, 6, 1, 10, 0))
+                    .unit("UBS Central")
+                    .professionalName("Dra. Ana")
+                    .diagnosis("Gripe")
+                    .build()))
+        .build();
+  }
+}
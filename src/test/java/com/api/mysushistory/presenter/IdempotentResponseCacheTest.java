@@ -0,0 +1,161 @@
+package com.api.mysushistory.presenter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.mysushistory.core.usecase.exception.IdempotencyKeyReusedException;
+import com.api.mysushistory.core.usecase.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+class IdempotentResponseCacheTest {
+
+  private static final String TOKEN = "token";
+
+  private final IdempotentResponseCache cache =
+      new IdempotentResponseCache(
+          new ObjectMapper(), DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  void shouldReplayFirstResponseForSameKeyAndRequest() {
+    final var first = cache.execute(TOKEN, "key-1", "request", this::created);
+    final var retry = cache.execute(TOKEN, "key-1", "request", this::created);
+
+    assertThat(calls).hasValue(1);
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody()).isEqualTo(first.getBody());
+    assertThat(retry.getHeaders().getFirst(IdempotentResponseCache.IDEMPOTENT_REPLAYED))
+        .isEqualTo("true");
+    assertThat(first.getHeaders().containsKey(IdempotentResponseCache.IDEMPOTENT_REPLAYED))
+        .isFalse();
+    assertThat(cache.getReplays()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldScopeKeysByToken() {
+    cache.execute(TOKEN, "key-1", "request", this::created);
+    cache.execute("other-token", "key-1", "request", this::created);
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void shouldAlwaysCallWithoutKey() {
+    cache.execute(TOKEN, null, "request", this::created);
+    cache.execute(TOKEN, null, "request", this::created);
+
+    assertThat(calls).hasValue(2);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void shouldRejectKeyReusedWithDifferentRequest() {
+    cache.execute(TOKEN, "key-1", "request", this::created);
+
+    assertThatThrownBy(() -> cache.execute(TOKEN, "key-1", "another request", this::created))
+        .isInstanceOf(IdempotencyKeyReusedException.class)
+        .hasMessage("Idempotency key [key-1] was already used with a different request.");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldRejectBlankOrOversizedKey() {
+    assertThatThrownBy(() -> cache.execute(TOKEN, " ", "request", this::created))
+        .isInstanceOf(InvalidIdempotencyKeyException.class);
+    assertThatThrownBy(() -> cache.execute(TOKEN, "k".repeat(256), "request", this::created))
+        .isInstanceOf(InvalidIdempotencyKeyException.class);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void shouldNotKeepFailedResponses() {
+    assertThatThrownBy(
+            () ->
+                cache.execute(
+                    TOKEN,
+                    "key-1",
+                    "request",
+                    () -> {
+                      throw new IllegalStateException("database unavailable");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    cache.execute(TOKEN, "key-1", "request", this::created);
+
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldMakeConcurrentDuplicateWaitForFirstRequest() throws Exception {
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var executor = Executors.newFixedThreadPool(2);
+
+    try {
+      final var first =
+          executor.submit(
+              () ->
+                  cache.execute(
+                      TOKEN,
+                      "key-1",
+                      "request",
+                      () -> {
+                        started.countDown();
+                        await(release);
+                        return created();
+                      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      final var duplicate =
+          executor.submit(() -> cache.execute(TOKEN, "key-1", "request", this::created));
+
+      Thread.sleep(50);
+      assertThat(duplicate).isNotDone();
+
+      release.countDown();
+
+      assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody())
+          .isEqualTo(first.get(5, TimeUnit.SECONDS).getBody());
+      assertThat(calls).hasValue(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldBoundStoredResponsesByTheirSize() {
+    final var small =
+        new IdempotentResponseCache(
+            new ObjectMapper(), DataSize.ofKilobytes(10), Duration.ofMinutes(10));
+    final var body = "x".repeat(3_000);
+
+    for (int i = 0; i < 10; i++) {
+      small.execute(
+          TOKEN, "key-" + i, "request", () -> new ResponseEntity<>(body, HttpStatus.CREATED));
+    }
+
+    assertThat(small.getWeight()).isPositive().isLessThanOrEqualTo(10_240);
+    assertThat(small.getSize()).isLessThanOrEqualTo(3);
+  }
+
+  private ResponseEntity<String> created() {
+    return new ResponseEntity<>("record-" + calls.incrementAndGet(), HttpStatus.CREATED);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
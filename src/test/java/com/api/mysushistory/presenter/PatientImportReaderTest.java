@@ -0,0 +1,78 @@
+package com.api.mysushistory.presenter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.mysushistory.core.domain.valueobject.PatientImportRow;
+import com.api.mysushistory.core.usecase.exception.InvalidPatientImportException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class PatientImportReaderTest {
+
+  private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+  private final PatientImportReader reader = new PatientImportReader(new ObjectMapper());
+
+  @Test
+  void shouldReadCsvColumnsByHeaderName() {
+    final var rows =
+        read(
+            CSV,
+            """
+            \uFEFFcpf,birth_date,name
+            12345678901,1990-09-15,"Souza, Maria ""Mari""\"
+
+            98765432100,1985-01-01
+            """);
+
+    assertThat(rows)
+        .containsExactly(
+            PatientImportRow.of(2, "Souza, Maria \"Mari\"", "12345678901", "1990-09-15"),
+            PatientImportRow.malformed(4, "Row has [2] columns, expected [3]"));
+  }
+
+  @Test
+  void shouldReadSemicolonSeparatedCsv() {
+    final var rows = read(CSV, "name;cpf;birthDate\nMaria;12345678901;1990-09-15\n");
+
+    assertThat(rows).containsExactly(PatientImportRow.of(2, "Maria", "12345678901", "1990-09-15"));
+  }
+
+  @Test
+  void shouldRejectCsvWithoutRequiredColumn() {
+    assertThatThrownBy(() -> read(CSV, "name,cpf\nMaria,12345678901\n"))
+        .isInstanceOf(InvalidPatientImportException.class)
+        .hasMessage("Patient import is not valid: CSV header has no column [birthdate]");
+  }
+
+  @Test
+  void shouldReadNdjsonLines() {
+    final var rows =
+        read(
+            MediaType.APPLICATION_NDJSON,
+            """
+            {"name":"Maria","cpf":"12345678901","birthDate":"1990-09-15"}
+            not json
+            {"name":"João","cpf":null}
+            """);
+
+    assertThat(rows)
+        .containsExactly(
+            PatientImportRow.of(1, "Maria", "12345678901", "1990-09-15"),
+            PatientImportRow.malformed(2, "Row is not a JSON object"),
+            PatientImportRow.of(3, "João", null, null));
+  }
+
+  private List<PatientImportRow> read(final MediaType contentType, final String content) {
+    try (final var rows =
+        reader.read(
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), contentType)) {
+      return rows.toList();
+    }
+  }
+}